@@ -0,0 +1,155 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-node cache of beers by name. Entries are evicted when this node or another one writes the beer,
+ * and expire after a TTL in case an invalidation message is lost. A load can only populate the cache if
+ * no eviction for its name happened since it started ({@link #stamp} / {@link #putIfCurrent}), so a slow
+ * read can't put back a value older than a write it raced with. A TTL of 0 disables the cache, and it is
+ * the default: the default loopback bus never leaves the JVM, so with more than one node a write on one
+ * would leave the others serving the old value until it expires. Only turn the cache on for a single node
+ * owning the database, or together with the UDP bus ({@code beerstock.cache.bus.type=udp}).
+ *
+ * <p>{@link BeerDTO} is mutable, so the cache keeps its own copy of what is put and hands a fresh copy to
+ * every reader; a caller that changes its result can't change what the next one is served.
+ *
+ * <p>A put into a full cache evicts from a sample of {@link #EVICTION_SAMPLE} entries: the first expired
+ * one, or else the one closest to expiry, which under a single TTL is the one cached first. A put
+ * therefore costs the same however large the cache is.
+ */
+@Component
+public class BeerReadCache {
+
+    private static final int STRIPES = 64;
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public BeerReadCache(@Value("${beerstock.cache.ttl:0s}") Duration ttl,
+                         @Value("${beerstock.cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public Optional<BeerDTO> get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(name, entry);
+            return Optional.empty();
+        }
+        return Optional.of(beerMapper.copy(entry.beerDTO));
+    }
+
+    public long stamp(String name) {
+        return evictions.get(stripe(name));
+    }
+
+    public void putIfCurrent(String name, BeerDTO beerDTO, long stamp) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!entries.containsKey(name)) {
+            makeRoom(now);
+        }
+        Entry entry = new Entry(beerMapper.copy(beerDTO), now + ttlNanos);
+        entries.put(name, entry);
+        if (evictions.get(stripe(name)) != stamp) {
+            entries.remove(name, entry);
+        }
+    }
+
+    /**
+     * The beers currently cached and not expired, i.e. the ones this node served recently.
+     */
+    public List<BeerDTO> hotEntries() {
+        long now = System.nanoTime();
+        List<BeerDTO> hot = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (!entry.isExpired(now)) {
+                hot.add(beerMapper.copy(entry.beerDTO));
+            }
+        }
+        return hot;
+    }
+
+    public void evict(String name) {
+        evictions.incrementAndGet(stripe(name));
+        entries.remove(name);
+    }
+
+    /**
+     * Evicts one sampled entry at a time, so a cache that concurrent puts pushed past {@code maxSize}
+     * shrinks back.
+     */
+    private void makeRoom(long nowNanos) {
+        while (entries.size() >= maxSize) {
+            if (!evictSampled(nowNanos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts one entry of the sample and returns whether there was one.
+     */
+    private boolean evictSampled(long nowNanos) {
+        Map.Entry<String, Entry> oldest = null;
+        int sampled = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            if (candidate.getValue().isExpired(nowNanos)) {
+                oldest = candidate;
+                break;
+            }
+            if (oldest == null || candidate.getValue().expiresAtNanos - oldest.getValue().expiresAtNanos < 0) {
+                oldest = candidate;
+            }
+            if (++sampled == EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        if (oldest == null) {
+            return false;
+        }
+        entries.remove(oldest.getKey(), oldest.getValue());
+        return true;
+    }
+
+    private static int stripe(String name) {
+        return (name.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    private static class Entry {
+
+        private final BeerDTO beerDTO;
+        private final long expiresAtNanos;
+
+        private Entry(BeerDTO beerDTO, long expiresAtNanos) {
+            this.beerDTO = beerDTO;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
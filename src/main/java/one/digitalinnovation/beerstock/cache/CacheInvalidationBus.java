@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the names of written beers to the other nodes so they can evict them from their
+ * {@link BeerReadCache}. A node never receives its own messages. Delivery is best effort; the cache TTL
+ * bounds how long a lost message can leave a stale entry behind.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(String beerName);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,47 @@
+package one.digitalinnovation.beerstock.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to the other buses on the same channel inside this JVM. Stands in for the
+ * network when several application contexts run in one process, as in tests.
+ */
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+
+    private static final Map<String, Set<LoopbackCacheInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LoopbackCacheInvalidationBus(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(String beerName) {
+        for (LoopbackCacheInvalidationBus bus : CHANNELS.getOrDefault(channel, Set.of())) {
+            if (bus != this) {
+                bus.listeners.forEach(listener -> listener.accept(beerName));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (c, buses) -> {
+            buses.remove(this);
+            return buses.isEmpty() ? null : buses;
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package one.digitalinnovation.beerstock.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Quantity and max of beers by id, stored outside the heap so millions of entries add neither objects
+ * for the collector to trace nor boxing on every update.
+ *
+ * <p>The table is an open-addressing hash table with linear probing in one direct buffer. A slot is 16
+ * bytes: the beer id, then quantity and max packed into one long, so both are read and compare-and-set
+ * together. Removing a beer frees its slot at once by shifting the rest of its probe chain back, so no
+ * tombstones pile up when beers are created and deleted. The capacity is fixed and the buffer has more
+ * than a third more slots than that, so a lookup always stops at an empty slot; once {@code capacity}
+ * beers are in, {@link #put} of a new one returns {@code false} and callers have to go to the database.
+ * Ids must be positive.
+ *
+ * <p>Only {@link #put}, {@link #remove} and {@link #clear} move ids between slots; they hold the write
+ * lock. Quantity updates change a value in place with a CAS under the read lock, and {@link #get} reads
+ * optimistically, so neither ever waits on another reader or updater.
+ *
+ * <p>The packed value is XORed with a bias so that the zeroed memory of a fresh slot reads as "no value"
+ * ({@link #ABSENT}) rather than as a beer with quantity and max 0.
+ */
+public class OffHeapStockTable {
+
+    public static final long ABSENT = 0L;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+    private static final long BIAS = 0x8000_0000_8000_0000L;
+
+    private final ByteBuffer slots;
+    private final int mask;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    private final StampedLock lock = new StampedLock();
+
+    public OffHeapStockTable(int capacity) {
+        long slotCount = Long.highestOneBit(Math.max(2L, (long) capacity * 4 / 3 + 1) * 2 - 1);
+        if (slotCount * SLOT_BYTES > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("capacity too large for one buffer: " + capacity);
+        }
+        this.slots = ByteBuffer.allocateDirect((int) (slotCount * SLOT_BYTES) + 8).alignedSlice(8);
+        this.mask = (int) slotCount - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Packed quantity and max of the beer, or {@link #ABSENT}. Unpack with {@link #quantity(long)} and
+     * {@link #max(long)}.
+     */
+    public long get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        long value = read(id);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return read(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sets quantity and max of the beer. Returns {@code false} if the beer is new and the table is full.
+     */
+    public boolean put(long id, int quantity, int max) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = claim(id);
+            if (slot < 0) {
+                return false;
+            }
+            LONGS.setVolatile(slots, valueOffset(slot), pack(quantity, max));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the quantity if it is still {@code expectedQuantity}. Fails if the beer is absent.
+     */
+    public boolean compareAndSetQuantity(long id, int expectedQuantity, int newQuantity) {
+        long stamp = lock.readLock();
+        try {
+            int slot = find(id);
+            if (slot < 0) {
+                return false;
+            }
+            long current = (long) LONGS.getVolatile(slots, valueOffset(slot));
+            return current != ABSENT
+                    && quantity(current) == expectedQuantity
+                    && LONGS.compareAndSet(slots, valueOffset(slot), current, pack(newQuantity, max(current)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the quantity and returns the packed result, or {@link #ABSENT} if the beer is
+     * absent.
+     */
+    public long addQuantity(long id, int delta) {
+        long stamp = lock.readLock();
+        try {
+            int slot = find(id);
+            if (slot < 0) {
+                return ABSENT;
+            }
+            int offset = valueOffset(slot);
+            while (true) {
+                long current = (long) LONGS.getVolatile(slots, offset);
+                if (current == ABSENT) {
+                    return ABSENT;
+                }
+                long updated = pack(quantity(current) + delta, max(current));
+                if (LONGS.compareAndSet(slots, offset, current, updated)) {
+                    return updated;
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Frees the slot of the beer. Every later entry of its probe chain that may sit in the freed slot is
+     * moved back into it, so the chain has no gap and no tombstone is left behind.
+     */
+    public void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int hole = find(id);
+            if (hole < 0) {
+                return;
+            }
+            for (int slot = (hole + 1) & mask; ; slot = (slot + 1) & mask) {
+                long key = (long) LONGS.get(slots, keyOffset(slot));
+                if (key == 0) {
+                    break;
+                }
+                int home = home(key);
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    LONGS.setVolatile(slots, keyOffset(hole), key);
+                    LONGS.setVolatile(slots, valueOffset(hole), (long) LONGS.get(slots, valueOffset(slot)));
+                    hole = slot;
+                }
+            }
+            LONGS.setVolatile(slots, valueOffset(hole), ABSENT);
+            LONGS.setVolatile(slots, keyOffset(hole), 0L);
+            size.decrementAndGet();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            for (int slot = 0; slot <= mask; slot++) {
+                LONGS.setVolatile(slots, valueOffset(slot), ABSENT);
+                LONGS.setVolatile(slots, keyOffset(slot), 0L);
+            }
+            size.set(0);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long offHeapBytes() {
+        return slots.capacity();
+    }
+
+    public static int quantity(long packed) {
+        return (int) ((packed ^ BIAS) >> 32);
+    }
+
+    public static int max(long packed) {
+        return (int) (packed ^ BIAS);
+    }
+
+    private static long pack(int quantity, int max) {
+        return (((long) quantity << 32) | (max & 0xFFFF_FFFFL)) ^ BIAS;
+    }
+
+    private long read(long id) {
+        int slot = find(id);
+        return slot < 0 ? ABSENT : (long) LONGS.getVolatile(slots, valueOffset(slot));
+    }
+
+    private int find(long id) {
+        for (int slot = home(id), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long key = (long) LONGS.getVolatile(slots, keyOffset(slot));
+            if (key == id) {
+                return slot;
+            }
+            if (key == 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Slot of the beer, taking a free one if it is new and the table is not full. Callers hold the write
+     * lock.
+     */
+    private int claim(long id) {
+        for (int slot = home(id), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long key = (long) LONGS.get(slots, keyOffset(slot));
+            if (key == id) {
+                return slot;
+            }
+            if (key == 0) {
+                if (size.get() >= capacity) {
+                    return -1;
+                }
+                LONGS.setVolatile(slots, keyOffset(slot), id);
+                size.incrementAndGet();
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int home(long id) {
+        long hash = id * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int keyOffset(int slot) {
+        return slot * SLOT_BYTES;
+    }
+
+    private static int valueOffset(int slot) {
+        return slot * SLOT_BYTES + 8;
+    }
+}
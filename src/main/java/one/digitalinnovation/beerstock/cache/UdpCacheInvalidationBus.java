@@ -0,0 +1,82 @@
+package one.digitalinnovation.beerstock.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends every invalidation as one UDP datagram ({@code <node id>\n<beer name>}) to a fixed list of
+ * peers and listens for theirs on {@code port}. Fire and forget: a dropped datagram leaves the entry
+ * cached until its TTL runs out.
+ */
+@Slf4j
+public class UdpCacheInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+
+    private static final int MAX_DATAGRAM_SIZE = 1024;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final List<InetSocketAddress> peers;
+    private final DatagramSocket socket;
+    private final Thread receiver;
+
+    public UdpCacheInvalidationBus(int port, List<InetSocketAddress> peers) throws SocketException {
+        this.peers = List.copyOf(peers);
+        this.socket = new DatagramSocket(port);
+        this.receiver = new Thread(this::receive, "cache-invalidation-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    @Override
+    public void publish(String beerName) {
+        byte[] payload = (nodeId + '\n' + beerName).getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                log.warn("Could not send cache invalidation of {} to {}", beerName, peer, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Could not receive cache invalidation", e);
+                }
+                continue;
+            }
+            String message = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+            int separator = message.indexOf('\n');
+            if (separator > 0 && !message.substring(0, separator).equals(nodeId)) {
+                String beerName = message.substring(separator + 1);
+                listeners.forEach(listener -> listener.accept(beerName));
+            }
+        }
+    }
+}
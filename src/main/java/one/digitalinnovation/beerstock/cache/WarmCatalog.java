@@ -0,0 +1,116 @@
+package one.digitalinnovation.beerstock.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The node's hot beers as of its last run, kept in a {@link WarmCatalogFile} so a restarted node can serve
+ * them before its {@link BeerReadCache} fills up. The file is mapped on startup and served until it has
+ * been revalidated against the database, then dropped; a name evicted in the meantime is no longer served
+ * from it. A file older than the max age is ignored, since it could be arbitrarily stale.
+ */
+@Slf4j
+@Component
+public class WarmCatalog {
+
+    private final Path file;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final Set<String> evicted = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private volatile WarmCatalogFile mapped;
+
+    public WarmCatalog(MeterRegistry meterRegistry,
+                       @Value("${beerstock.cache.warm.enabled:false}") boolean enabled,
+                       @Value("${beerstock.cache.warm.file:./data/warm-catalog.bin}") Path file,
+                       @Value("${beerstock.cache.warm.max-age:PT15M}") Duration maxAge) {
+        this.file = file;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.hits = meterRegistry.counter("beerstock.cache.warm.hits");
+    }
+
+    /**
+     * Maps the file left by the previous run, if there is a recent enough one.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            WarmCatalogFile catalog = WarmCatalogFile.open(file);
+            Duration age = Duration.between(catalog.getWrittenAt(), Instant.now());
+            if (age.compareTo(maxAge) > 0) {
+                log.info("Warm catalog {} is {} old, starting cold", file, age);
+                return;
+            }
+            evicted.clear();
+            mapped = catalog;
+            log.info("Serving {} beers from warm catalog {} written {} ago", catalog.size(), file, age);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm catalog {} could not be read, starting cold", file, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isServing() {
+        return mapped != null;
+    }
+
+    public Optional<BeerDTO> get(String name) {
+        WarmCatalogFile catalog = mapped;
+        if (catalog == null || evicted.contains(name)) {
+            return Optional.empty();
+        }
+        BeerDTO beerDTO = catalog.find(name);
+        if (beerDTO == null) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(beerDTO);
+    }
+
+    public List<String> names() {
+        WarmCatalogFile catalog = mapped;
+        return catalog == null ? Collections.emptyList() : catalog.names();
+    }
+
+    public void evict(String name) {
+        if (mapped != null) {
+            evicted.add(name);
+        }
+    }
+
+    /**
+     * Stops serving from the file. The mapping itself is released once it is garbage collected.
+     */
+    public void close() {
+        mapped = null;
+        evicted.clear();
+    }
+
+    public void write(Collection<BeerDTO> beers) throws IOException {
+        WarmCatalogFile.write(file, Instant.now(), beers);
+    }
+}
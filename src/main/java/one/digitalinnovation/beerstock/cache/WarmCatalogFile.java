@@ -0,0 +1,225 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Memory-mapped file of beers looked up by name. Layout:
+ *
+ * <pre>
+ * magic "BWCF", version, written-at millis, entries, slots,
+ * index: slots x (name hash, record offset), offset 0 marking an empty slot,
+ * records: id, quantity, max, then name, brand and type as (length, UTF-8 bytes)
+ * </pre>
+ *
+ * The index is an open-addressing table with linear probing sized to at most half full, so a lookup reads
+ * one or two slots and decodes only the record whose name matches. Names are compared as bytes, without
+ * building a {@code String}.
+ */
+final class WarmCatalogFile {
+
+    static final int MAGIC = 0x42574346;
+    static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 4;
+    private static final int SLOT_BYTES = 4 + 4;
+    private static final int RECORD_FIXED_BYTES = 8 + 4 + 4;
+
+    private final ByteBuffer buffer;
+    private final Instant writtenAt;
+    private final int entries;
+    private final int slots;
+
+    private WarmCatalogFile(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IOException("not a warm catalog file");
+        }
+        this.buffer = buffer;
+        this.writtenAt = Instant.ofEpochMilli(buffer.getLong(8));
+        this.entries = buffer.getInt(16);
+        this.slots = buffer.getInt(20);
+        if (Integer.bitCount(slots) != 1 || HEADER_BYTES + (long) slots * SLOT_BYTES > buffer.capacity()) {
+            throw new IOException("corrupt warm catalog index");
+        }
+    }
+
+    static WarmCatalogFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new WarmCatalogFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the beers to a {@code .partial} file next to {@code file} and moves it into place, so a
+     * reader never maps a half-written catalog.
+     */
+    static void write(Path file, Instant writtenAt, Collection<BeerDTO> beers) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path partial = directory.resolve(file.getFileName() + ".partial");
+        Files.deleteIfExists(partial);
+        List<byte[][]> strings = new ArrayList<>(beers.size());
+        long size = HEADER_BYTES + (long) slotsFor(beers.size()) * SLOT_BYTES;
+        for (BeerDTO beer : beers) {
+            byte[][] encoded = {
+                    utf8(beer.getName()),
+                    utf8(beer.getBrand()),
+                    utf8(beer.getType().name())
+            };
+            strings.add(encoded);
+            size += recordSize(encoded);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("warm catalog too large: " + size + " bytes");
+        }
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            encode(buffer, writtenAt, beers, strings);
+            buffer.force();
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Instant getWrittenAt() {
+        return writtenAt;
+    }
+
+    int size() {
+        return entries;
+    }
+
+    /**
+     * The beer stored under {@code name}, or {@code null} if the catalog does not have it.
+     */
+    BeerDTO find(String name) {
+        byte[] key = utf8(name);
+        int hash = name.hashCode();
+        int mask = slots - 1;
+        for (int slot = spread(hash) & mask, probes = 0; probes < slots; slot = (slot + 1) & mask, probes++) {
+            int slotOffset = HEADER_BYTES + slot * SLOT_BYTES;
+            int recordOffset = buffer.getInt(slotOffset + 4);
+            if (recordOffset == 0) {
+                return null;
+            }
+            if (buffer.getInt(slotOffset) == hash && nameEquals(recordOffset, key)) {
+                return decode(recordOffset);
+            }
+        }
+        return null;
+    }
+
+    List<String> names() {
+        List<String> names = new ArrayList<>(entries);
+        for (int slot = 0; slot < slots; slot++) {
+            int recordOffset = buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4);
+            if (recordOffset != 0) {
+                names.add(readString(recordOffset + RECORD_FIXED_BYTES));
+            }
+        }
+        return names;
+    }
+
+    private static void encode(ByteBuffer buffer, Instant writtenAt, Collection<BeerDTO> beers, List<byte[][]> strings) {
+        int slots = slotsFor(beers.size());
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putLong(8, writtenAt.toEpochMilli());
+        buffer.putInt(16, beers.size());
+        buffer.putInt(20, slots);
+        int mask = slots - 1;
+        int recordOffset = HEADER_BYTES + slots * SLOT_BYTES;
+        int index = 0;
+        for (BeerDTO beer : beers) {
+            byte[][] encoded = strings.get(index++);
+            int hash = beer.getName().hashCode();
+            int slot = spread(hash) & mask;
+            while (buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.putInt(HEADER_BYTES + slot * SLOT_BYTES, hash);
+            buffer.putInt(HEADER_BYTES + slot * SLOT_BYTES + 4, recordOffset);
+
+            buffer.position(recordOffset);
+            buffer.putLong(beer.getId());
+            buffer.putInt(beer.getQuantity());
+            buffer.putInt(beer.getMax());
+            for (byte[] string : encoded) {
+                buffer.putShort((short) string.length);
+                buffer.put(string);
+            }
+            recordOffset += recordSize(encoded);
+        }
+    }
+
+    private BeerDTO decode(int recordOffset) {
+        int nameOffset = recordOffset + RECORD_FIXED_BYTES;
+        int brandOffset = nameOffset + 2 + length(nameOffset);
+        int typeOffset = brandOffset + 2 + length(brandOffset);
+        return BeerDTO.builder()
+                .id(buffer.getLong(recordOffset))
+                .quantity(buffer.getInt(recordOffset + 8))
+                .max(buffer.getInt(recordOffset + 12))
+                .name(readString(nameOffset))
+                .brand(readString(brandOffset))
+                .type(BeerType.valueOf(readString(typeOffset)))
+                .build();
+    }
+
+    private boolean nameEquals(int recordOffset, byte[] key) {
+        int nameOffset = recordOffset + RECORD_FIXED_BYTES;
+        if (length(nameOffset) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(nameOffset + 2 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(int offset) {
+        byte[] bytes = new byte[length(offset)];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int length(int offset) {
+        return Short.toUnsignedInt(buffer.getShort(offset));
+    }
+
+    private static int recordSize(byte[][] strings) {
+        int size = RECORD_FIXED_BYTES;
+        for (byte[] string : strings) {
+            size += 2 + string.length;
+        }
+        return size;
+    }
+
+    private static int slotsFor(int entries) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.service.BeerServiceExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Turns the servlet async timeout off, leaving every answer to {@link BeerServiceExecutor}, as only it
+ * knows whether the call started: a queued call is failed and never runs, a started read is answered
+ * with its own result or, past the request timeout, with a 503, and a started write only with its own
+ * result. A container timeout would answer that write with an error it could still commit after.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.async.enabled", havingValue = "true")
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private static final long NO_TIMEOUT = 0;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(NO_TIMEOUT);
+    }
+}
@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.cache.LoopbackCacheInvalidationBus;
+import one.digitalinnovation.beerstock.cache.UdpCacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.cache.bus.type", havingValue = "loopback", matchIfMissing = true)
+    public LoopbackCacheInvalidationBus loopbackCacheInvalidationBus(
+            @Value("${beerstock.cache.bus.loopback.channel:beerstock}") String channel) {
+        return new LoopbackCacheInvalidationBus(channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.cache.bus.type", havingValue = "udp")
+    public UdpCacheInvalidationBus udpCacheInvalidationBus(@Value("${beerstock.cache.bus.udp.port}") int port,
+                                                           @Value("${beerstock.cache.bus.udp.peers}") String[] peers)
+            throws SocketException {
+        List<InetSocketAddress> peerAddresses = new ArrayList<>();
+        for (String peer : peers) {
+            int separator = peer.lastIndexOf(':');
+            peerAddresses.add(new InetSocketAddress(peer.substring(0, separator).trim(),
+                    Integer.parseInt(peer.substring(separator + 1).trim())));
+        }
+        return new UdpCacheInvalidationBus(port, peerAddresses);
+    }
+}
@@ -0,0 +1,7 @@
+package one.digitalinnovation.beerstock.config;
+
+public enum DataSourceRoute {
+
+    PRIMARY,
+    REPLICA
+}
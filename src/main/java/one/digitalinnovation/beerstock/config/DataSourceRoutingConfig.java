@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Replaces the auto-configured datasource with a primary/replica pair. The pools are built here
+ * instead of being exposed as beans so the datasource initializer only sees the routing datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final String PRIMARY_HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String REPLICA_HIKARI_PREFIX = "beerstock.datasource.replica.hikari";
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("beerstock.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties primaryProperties,
+                                 @Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties,
+                                 Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primaryDataSource = buildPool(primaryProperties, binder, PRIMARY_HIKARI_PREFIX);
+        HikariDataSource replicaDataSource = buildPool(replicaProperties, binder, REPLICA_HIKARI_PREFIX);
+
+        return new RoutingDataSourceProxy(new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    private HikariDataSource buildPool(DataSourceProperties properties, Binder binder, String hikariPrefix) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    /**
+     * Lazy proxy that also closes both pools when the context shuts down.
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        RoutingDataSourceProxy(ReplicationRoutingDataSource routingDataSource) {
+            super(routingDataSource);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ((ReplicationRoutingDataSource) obtainTargetDataSource()).close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package one.digitalinnovation.beerstock.config;
+
+/**
+ * Thread bound hint that forces read-only transactions to the primary datasource,
+ * used to give read-your-writes semantics to values a client just changed.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get();
+    }
+
+    public static PrimaryPin pinPrimary() {
+        boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return () -> PRIMARY_PINNED.set(previous);
+    }
+
+    @FunctionalInterface
+    public interface PrimaryPin extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,21 @@
+package one.digitalinnovation.beerstock.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the application as soon as it is ready. Used by the {@code cds} build profile to run a training
+ * start that dumps the class-data-sharing archive on exit.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.startup.exit-on-ready", havingValue = "true")
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
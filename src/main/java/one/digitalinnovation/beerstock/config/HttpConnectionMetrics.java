@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationListener;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Connection level gauges of the Tomcat connector: connections open right now, busy or idle in
+ * keep-alive, against the {@code server.tomcat.max-connections} limit, and the size of the accept queue
+ * that holds new connections beyond it. Meters are bound before the web server exists, so each gauge
+ * reports {@code NaN} until the server has started.
+ */
+public class HttpConnectionMetrics implements MeterBinder, ApplicationListener<WebServerInitializedEvent> {
+
+    private volatile AbstractProtocol<?> protocol;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "beerstock.http.connections", AbstractProtocol::getConnectionCount,
+                "Open connections, busy or idle in keep-alive");
+        gauge(registry, "beerstock.http.connections.max", AbstractProtocol::getMaxConnections,
+                "Connections accepted before new ones wait in the accept queue");
+        gauge(registry, "beerstock.http.accept-count", AbstractProtocol::getAcceptCount,
+                "Connections queued by the operating system once the maximum is reached");
+    }
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (event.getWebServer() instanceof TomcatWebServer) {
+            TomcatWebServer webServer = (TomcatWebServer) event.getWebServer();
+            if (webServer.getTomcat().getConnector().getProtocolHandler() instanceof AbstractProtocol) {
+                protocol = (AbstractProtocol<?>) webServer.getTomcat().getConnector().getProtocolHandler();
+            }
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String name, ToDoubleFunction<AbstractProtocol<?>> value, String description) {
+        Gauge.builder(name, this, metrics -> metrics.protocol == null ? Double.NaN : value.applyAsDouble(metrics.protocol))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package one.digitalinnovation.beerstock.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Connection reuse settings of the embedded Tomcat that Spring Boot has no properties for: how long and
+ * for how many requests an idle HTTP/1.1 connection is kept open, and the same for HTTP/2 connections
+ * when {@code server.http2.enabled} is set. Boot only offers HTTP/2 on connectors with TLS, so without it
+ * the HTTP/2 upgrade protocol is added here, which over plain HTTP means h2c. Max connections and accept
+ * count are Boot's own {@code server.tomcat.*} properties. Defaults are Tomcat's; the {@code prod}
+ * profile raises them.
+ */
+@Configuration
+public class HttpServerConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> connectionReuseCustomizer(
+            @Value("${beerstock.http.keep-alive-timeout:60s}") Duration keepAliveTimeout,
+            @Value("${beerstock.http.max-keep-alive-requests:100}") int maxKeepAliveRequests,
+            @Value("${beerstock.http2.keep-alive-timeout:20s}") Duration http2KeepAliveTimeout,
+            @Value("${beerstock.http2.max-concurrent-streams:100}") long http2MaxConcurrentStreams) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            boolean tls = factory.getSsl() != null && factory.getSsl().isEnabled();
+            if (!tls && factory.getHttp2() != null && factory.getHttp2().isEnabled()) {
+                connector.addUpgradeProtocol(new Http2Protocol());
+            }
+            if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol) {
+                AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+                protocol.setKeepAliveTimeout((int) keepAliveTimeout.toMillis());
+                protocol.setMaxKeepAliveRequests(maxKeepAliveRequests);
+            }
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol) {
+                    Http2Protocol http2Protocol = (Http2Protocol) upgradeProtocol;
+                    http2Protocol.setKeepAliveTimeout(http2KeepAliveTimeout.toMillis());
+                    http2Protocol.setMaxConcurrentStreams(http2MaxConcurrentStreams);
+                }
+            }
+        });
+    }
+
+    @Bean
+    public HttpConnectionMetrics httpConnectionMetrics() {
+        return new HttpConnectionMetrics();
+    }
+}
@@ -0,0 +1,27 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.outbox.FileOutboxSink;
+import one.digitalinnovation.beerstock.outbox.InMemoryOutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.outbox.sink", havingValue = "memory", matchIfMissing = true)
+    public InMemoryOutboxSink inMemoryOutboxSink(@Value("${beerstock.outbox.memory.capacity:10000}") int capacity) {
+        return new InMemoryOutboxSink(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.outbox.sink", havingValue = "file")
+    public FileOutboxSink fileOutboxSink(@Value("${beerstock.outbox.file:./data/outbox.jsonl}") Path file) throws IOException {
+        return new FileOutboxSink(file);
+    }
+}
@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerstock.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the lookup happens after the transaction read-only flag is bound to the thread.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<DataSourceRoute, DataSource> targets = new EnumMap<>(DataSourceRoute.class);
+
+    public ReplicationRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource) {
+        targets.put(DataSourceRoute.PRIMARY, primaryDataSource);
+        targets.put(DataSourceRoute.REPLICA, replicaDataSource);
+        setTargetDataSources(Map.copyOf(targets));
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    public DataSource getTargetDataSource(DataSourceRoute route) {
+        return targets.get(route);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRoutingContext.isPrimaryPinned()) {
+            return DataSourceRoute.REPLICA;
+        }
+        return DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource target : targets.values()) {
+            if (target instanceof Closeable) {
+                ((Closeable) target).close();
+            }
+        }
+    }
+}
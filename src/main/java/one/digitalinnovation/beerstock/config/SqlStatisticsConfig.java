@@ -0,0 +1,52 @@
+package one.digitalinnovation.beerstock.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.sql.CountingDataSource;
+import one.digitalinnovation.beerstock.sql.QueryCountFilter;
+import one.digitalinnovation.beerstock.sql.StatementRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements of every {@code /api} request and logs slow ones. The datasource bean is
+ * wrapped as it is created, so whichever datasource is configured, single or primary/replica, is
+ * counted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.sql.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    private static final String API_URL_PATTERN = "/api/*";
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${beerstock.sql.slow-query.info-threshold:100ms}") Duration infoThreshold,
+            @Value("${beerstock.sql.slow-query.warn-threshold:1s}") Duration warnThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof CountingDataSource) {
+                    return bean;
+                }
+                StatementRecorder recorder = new StatementRecorder(meterRegistry.getObject(), infoThreshold, warnThreshold);
+                return new CountingDataSource((DataSource) bean, recorder);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.addUrlPatterns(API_URL_PATTERN);
+        return registration;
+    }
+}
@@ -0,0 +1,99 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkBeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
+import one.digitalinnovation.beerstock.exception.ServiceUnavailableException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.service.BeerServiceExecutor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import javax.validation.Valid;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same endpoints as {@link BeerController}, served asynchronously: the servlet thread only hands the
+ * call to {@link BeerServiceExecutor} and is released, and the response is written when the future
+ * completes. Writes go through {@link BeerServiceExecutor#submitWrite}, so a started one is never answered
+ * with a 503. Active when {@code beerstock.async.enabled=true}, in place of {@link BeerController}.
+ */
+@RestController
+@RequestMapping("/api/v1/beers")
+@ConditionalOnProperty(name = "beerstock.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AsyncBeerController implements AsyncBeerControllerDocs {
+
+    private final BeerService beerService;
+    private final BeerServiceExecutor executor;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<BeerDTO> createBeer(@RequestBody @Valid BeerDTO beerDTO) throws ServiceUnavailableException {
+        return executor.submitWrite(() -> beerService.createBeer(beerDTO));
+    }
+
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<List<BeerDTO>> createBeers(@RequestBody @Valid BulkBeerDTO bulkBeerDTO) throws ServiceUnavailableException {
+        return executor.submitWrite(() -> beerService.createBeers(bulkBeerDTO.getBeers()));
+    }
+
+    @GetMapping("/{name}")
+    public CompletableFuture<BeerDTO> findByName(@PathVariable String name) throws ServiceUnavailableException {
+        return executor.submit(() -> beerService.findByName(name));
+    }
+
+    @GetMapping("/{id}/stock")
+    public CompletableFuture<StockDTO> findStockById(@PathVariable Long id) throws ServiceUnavailableException {
+        return executor.submit(() -> beerService.findStockById(id));
+    }
+
+    @GetMapping
+    public CompletableFuture<List<BeerDTO>> listBeers() throws ServiceUnavailableException {
+        return executor.submit(beerService::listAll);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public CompletableFuture<Void> deleteById(@PathVariable Long id) throws ServiceUnavailableException {
+        return executor.submitWrite(() -> {
+            beerService.deleteById(id);
+            return null;
+        });
+    }
+
+    @PostMapping("/bulk-delete")
+    public CompletableFuture<BulkDeleteResultDTO> deleteBeers(@RequestBody @Valid BulkDeleteDTO bulkDeleteDTO) throws ServiceUnavailableException {
+        return executor.submitWrite(() -> beerService.deleteAll(bulkDeleteDTO));
+    }
+
+    @PatchMapping("/{id}/increment")
+    public CompletableFuture<BeerDTO> increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws ServiceUnavailableException {
+
+        return executor.submitWrite(() -> beerService.increment(id, quantityDTO.getQuantity()));
+    }
+
+    @PatchMapping("/{id}/decrement")
+    public CompletableFuture<BeerDTO> decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws ServiceUnavailableException {
+
+        return executor.submitWrite(() -> beerService.decrement(id, quantityDTO.getQuantity()));
+    }
+}
@@ -0,0 +1,96 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkBeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
+import one.digitalinnovation.beerstock.exception.ServiceUnavailableException;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Api("Manages beer stock asynchronously")
+public interface AsyncBeerControllerDocs {
+
+    @ApiOperation(value = "Beer creation operation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success beer creation"),
+            @ApiResponse(code = 400, message = "Missing required fields or wrong field range value."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<BeerDTO> createBeer(BeerDTO beerDTO) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Creates several beers in a single batched operation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success beers creation"),
+            @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or beer already registered."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<List<BeerDTO>> createBeers(BulkBeerDTO bulkBeerDTO) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Returns beer found by a given name")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success beer found in the system"),
+            @ApiResponse(code = 404, message = "Beer with given name was not found."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<BeerDTO> findByName(@PathVariable String name) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Returns the quantity and max of a beer given by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock of the beer"),
+            @ApiResponse(code = 404, message = "Beer with given id was not found."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<StockDTO> findStockById(@PathVariable Long id) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Returns a list of all beers registered in the system")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of all beers registered in the system"),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<List<BeerDTO>> listBeers() throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Delete a beer found by a given valid Id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Success beer deleted in the system"),
+            @ApiResponse(code = 404, message = "Beer with given id was not found."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<Void> deleteById(@PathVariable Long id) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Deletes the beers given by id, or of a brand and/or type, with one set-based delete")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Number of beers deleted and whether they were soft-deleted"),
+            @ApiResponse(code = 400, message = "Neither ids nor brand and/or type given, or both."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<BulkDeleteResultDTO> deleteBeers(BulkDeleteDTO bulkDeleteDTO) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Increments the quantity of a beer given by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity incremented"),
+            @ApiResponse(code = 400, message = "Resulting quantity exceed max."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<BeerDTO> increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws ServiceUnavailableException;
+
+    @ApiOperation(value = "Decrements the quantity of a beer given by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity decremented"),
+            @ApiResponse(code = 400, message = "Resulting quantity was negative."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found."),
+            @ApiResponse(code = 503, message = "Too many pending requests, the request timed out before it started, or it did not finish within the request timeout.")
+    })
+    CompletableFuture<BeerDTO> decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws ServiceUnavailableException;
+}
@@ -1,7 +1,11 @@
 package one.digitalinnovation.beerstock.controller;
 
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkBeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
@@ -9,6 +13,7 @@ import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
 import one.digitalinnovation.beerstock.service.BeerService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +30,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/beers")
+@ConditionalOnProperty(name = "beerstock.async.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class BeerController implements BeerControllerDocs {
 
@@ -36,11 +42,22 @@ public class BeerController implements BeerControllerDocs {
         return beerService.createBeer(beerDTO);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BeerDTO> createBeers(@RequestBody @Valid BulkBeerDTO bulkBeerDTO) throws BeerAlreadyRegisteredException {
+        return beerService.createBeers(bulkBeerDTO.getBeers());
+    }
+
     @GetMapping("/{name}")
     public BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException {
         return beerService.findByName(name);
     }
 
+    @GetMapping("/{id}/stock")
+    public StockDTO findStockById(@PathVariable Long id) throws BeerNotFoundException {
+        return beerService.findStockById(id);
+    }
+
     @GetMapping
     public List<BeerDTO> listBeers() {
         return beerService.listAll();
@@ -52,6 +69,11 @@ public class BeerController implements BeerControllerDocs {
         beerService.deleteById(id);
     }
 
+    @PostMapping("/bulk-delete")
+    public BulkDeleteResultDTO deleteBeers(@RequestBody @Valid BulkDeleteDTO bulkDeleteDTO) {
+        return beerService.deleteAll(bulkDeleteDTO);
+    }
+
     @PatchMapping("/{id}/increment")
     public BeerDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO)
             throws BeerNotFoundException, BeerStockExceededException {
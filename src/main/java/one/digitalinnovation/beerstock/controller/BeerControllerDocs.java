@@ -5,7 +5,11 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkBeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
@@ -26,6 +30,13 @@ public interface BeerControllerDocs {
     })
     BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException;
 
+    @ApiOperation(value = "Creates several beers in a single batched operation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success beers creation"),
+            @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or beer already registered.")
+    })
+    List<BeerDTO> createBeers(BulkBeerDTO bulkBeerDTO) throws BeerAlreadyRegisteredException;
+
     @ApiOperation(value = "Returns beer found by a given name")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success beer found in the system"),
@@ -33,6 +44,13 @@ public interface BeerControllerDocs {
     })
     BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException;
 
+    @ApiOperation(value = "Returns the quantity and max of a beer given by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock of the beer"),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    StockDTO findStockById(@PathVariable Long id) throws BeerNotFoundException;
+
     @ApiOperation(value = "Returns a list of all beers registered in the system")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "List of all beers registered in the system"),
@@ -46,6 +64,13 @@ public interface BeerControllerDocs {
     })
     void deleteById(@PathVariable Long id) throws BeerNotFoundException;
 
+    @ApiOperation(value = "Deletes the beers given by id, or of a brand and/or type, with one set-based delete")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Number of beers deleted and whether they were soft-deleted"),
+            @ApiResponse(code = 400, message = "Neither ids nor brand and/or type given, or both.")
+    })
+    BulkDeleteResultDTO deleteBeers(BulkDeleteDTO bulkDeleteDTO);
+
 
     @ApiOperation(value = "Increments the quantity of a beer given by id")
     @ApiResponses(value = {
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+import one.digitalinnovation.beerstock.service.BeerSuggestService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggestions")
+@RequiredArgsConstructor
+public class BeerSuggestController implements BeerSuggestControllerDocs {
+
+    private final BeerSuggestService beerSuggestService;
+
+    @GetMapping
+    public List<BeerSuggestionDTO> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return beerSuggestService.suggest(q, limit);
+    }
+}
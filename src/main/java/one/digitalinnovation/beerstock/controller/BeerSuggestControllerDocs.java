@@ -0,0 +1,20 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+
+import java.util.List;
+
+@Api("Suggests beers by name and brand")
+public interface BeerSuggestControllerDocs {
+
+    @ApiOperation(value = "Returns beers with a name, brand or word of them starting with the query, ignoring case and accents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Up to limit matching beers, by default 10"),
+            @ApiResponse(code = 400, message = "Missing query.")
+    })
+    List<BeerSuggestionDTO> suggest(String q, int limit);
+}
@@ -0,0 +1,22 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.service.InventoryStatsService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/inventory/stats")
+@RequiredArgsConstructor
+public class InventoryStatsController implements InventoryStatsControllerDocs {
+
+    private final InventoryStatsService inventoryStatsService;
+
+    @GetMapping
+    public InventoryStatsDTO getStats() {
+        return inventoryStatsService.getStats();
+    }
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+
+@Api("Reports aggregated stock")
+public interface InventoryStatsControllerDocs {
+
+    @ApiOperation(value = "Returns units on hand, capacity and fill ratio by beer type and by brand")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Current stock totals")
+    })
+    InventoryStatsDTO getStats();
+}
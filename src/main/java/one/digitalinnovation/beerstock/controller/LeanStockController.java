@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.InvalidQuantityException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Stock mutations for clients that ask for {@value #STOCK_MEDIA_TYPE}: the body is parsed in place, the
+ * stock is changed by a single conditional update and only the id and new quantity are written back.
+ * Requests accepting plain JSON keep going to {@link BeerController}.
+ */
+@RestController
+@RequestMapping("/api/v1/beers")
+@RequiredArgsConstructor
+public class LeanStockController implements LeanStockControllerDocs {
+
+    public static final String STOCK_MEDIA_TYPE = "application/vnd.beerstock.stock+json";
+
+    private final BeerService beerService;
+
+    @PatchMapping(path = "/{id}/increment", produces = STOCK_MEDIA_TYPE)
+    public void increment(@PathVariable long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InvalidQuantityException, BeerNotFoundException, BeerStockExceededException {
+
+        int quantity = QuantityBodyReader.read(request.getInputStream());
+        StockResponseWriter.write(response, STOCK_MEDIA_TYPE, id, beerService.incrementInPlace(id, quantity));
+    }
+
+    @PatchMapping(path = "/{id}/decrement", produces = STOCK_MEDIA_TYPE)
+    public void decrement(@PathVariable long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InvalidQuantityException, BeerNotFoundException, BeerStockLessThanZeroException {
+
+        int quantity = QuantityBodyReader.read(request.getInputStream());
+        StockResponseWriter.write(response, STOCK_MEDIA_TYPE, id, beerService.decrementInPlace(id, quantity));
+    }
+}
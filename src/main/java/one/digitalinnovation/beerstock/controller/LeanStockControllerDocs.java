@@ -0,0 +1,36 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.InvalidQuantityException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Api("Changes beer stock with a minimal response")
+public interface LeanStockControllerDocs {
+
+    @ApiOperation(value = "Increments the quantity of a beer given by id, answering only its id and new quantity")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity incremented"),
+            @ApiResponse(code = 400, message = "Invalid quantity or resulting quantity exceed max."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    void increment(long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InvalidQuantityException, BeerNotFoundException, BeerStockExceededException;
+
+    @ApiOperation(value = "Decrements the quantity of a beer given by id, answering only its id and new quantity")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity decremented"),
+            @ApiResponse(code = 400, message = "Invalid quantity or resulting quantity was negative."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    void decrement(long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InvalidQuantityException, BeerNotFoundException, BeerStockLessThanZeroException;
+}
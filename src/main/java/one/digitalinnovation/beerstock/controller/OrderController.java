@@ -0,0 +1,30 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.service.OrderService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import javax.validation.Valid;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+@RequiredArgsConstructor
+public class OrderController implements OrderControllerDocs {
+
+    private final OrderService orderService;
+
+    @PostMapping
+    public List<BeerDTO> placeOrder(@RequestBody @Valid OrderDTO orderDTO)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        return orderService.placeOrder(orderDTO.getItems());
+    }
+}
@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+
+import java.util.List;
+
+@Api("Manages orders of several beers")
+public interface OrderControllerDocs {
+
+    @ApiOperation(value = "Decrements the stock of every beer in the order, all or nothing")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Order placed and stock of every beer decremented"),
+            @ApiResponse(code = 400, message = "Not enough stock for one of the beers or wrong field range value."),
+            @ApiResponse(code = 404, message = "One of the beers was not found.")
+    })
+    List<BeerDTO> placeOrder(OrderDTO orderDTO) throws BeerNotFoundException, BeerStockLessThanZeroException;
+}
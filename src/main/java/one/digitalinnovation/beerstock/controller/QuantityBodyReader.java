@@ -0,0 +1,73 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import one.digitalinnovation.beerstock.exception.InvalidQuantityException;
+import one.digitalinnovation.beerstock.validation.QuantityDTOValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the {@code quantity} of a {@code {"quantity": 10}} body with Jackson's streaming parser, without
+ * binding a {@code QuantityDTO}. Other members of the object are skipped. The quantity must be an integer
+ * literal and passes the same checks as {@code QuantityDTO}.
+ */
+final class QuantityBodyReader {
+
+    private static final String QUANTITY = "quantity";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private QuantityBodyReader() {
+    }
+
+    static int read(InputStream body) throws IOException, InvalidQuantityException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            return readQuantity(parser);
+        } catch (JsonProcessingException malformedJson) {
+            throw malformed();
+        }
+    }
+
+    private static int readQuantity(JsonParser parser) throws IOException, InvalidQuantityException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw malformed();
+        }
+        Integer quantity = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (QUANTITY.equals(name)) {
+                quantity = value == JsonToken.VALUE_NULL ? null : readInteger(parser, value);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw malformed();
+        }
+        if (quantity == null) {
+            throw new InvalidQuantityException("must not be null");
+        }
+        if (quantity < QuantityDTOValidator.MIN_QUANTITY) {
+            throw new InvalidQuantityException("must be greater than or equal to " + QuantityDTOValidator.MIN_QUANTITY);
+        }
+        if (quantity > QuantityDTOValidator.MAX_QUANTITY) {
+            throw new InvalidQuantityException("must be less than or equal to " + QuantityDTOValidator.MAX_QUANTITY);
+        }
+        return quantity;
+    }
+
+    private static int readInteger(JsonParser parser, JsonToken value) throws IOException, InvalidQuantityException {
+        if (value != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+            throw new InvalidQuantityException("must be an integer");
+        }
+        return parser.getIntValue();
+    }
+
+    private static InvalidQuantityException malformed() {
+        return new InvalidQuantityException("must be sent as {\"quantity\": <integer>}");
+    }
+}
@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.exception.ReconciliationInProgressException;
+import one.digitalinnovation.beerstock.service.ReconciliationService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/beers/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationController implements ReconciliationControllerDocs {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping(consumes = {"text/csv", "text/plain"})
+    public ReconciliationReportDTO reconcile(InputStream countFile) throws IOException, ReconciliationInProgressException {
+        return reconciliationService.reconcile(new InputStreamReader(countFile, StandardCharsets.UTF_8));
+    }
+}
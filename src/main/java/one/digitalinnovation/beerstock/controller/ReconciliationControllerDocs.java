@@ -0,0 +1,22 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.exception.ReconciliationInProgressException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Api("Reconciles the stock against a physical count")
+public interface ReconciliationControllerDocs {
+
+    @ApiOperation(value = "Corrects the quantity of every beer from a CSV of name,quantity lines and reports the differences")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Count file processed, with a summary of the corrections made"),
+            @ApiResponse(code = 409, message = "Another reconciliation is already running.")
+    })
+    ReconciliationReportDTO reconcile(InputStream countFile) throws IOException, ReconciliationInProgressException;
+}
@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.service.StockReservationService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import javax.validation.Valid;
+
+@RestController
+@ConditionalOnProperty(name = "beerstock.reservation.enabled", havingValue = "true")
+@RequestMapping("/api/v1/beers/{id}/reservations")
+@RequiredArgsConstructor
+public class StockReservationController implements StockReservationControllerDocs {
+
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationDTO reserve(@PathVariable Long id, @RequestBody @Valid ReservationDTO reservationDTO)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        return stockReservationService.reserve(id, reservationDTO);
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public BeerDTO commit(@PathVariable Long id, @PathVariable String reservationId)
+            throws BeerNotFoundException, BeerStockLessThanZeroException, ReservationNotFoundException {
+        return stockReservationService.commit(id, reservationId);
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void release(@PathVariable Long id, @PathVariable String reservationId) throws ReservationNotFoundException {
+        stockReservationService.release(id, reservationId);
+    }
+}
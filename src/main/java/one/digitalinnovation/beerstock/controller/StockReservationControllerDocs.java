@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+
+@Api("Manages temporary stock reservations")
+public interface StockReservationControllerDocs {
+
+    @ApiOperation(value = "Holds a quantity of a beer for a limited time")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Stock reserved"),
+            @ApiResponse(code = 400, message = "Not enough unreserved stock or wrong field range value."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    ReservationDTO reserve(Long id, ReservationDTO reservationDTO) throws BeerNotFoundException, BeerStockLessThanZeroException;
+
+    @ApiOperation(value = "Turns a reservation into a stock decrement")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Reservation committed and stock decremented"),
+            @ApiResponse(code = 404, message = "Beer or reservation was not found, or the reservation expired.")
+    })
+    BeerDTO commit(Long id, String reservationId)
+            throws BeerNotFoundException, BeerStockLessThanZeroException, ReservationNotFoundException;
+
+    @ApiOperation(value = "Releases a reservation without touching the stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Reservation released"),
+            @ApiResponse(code = 404, message = "Reservation was not found or already expired.")
+    })
+    void release(Long id, String reservationId) throws ReservationNotFoundException;
+}
@@ -0,0 +1,51 @@
+package one.digitalinnovation.beerstock.controller;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Writes {@code {"id":1,"quantity":12}} byte by byte to the response, with its exact content length, so
+ * neither a DTO nor a serializer buffer is created.
+ */
+final class StockResponseWriter {
+
+    private static final byte[] ID_PREFIX = {'{', '"', 'i', 'd', '"', ':'};
+    private static final byte[] QUANTITY_PREFIX = {',', '"', 'q', 'u', 'a', 'n', 't', 'i', 't', 'y', '"', ':'};
+
+    private StockResponseWriter() {
+    }
+
+    static void write(HttpServletResponse response, String contentType, long id, int quantity) throws IOException {
+        response.setContentType(contentType);
+        response.setContentLength(ID_PREFIX.length + digits(id) + QUANTITY_PREFIX.length + digits(quantity) + 1);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(ID_PREFIX);
+        writeNumber(out, id);
+        out.write(QUANTITY_PREFIX);
+        writeNumber(out, quantity);
+        out.write('}');
+    }
+
+    private static void writeNumber(ServletOutputStream out, long value) throws IOException {
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.write((int) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = value < 0 ? 2 : 1;
+        for (long rest = Math.abs(value) / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,54 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.SnapshotSummaryDTO;
+import one.digitalinnovation.beerstock.dto.StockHistoryPointDTO;
+import one.digitalinnovation.beerstock.service.StockSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/snapshots")
+@RequiredArgsConstructor
+public class StockSnapshotController implements StockSnapshotControllerDocs {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+
+    private final StockSnapshotService stockSnapshotService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SnapshotSummaryDTO takeSnapshot() throws IOException {
+        return stockSnapshotService.takeSnapshot();
+    }
+
+    @GetMapping
+    public List<SnapshotSummaryDTO> listSnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) throws IOException {
+        Instant end = to != null ? to : Instant.now();
+        return stockSnapshotService.listSnapshots(from != null ? from : end.minus(DEFAULT_RANGE), end);
+    }
+
+    @GetMapping("/beers/{id}")
+    public List<StockHistoryPointDTO> history(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) throws IOException {
+        Instant end = to != null ? to : Instant.now();
+        return stockSnapshotService.history(id, from != null ? from : end.minus(DEFAULT_RANGE), end);
+    }
+}
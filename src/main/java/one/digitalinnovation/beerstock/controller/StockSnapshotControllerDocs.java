@@ -0,0 +1,34 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.SnapshotSummaryDTO;
+import one.digitalinnovation.beerstock.dto.StockHistoryPointDTO;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+@Api("Keeps point-in-time stock snapshots")
+public interface StockSnapshotControllerDocs {
+
+    @ApiOperation(value = "Takes a stock snapshot now, in addition to the scheduled ones")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Snapshot written")
+    })
+    SnapshotSummaryDTO takeSnapshot() throws IOException;
+
+    @ApiOperation(value = "Returns the totals of the snapshots taken in a time range, by default the last 24 hours")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Snapshot totals, oldest first")
+    })
+    List<SnapshotSummaryDTO> listSnapshots(Instant from, Instant to) throws IOException;
+
+    @ApiOperation(value = "Returns the quantity and max of a beer in each snapshot of a time range, by default the last 24 hours")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock history of the beer, oldest first")
+    })
+    List<StockHistoryPointDTO> history(long id, Instant from, Instant to) throws IOException;
+}
@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyStockedException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.DefaultWarehouseUnstockException;
+import one.digitalinnovation.beerstock.service.WarehouseStockService;
+import one.digitalinnovation.beerstock.service.WarehouseTotalsService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/warehouses")
+@RequiredArgsConstructor
+public class WarehouseStockController implements WarehouseStockControllerDocs {
+
+    private final WarehouseStockService warehouseStockService;
+    private final WarehouseTotalsService warehouseTotalsService;
+
+    @PostMapping("/{warehouseId}/beers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public WarehouseStockDTO stock(@PathVariable long warehouseId, @RequestBody @Valid WarehouseStockDTO warehouseStockDTO)
+            throws BeerNotFoundException, BeerAlreadyStockedException, BeerStockExceededException {
+        return warehouseStockService.stock(warehouseId, warehouseStockDTO);
+    }
+
+    @GetMapping("/{warehouseId}/beers")
+    public List<WarehouseStockDTO> listBeers(@PathVariable long warehouseId) {
+        return warehouseStockService.listAll(warehouseId);
+    }
+
+    @GetMapping("/{warehouseId}/beers/{id}/stock")
+    public WarehouseStockDTO findStock(@PathVariable long warehouseId, @PathVariable long id) throws BeerNotFoundException {
+        return warehouseStockService.findStock(warehouseId, id);
+    }
+
+    @PatchMapping("/{warehouseId}/beers/{id}/increment")
+    public WarehouseStockDTO increment(@PathVariable long warehouseId, @PathVariable long id, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws BeerNotFoundException, BeerStockExceededException {
+        return warehouseStockService.increment(warehouseId, id, quantityDTO.getQuantity());
+    }
+
+    @PatchMapping("/{warehouseId}/beers/{id}/decrement")
+    public WarehouseStockDTO decrement(@PathVariable long warehouseId, @PathVariable long id, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        return warehouseStockService.decrement(warehouseId, id, quantityDTO.getQuantity());
+    }
+
+    @DeleteMapping("/{warehouseId}/beers/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void unstock(@PathVariable long warehouseId, @PathVariable long id) throws BeerNotFoundException, DefaultWarehouseUnstockException {
+        warehouseStockService.unstock(warehouseId, id);
+    }
+
+    @GetMapping("/beers/{id}/stock")
+    public CrossWarehouseStockDTO findTotalStock(@PathVariable long id) throws BeerNotFoundException {
+        return warehouseTotalsService.find(id).orElseThrow(() -> new BeerNotFoundException(id));
+    }
+}
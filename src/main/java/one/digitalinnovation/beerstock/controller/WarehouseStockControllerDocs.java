@@ -0,0 +1,75 @@
+package one.digitalinnovation.beerstock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyStockedException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.DefaultWarehouseUnstockException;
+
+import java.util.List;
+
+@Api("Manages beer stock per warehouse")
+public interface WarehouseStockControllerDocs {
+
+    @ApiOperation(value = "Stocks a registered beer in a warehouse other than the default warehouse 1")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Beer stocked in the warehouse"),
+            @ApiResponse(code = 400, message = "Beer already stocked in the warehouse, quantity above max or wrong field range value."),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    WarehouseStockDTO stock(long warehouseId, WarehouseStockDTO warehouseStockDTO)
+            throws BeerNotFoundException, BeerAlreadyStockedException, BeerStockExceededException;
+
+    @ApiOperation(value = "Returns the stock of every beer in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "List of the beers stocked in the warehouse"),
+    })
+    List<WarehouseStockDTO> listBeers(long warehouseId);
+
+    @ApiOperation(value = "Returns the stock of a beer in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock of the beer in the warehouse"),
+            @ApiResponse(code = 404, message = "Beer with given id is not stocked in the warehouse.")
+    })
+    WarehouseStockDTO findStock(long warehouseId, long id) throws BeerNotFoundException;
+
+    @ApiOperation(value = "Increments the quantity of a beer in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity incremented"),
+            @ApiResponse(code = 400, message = "Resulting quantity exceed the max of the beer in the warehouse."),
+            @ApiResponse(code = 404, message = "Beer with given id is not stocked in the warehouse.")
+    })
+    WarehouseStockDTO increment(long warehouseId, long id, QuantityDTO quantityDTO)
+            throws BeerNotFoundException, BeerStockExceededException;
+
+    @ApiOperation(value = "Decrements the quantity of a beer in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Quantity decremented"),
+            @ApiResponse(code = 400, message = "Resulting quantity was negative."),
+            @ApiResponse(code = 404, message = "Beer with given id is not stocked in the warehouse.")
+    })
+    WarehouseStockDTO decrement(long warehouseId, long id, QuantityDTO quantityDTO)
+            throws BeerNotFoundException, BeerStockLessThanZeroException;
+
+    @ApiOperation(value = "Removes a beer from a warehouse other than the default warehouse 1")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Beer removed from the warehouse"),
+            @ApiResponse(code = 404, message = "Beer with given id is not stocked in the warehouse."),
+            @ApiResponse(code = 409, message = "Beers leave the default warehouse only when they are deleted.")
+    })
+    void unstock(long warehouseId, long id) throws BeerNotFoundException, DefaultWarehouseUnstockException;
+
+    @ApiOperation(value = "Returns the quantity and max of a beer summed over all warehouses")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock of the beer across warehouses"),
+            @ApiResponse(code = 404, message = "Beer with given id was not found.")
+    })
+    CrossWarehouseStockDTO findTotalStock(long id) throws BeerNotFoundException;
+}
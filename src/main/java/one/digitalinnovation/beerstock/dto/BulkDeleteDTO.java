@@ -0,0 +1,40 @@
+package one.digitalinnovation.beerstock.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Selects the beers to delete either by id or by brand and type. A missing brand or type matches any,
+ * but at least one of them is required, so an empty body never deletes the whole catalog.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteDTO {
+
+    @Size(max = 1000)
+    private List<@NotNull Long> ids;
+
+    @Size(min = 1, max = 200)
+    private String brand;
+
+    private BeerType type;
+
+    @JsonIgnore
+    @AssertTrue(message = "either ids or brand and/or type must be given")
+    public boolean isSelectingByIdOrByBrandAndType() {
+        boolean byId = ids != null && !ids.isEmpty();
+        boolean byBrandAndType = brand != null || type != null;
+        return byId != byBrandAndType;
+    }
+}
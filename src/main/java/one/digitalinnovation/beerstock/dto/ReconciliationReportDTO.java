@@ -0,0 +1,45 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReportDTO {
+
+    private long rowsRead;
+
+    private long matched;
+
+    private long unchanged;
+
+    private long corrected;
+
+    private long netQuantityDelta;
+
+    private long conflicts;
+
+    private long unknown;
+
+    private long duplicates;
+
+    private long invalid;
+
+    private long missingFromCount;
+
+    private long durationMillis;
+
+    private List<String> unknownNames;
+
+    private List<String> missingNames;
+
+    private List<String> conflictNames;
+
+    private List<String> invalidRows;
+}
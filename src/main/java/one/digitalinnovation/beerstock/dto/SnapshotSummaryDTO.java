@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotSummaryDTO {
+
+    private Instant takenAt;
+
+    private int beers;
+
+    private long units;
+
+    private long capacity;
+
+    private long sizeBytes;
+}
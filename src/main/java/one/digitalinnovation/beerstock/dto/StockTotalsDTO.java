@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTotalsDTO {
+
+    private long beers;
+
+    private long units;
+
+    private long capacity;
+
+    private double fillRatio;
+
+    public static StockTotalsDTO of(long beers, long units, long capacity) {
+        return new StockTotalsDTO(beers, units, capacity, capacity == 0 ? 0 : (double) units / capacity);
+    }
+}
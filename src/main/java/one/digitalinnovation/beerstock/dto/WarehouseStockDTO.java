@@ -0,0 +1,29 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStockDTO {
+
+    private Long warehouseId;
+
+    @NotNull
+    private Long beerId;
+
+    @NotNull
+    @Max(500)
+    private Integer max;
+
+    @NotNull
+    @Max(100)
+    private Integer quantity;
+}
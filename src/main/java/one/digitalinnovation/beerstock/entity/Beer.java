@@ -1,9 +1,15 @@
 package one.digitalinnovation.beerstock.entity;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import one.digitalinnovation.beerstock.enums.BeerType;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -12,15 +18,31 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 
+/**
+ * A soft-deleted beer keeps its row, flagged {@code deleted}, until the purge job removes it. Hibernate
+ * filters such rows out of every query and load; native SQL on the table has to do it itself.
+ *
+ * <p>{@code nameKey} and {@code brandKey} are lower-cased copies of name and brand computed by the
+ * database, indexed so a case-insensitive prefix search is a range scan instead of {@code UPPER(col) LIKE}
+ * over every row. They are only read by queries, so the entity never sets or exposes them.
+ */
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "beer_name_key", columnList = "name_key"),
+        @Index(name = "beer_brand_key", columnList = "brand_key")
+})
+@Where(clause = "deleted = false")
 @NoArgsConstructor
-@AllArgsConstructor
 public class Beer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_seq")
+    @SequenceGenerator(name = "beer_seq", sequenceName = "beer_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -39,5 +61,35 @@ public class Beer {
     @Column(nullable = false)
     private BeerType type;
 
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean deleted;
+
+    @Column(name = "name_key", columnDefinition = "VARCHAR(255) AS LOWER(name)", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String nameKey;
+
+    @Column(name = "brand_key", columnDefinition = "VARCHAR(255) AS LOWER(brand)", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String brandKey;
+
+    public Beer(Long id, String name, String brand, int max, int quantity, BeerType type) {
+        this(id, name, brand, max, quantity, type, false);
+    }
 
+    public Beer(Long id, String name, String brand, int max, int quantity, BeerType type, boolean deleted) {
+        this.id = id;
+        this.name = name;
+        this.brand = brand;
+        this.max = max;
+        this.quantity = quantity;
+        this.type = type;
+        this.deleted = deleted;
+    }
 }
@@ -0,0 +1,61 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * A stock event waiting to be relayed. Events are spread over {@link #BUCKETS} buckets by beer, stored in
+ * an indexed column, so a relay worker finds the events of its buckets through the index whatever the
+ * relay parallelism is.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "outbox_event_bucket", columnList = "bucket, id"))
+public class OutboxEvent {
+
+    public static final int BUCKETS = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    // the default lets ddl-auto=update add the column to a file database that still holds events
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0 NOT NULL")
+    private int bucket;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BeerStockEvent.Type type;
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public static int bucketOf(long beerId) {
+        return (int) Math.floorMod(beerId, (long) BUCKETS);
+    }
+}
@@ -0,0 +1,57 @@
+package one.digitalinnovation.beerstock.event;
+
+import lombok.Builder;
+import lombok.Value;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+/**
+ * Published inside the writing transaction every time a beer is created, deleted or has its stock
+ * changed. Listeners that must only see committed writes use {@code @TransactionalEventListener}.
+ */
+@Value
+@Builder
+public class BeerStockEvent {
+
+    public enum Type {
+        CREATED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    Type type;
+    Long beerId;
+    String name;
+    String brand;
+    BeerType beerType;
+    int max;
+    int quantity;
+    int quantityDelta;
+
+    public static BeerStockEvent of(Type type, Beer beer, int quantityDelta) {
+        return BeerStockEvent.builder()
+                .type(type)
+                .beerId(beer.getId())
+                .name(beer.getName())
+                .brand(beer.getBrand())
+                .beerType(beer.getType())
+                .max(beer.getMax())
+                .quantity(beer.getQuantity())
+                .quantityDelta(quantityDelta)
+                .build();
+    }
+
+    public static BeerStockEvent of(Type type, BeerDTO beerDTO, int quantityDelta) {
+        return BeerStockEvent.builder()
+                .type(type)
+                .beerId(beerDTO.getId())
+                .name(beerDTO.getName())
+                .brand(beerDTO.getBrand())
+                .beerType(beerDTO.getType())
+                .max(beerDTO.getMax())
+                .quantity(beerDTO.getQuantity())
+                .quantityDelta(quantityDelta)
+                .build();
+    }
+}
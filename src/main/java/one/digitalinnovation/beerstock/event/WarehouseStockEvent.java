@@ -0,0 +1,33 @@
+package one.digitalinnovation.beerstock.event;
+
+import lombok.Builder;
+import lombok.Value;
+import one.digitalinnovation.beerstock.repository.WarehouseStock;
+
+/**
+ * Published inside the writing transaction every time a beer is stocked in, removed from or has its
+ * stock changed in a warehouse other than the default one. Changes of the default warehouse, which is the
+ * stock kept on the beer itself, keep publishing {@link BeerStockEvent}s.
+ */
+@Value
+@Builder
+public class WarehouseStockEvent {
+
+    BeerStockEvent.Type type;
+    long warehouseId;
+    long beerId;
+    int max;
+    int quantity;
+    int quantityDelta;
+
+    public static WarehouseStockEvent of(BeerStockEvent.Type type, WarehouseStock stock, int quantityDelta) {
+        return WarehouseStockEvent.builder()
+                .type(type)
+                .warehouseId(stock.getWarehouseId())
+                .beerId(stock.getBeerId())
+                .max(stock.getMax())
+                .quantity(stock.getQuantity())
+                .quantityDelta(quantityDelta)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BeerAlreadyStockedException extends Exception {
+
+    public BeerAlreadyStockedException(Long beerId, long warehouseId) {
+        super(String.format("Beer with id %s already stocked in warehouse %s.", beerId, warehouseId));
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DefaultWarehouseUnstockException extends Exception {
+
+    public DefaultWarehouseUnstockException(Long beerId, long warehouseId) {
+        super(String.format("Beer with id %s cannot be removed from the default warehouse %s; delete the beer instead.", beerId, warehouseId));
+    }
+}
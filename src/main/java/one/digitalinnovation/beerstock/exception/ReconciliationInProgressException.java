@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReconciliationInProgressException extends Exception {
+
+    public ReconciliationInProgressException() {
+        super("A stock reconciliation is already running.");
+    }
+}
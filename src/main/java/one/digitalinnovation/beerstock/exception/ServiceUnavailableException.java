@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends Exception {
+
+    public ServiceUnavailableException(String reason) {
+        super(String.format("Service temporarily unavailable: %s", reason));
+    }
+}
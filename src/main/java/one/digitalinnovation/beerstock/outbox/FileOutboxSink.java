@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one JSON line ({@code {"outboxId":..,"event":{..}}}) and forces the batch to
+ * disk before returning.
+ */
+public class FileOutboxSink implements OutboxSink, AutoCloseable {
+
+    private final FileChannel channel;
+
+    public FileOutboxSink(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : batch) {
+            lines.append("{\"outboxId\":").append(event.getId())
+                    .append(",\"event\":").append(event.getPayload())
+                    .append("}\n");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Bounded in-process queue for local runs and tests. A batch that does not fit is refused as a whole, so
+ * it stays in the outbox until a consumer makes room; nothing is dropped. The queue itself is not durable
+ * and loses what it holds on restart.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEvent> queue;
+
+    public InMemoryOutboxSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        if (queue.remainingCapacity() < batch.size()) {
+            throw new IllegalStateException("In-memory outbox sink is full");
+        }
+        queue.addAll(batch);
+    }
+
+    public BlockingQueue<OutboxEvent> getQueue() {
+        return queue;
+    }
+}
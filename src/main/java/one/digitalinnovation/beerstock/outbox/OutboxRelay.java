@@ -0,0 +1,160 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+import one.digitalinnovation.beerstock.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the {@link OutboxSink}. The {@link OutboxEvent#BUCKETS} buckets of the outbox are
+ * dealt out to {@code parallelism} partitions and every partition is drained by one worker, in id order,
+ * so the events of a beer are relayed by a single worker. Each batch is locked, published and deleted in
+ * one transaction: a failing sink rolls the batch back for the next poll, and relays on other nodes wait
+ * on the row locks instead of sending it twice. With a durable sink such as {@link FileOutboxSink} that
+ * makes delivery at-least-once; the {@link InMemoryOutboxSink} refuses batches while full but loses what
+ * it holds on restart.
+ *
+ * <p>The relay only runs with {@code beerstock.outbox.enabled=true}, and can be kept off on some of the
+ * nodes with {@code beerstock.outbox.relay.enabled=false}.
+ *
+ * <p>Ids come from pooled sequence blocks, so they follow commit order only for events written by one
+ * node while it held the row they change. That is the case for the events of a beer's default warehouse
+ * stock written on one node; events written by different nodes, or of different warehouses, may be
+ * relayed in any order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"beerstock.outbox.enabled", "beerstock.outbox.relay.enabled"}, havingValue = "true")
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transaction;
+    private final List<List<Integer>> partitions;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final Counter relayedEvents;
+    private final Timer batchPublishTime;
+    private final Timer relayLag;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${beerstock.outbox.parallelism:4}") int parallelism,
+                       @Value("${beerstock.outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.partitions = partitions(Math.min(parallelism, OutboxEvent.BUCKETS));
+        this.batchSize = batchSize;
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.partitions.size(), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.relayedEvents = meterRegistry.counter("beerstock.outbox.relayed");
+        this.batchPublishTime = meterRegistry.timer("beerstock.outbox.batch.publish");
+        this.relayLag = meterRegistry.timer("beerstock.outbox.lag");
+        TimeGauge.builder("beerstock.outbox.oldest-pending.age", oldestPendingAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        List<Callable<Integer>> drains = new ArrayList<>(partitions.size());
+        for (int partition = 0; partition < partitions.size(); partition++) {
+            int drainedPartition = partition;
+            drains.add(() -> drain(drainedPartition));
+        }
+        try {
+            workers.invokeAll(drains);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        Instant oldestPending = outboxEventRepository.findOldestCreatedAt();
+        oldestPendingAgeMillis.set(oldestPending == null ? 0 : Duration.between(oldestPending, Instant.now()).toMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private int drain(int partition) {
+        int relayed = 0;
+        try {
+            int batchRelayed;
+            do {
+                batchRelayed = transaction.execute(status -> relayBatch(partition));
+                relayed += batchRelayed;
+            } while (batchRelayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay of partition {} failed, retrying on next poll", partition, e);
+        }
+        return relayed;
+    }
+
+    private int relayBatch(int partition) {
+        List<OutboxEvent> batch = outboxEventRepository.findBatchForUpdate(partitions.get(partition), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batchPublishTime.record(() -> publish(batch));
+        outboxEventRepository.deleteInBatch(batch);
+
+        Instant now = Instant.now();
+        relayedEvents.increment(batch.size());
+        batch.forEach(event -> relayLag.record(Duration.between(event.getCreatedAt(), now)));
+        return batch.size();
+    }
+
+    /**
+     * Deals the buckets out round-robin, bucket {@code b} to partition {@code b % parallelism}.
+     */
+    private static List<List<Integer>> partitions(int parallelism) {
+        List<List<Integer>> partitions = new ArrayList<>(parallelism);
+        for (int partition = 0; partition < parallelism; partition++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int bucket = 0; bucket < OutboxEvent.BUCKETS; bucket++) {
+            partitions.get(bucket % parallelism).add(bucket);
+        }
+        return partitions;
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        try {
+            outboxSink.publish(batch);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox sink failed", e);
+        }
+    }
+}
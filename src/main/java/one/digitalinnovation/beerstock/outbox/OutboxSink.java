@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch is deleted from the outbox only after {@link #publish}
+ * returns, so an implementation may see the same event again after a failure or a crash and must
+ * tolerate duplicates. Events of one beer are published in order only as far as {@link OutboxRelay}
+ * describes.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
@@ -0,0 +1,62 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.event.WarehouseStockEvent;
+import one.digitalinnovation.beerstock.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Stores every stock event, of the default warehouse or any other, in the outbox table inside the
+ * transaction that caused it, so the event is relayed if and only if the write commits. Off unless
+ * {@code beerstock.outbox.enabled=true}, so the table does not grow on deployments that relay nothing.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.outbox.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBeerStockEvent(BeerStockEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .beerId(event.getBeerId())
+                .bucket(OutboxEvent.bucketOf(event.getBeerId()))
+                .type(event.getType())
+                .payload(toJson(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onWarehouseStockEvent(WarehouseStockEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .beerId(event.getBeerId())
+                .bucket(OutboxEvent.bucketOf(event.getBeerId()))
+                .type(event.getType())
+                .payload(toJson(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event, e);
+        }
+    }
+}
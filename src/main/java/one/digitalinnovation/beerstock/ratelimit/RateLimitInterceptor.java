@@ -0,0 +1,147 @@
+package one.digitalinnovation.beerstock.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.ratelimit.RateLimitProperties.RouteLimit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of the controllers: a token bucket per client and route, then an adaptive
+ * concurrency limit per route. A route is the HTTP method and the URL pattern of the handler. Rejected
+ * requests get 429 with a {@code Retry-After} header. The concurrency permit is kept in a request
+ * attribute until the request completes, so an async dispatch of the same request does not take a
+ * second one.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, RouteLimit> limitsByRoute;
+    private final TokenBuckets buckets;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.limitsByRoute = properties.limitsByRoute();
+        this.buckets = new TokenBuckets(properties.getMaxClients());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        String route = route(request);
+        RouteLimit routeLimit = limitsByRoute.getOrDefault(route, properties.getDefaults());
+        long now = nanoClock.getAsLong();
+
+        long waitNanos = bucket(clientKey(request), route, routeLimit, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            return reject(response, route, "rate", waitNanos);
+        }
+        AdaptiveConcurrencyLimiter limiter = limiter(route, routeLimit);
+        if (!limiter.tryAcquire()) {
+            return reject(response, route, "concurrency", properties.getConcurrencyRetryAfter().toNanos());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, now));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        boolean failed = ex != null || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        permit.limiter.release(nanoClock.getAsLong() - permit.startNanos, failed);
+    }
+
+    /**
+     * The method and the pattern the request was mapped with, so handlers of different controllers that
+     * share a method name are separate routes and every request of one handler falls in the same route.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return RateLimitProperties.route(request.getMethod(), pattern != null ? pattern.toString() : request.getRequestURI());
+    }
+
+    /**
+     * The client asserted by a trusted proxy in {@link RateLimitProperties#getClientHeader()}, or the
+     * remote address when the request did not come through one.
+     */
+    private String clientKey(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String clientId = request.getHeader(properties.getClientHeader());
+        return clientId != null && !clientId.isEmpty() ? clientId : remoteAddress;
+    }
+
+    private TokenBucket bucket(String client, String route, RouteLimit routeLimit, long now) {
+        return buckets.get(client + '|' + route, now,
+                () -> new TokenBucket(routeLimit.getPermitsPerSecond(), routeLimit.getBurst(), now));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(String route, RouteLimit routeLimit) {
+        return limiters.computeIfAbsent(route, r -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    routeLimit.getInitialConcurrency(),
+                    routeLimit.getMinConcurrency(),
+                    routeLimit.getMaxConcurrency(),
+                    routeLimit.getBackoffRatio(),
+                    routeLimit.getLatencyThreshold().toNanos());
+            Gauge.builder("beerstock.ratelimit.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("route", r)
+                    .register(meterRegistry);
+            Gauge.builder("beerstock.ratelimit.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("route", r)
+                    .register(meterRegistry);
+            return limiter;
+        });
+    }
+
+    private boolean reject(HttpServletResponse response, String route, String reason, long retryAfterNanos)
+            throws IOException {
+        meterRegistry.counter("beerstock.ratelimit.rejected", "route", route, "reason", reason).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests for " + route);
+        return false;
+    }
+
+    private static class Permit {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+    }
+}
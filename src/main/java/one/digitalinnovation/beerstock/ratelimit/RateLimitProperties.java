@@ -0,0 +1,59 @@
+package one.digitalinnovation.beerstock.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limits applied by {@link RateLimitInterceptor}. A route is an HTTP method and the URL pattern of the
+ * handler it maps to, for example {@code PATCH /api/v1/beers/{id}/increment}; each entry of
+ * {@link #routes} names one with its {@code method} and {@code pattern}, and routes without an entry use
+ * {@link #defaults}.
+ *
+ * <p>Clients are told apart by {@link #clientHeader} only on requests whose remote address is one of
+ * {@link #trustedProxies}, the gateways that set it; anyone else could send any value and get a fresh
+ * bucket per request. Every other request is keyed by its remote address.
+ */
+@Data
+@ConfigurationProperties(prefix = "beerstock.ratelimit")
+public class RateLimitProperties {
+
+    private String clientHeader = "X-Client-Id";
+    private Set<String> trustedProxies = new HashSet<>();
+    private int maxClients = 10_000;
+    private Duration concurrencyRetryAfter = Duration.ofSeconds(1);
+    private RouteLimit defaults = new RouteLimit();
+    private Map<String, RouteLimit> routes = new HashMap<>();
+
+    /**
+     * The configured limits keyed by {@link #route}.
+     */
+    public Map<String, RouteLimit> limitsByRoute() {
+        Map<String, RouteLimit> limitsByRoute = new HashMap<>();
+        routes.values().forEach(limit -> limitsByRoute.put(route(limit.getMethod(), limit.getPattern()), limit));
+        return limitsByRoute;
+    }
+
+    public static String route(String method, String pattern) {
+        return method + ' ' + pattern;
+    }
+
+    @Data
+    public static class RouteLimit {
+
+        private String method;
+        private String pattern;
+        private double permitsPerSecond = 100;
+        private int burst = 200;
+        private int initialConcurrency = 20;
+        private int minConcurrency = 2;
+        private int maxConcurrency = 100;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+    }
+}
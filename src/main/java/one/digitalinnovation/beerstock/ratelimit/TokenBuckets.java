@@ -0,0 +1,47 @@
+package one.digitalinnovation.beerstock.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The token buckets of {@link RateLimitInterceptor}, least recently used first. Adding a bucket drops the
+ * buckets at the old end that refilled since their last use, which a new bucket would replace anyway,
+ * and then the least recently used ones past {@code maxBuckets}. Every entry is dropped at most once, so
+ * a lookup costs O(1) amortized and the map never grows past the cap.
+ */
+class TokenBuckets {
+
+    private final int maxBuckets;
+    private final LinkedHashMap<String, TokenBucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+
+    TokenBuckets(int maxBuckets) {
+        this.maxBuckets = Math.max(1, maxBuckets);
+    }
+
+    synchronized TokenBucket get(String key, long nowNanos, Supplier<TokenBucket> newBucket) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            evict(nowNanos);
+            bucket = newBucket.get();
+            buckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    synchronized int size() {
+        return buckets.size();
+    }
+
+    private void evict(long nowNanos) {
+        Iterator<Map.Entry<String, TokenBucket>> eldest = buckets.entrySet().iterator();
+        while (eldest.hasNext()) {
+            TokenBucket bucket = eldest.next().getValue();
+            if (buckets.size() < maxBuckets && !bucket.isFull(nowNanos)) {
+                return;
+            }
+            eldest.remove();
+        }
+    }
+}
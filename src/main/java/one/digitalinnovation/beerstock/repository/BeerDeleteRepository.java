@@ -0,0 +1,33 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BeerDeleteRepository {
+
+    /**
+     * Deletes the live beers among {@code ids} and returns them as they were before the delete: one select
+     * locks and reads the rows, one statement deletes them. With {@code soft} the rows are flagged as
+     * deleted instead, and left for {@link #purgeSoftDeleted}.
+     */
+    List<Beer> deleteAllByIdReturning(Collection<Long> ids, boolean soft);
+
+    /**
+     * Deletes the live beers of the brand and of the type like {@link #deleteAllByIdReturning}. A
+     * {@code null} brand or type matches any.
+     */
+    List<Beer> deleteAllByBrandAndTypeReturning(String brand, BeerType type, boolean soft);
+
+    /**
+     * Removes at most {@code limit} soft-deleted rows, lowest ids first, and returns how many were removed.
+     */
+    int purgeSoftDeleted(int limit);
+
+    /**
+     * Removes the soft-deleted rows holding one of {@code names}, so the names can be registered again.
+     */
+    int purgeSoftDeletedByName(Collection<String> names);
+}
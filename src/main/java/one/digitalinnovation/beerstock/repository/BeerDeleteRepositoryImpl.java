@@ -0,0 +1,73 @@
+package one.digitalinnovation.beerstock.repository;
+
+import lombok.RequiredArgsConstructor;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static one.digitalinnovation.beerstock.repository.StockUpdateRepositoryImpl.BEER_ROW;
+
+/**
+ * Both deletes lock the rows with one select, which returns them, and then delete or flag them with one
+ * statement by id. H2's {@code OLD TABLE} delta table would return the rows of a single delete, but H2
+ * does not persist an update run inside a delta table, and a delete run inside one that waits on a row
+ * lock can let the concurrent stock update it waited for apply to the row it is deleting, so the rows it
+ * returns do not match the stock changes that committed.
+ */
+@RequiredArgsConstructor
+public class BeerDeleteRepositoryImpl implements BeerDeleteRepository {
+
+    private static final String COLUMNS = "id, name, brand, max, quantity, type";
+    private static final String LOCK_FOR_DELETE = "SELECT " + COLUMNS + " FROM beer WHERE deleted = FALSE%s FOR UPDATE";
+    private static final String HARD_DELETE = "DELETE FROM beer WHERE id = ANY(?)";
+    private static final String SOFT_DELETE = "UPDATE beer SET deleted = TRUE WHERE id = ANY(?)";
+    private static final String PURGE_SOFT_DELETED =
+            "DELETE FROM beer WHERE deleted = TRUE LIMIT ?";
+    private static final String PURGE_SOFT_DELETED_BY_NAME =
+            "DELETE FROM beer WHERE deleted = TRUE AND name = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Beer> deleteAllByIdReturning(Collection<Long> ids, boolean soft) {
+        return delete(" AND id = ANY(?)", new Object[]{ids.toArray(new Long[0])}, soft);
+    }
+
+    @Override
+    public List<Beer> deleteAllByBrandAndTypeReturning(String brand, BeerType type, boolean soft) {
+        StringBuilder condition = new StringBuilder();
+        List<Object> args = new ArrayList<>(2);
+        if (brand != null) {
+            condition.append(" AND brand = ?");
+            args.add(brand);
+        }
+        if (type != null) {
+            condition.append(" AND type = ?");
+            args.add(type.name());
+        }
+        return delete(condition.toString(), args.toArray(), soft);
+    }
+
+    @Override
+    public int purgeSoftDeleted(int limit) {
+        return jdbcTemplate.update(PURGE_SOFT_DELETED, limit);
+    }
+
+    @Override
+    public int purgeSoftDeletedByName(Collection<String> names) {
+        return jdbcTemplate.update(PURGE_SOFT_DELETED_BY_NAME, (Object) names.toArray(new String[0]));
+    }
+
+    private List<Beer> delete(String condition, Object[] args, boolean soft) {
+        List<Beer> beers = jdbcTemplate.query(String.format(LOCK_FOR_DELETE, condition), BEER_ROW, args);
+        if (!beers.isEmpty()) {
+            Long[] ids = beers.stream().map(Beer::getId).toArray(Long[]::new);
+            jdbcTemplate.update(soft ? SOFT_DELETE : HARD_DELETE, (Object) ids);
+        }
+        return beers;
+    }
+}
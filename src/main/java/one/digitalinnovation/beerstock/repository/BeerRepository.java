@@ -1,11 +1,39 @@
 package one.digitalinnovation.beerstock.repository;
 
 import one.digitalinnovation.beerstock.entity.Beer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+public interface BeerRepository extends JpaRepository<Beer, Long>, StockUpdateRepository, StockScanRepository, BeerDeleteRepository {
 
     Optional<Beer> findByName(String name);
+
+    List<Beer> findByNameIn(Collection<String> names);
+
+    List<Beer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Beer> findByNameKeyStartingWithOrderByNameKeyAsc(String nameKey, Pageable pageable);
+
+    List<Beer> findByBrandKeyStartingWithOrderByNameKeyAsc(String brandKey, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Beer b where b.id = :id")
+    Optional<Beer> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Beer b where b.id in :ids order by b.id")
+    List<Beer> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.type as type, b.brand as brand, count(b) as beers, sum(b.quantity) as units, sum(b.max) as capacity"
+            + " from Beer b group by b.type, b.brand")
+    List<StockTotals> sumStockByTypeAndBrand();
 }
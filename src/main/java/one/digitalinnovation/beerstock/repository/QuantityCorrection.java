@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerstock.repository;
+
+import lombok.Value;
+
+/**
+ * Sets a beer to {@code newQuantity}, provided it still holds {@code expectedQuantity}.
+ */
+@Value
+public class QuantityCorrection {
+
+    Long beerId;
+    int expectedQuantity;
+    int newQuantity;
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+/**
+ * Receives the stock columns of one beer row, without materializing an entity.
+ */
+@FunctionalInterface
+public interface StockRowHandler {
+
+    void row(long id, int quantity, int max, BeerType type);
+}
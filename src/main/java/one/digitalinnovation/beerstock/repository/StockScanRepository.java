@@ -0,0 +1,10 @@
+package one.digitalinnovation.beerstock.repository;
+
+public interface StockScanRepository {
+
+    /**
+     * Streams the stock columns of at most {@code limit} beers with an id above {@code afterId}, in id
+     * order, and returns the last id seen, or {@code afterId} when there are no more rows.
+     */
+    long scanStockAfter(long afterId, int limit, StockRowHandler handler);
+}
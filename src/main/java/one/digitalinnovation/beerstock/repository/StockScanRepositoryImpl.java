@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerstock.repository;
+
+import lombok.RequiredArgsConstructor;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class StockScanRepositoryImpl implements StockScanRepository {
+
+    private static final String SELECT_STOCK_AFTER =
+            "SELECT id, quantity, max, type FROM beer WHERE id > ? AND deleted = FALSE ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long scanStockAfter(long afterId, int limit, StockRowHandler handler) {
+        long[] lastId = {afterId};
+        jdbcTemplate.query(SELECT_STOCK_AFTER, resultSet -> {
+            lastId[0] = resultSet.getLong(1);
+            handler.row(lastId[0], resultSet.getInt(2), resultSet.getInt(3), BeerType.valueOf(resultSet.getString(4)));
+        }, afterId, limit);
+        return lastId[0];
+    }
+}
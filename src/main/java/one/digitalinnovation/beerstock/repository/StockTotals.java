@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+/**
+ * Stock aggregated over the beers of one type and brand.
+ */
+public interface StockTotals {
+
+    BeerType getType();
+
+    String getBrand();
+
+    long getBeers();
+
+    long getUnits();
+
+    long getCapacity();
+}
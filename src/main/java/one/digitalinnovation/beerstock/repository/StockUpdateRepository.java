@@ -0,0 +1,44 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+public interface StockUpdateRepository {
+
+    /**
+     * Decrements every beer in {@code quantityById} with one JDBC batch, in ascending id order. A row is
+     * only updated while at least {@code reservedById} units would remain; the returned update counts
+     * follow the iteration order of {@code quantityById} and are 0 for the rows that were left untouched.
+     */
+    int[] decrementAllIfAvailable(SortedMap<Long, Integer> quantityById, Map<Long, Integer> reservedById);
+
+    /**
+     * Applies every correction with one JDBC batch, as a compare-and-set on the quantity. The returned
+     * update counts follow the order of {@code corrections} and are 0 where the stock changed since it
+     * was read.
+     */
+    int[] compareAndSetQuantities(List<QuantityCorrection> corrections);
+
+    /**
+     * Adds {@code quantity} to the stock of the beer with a single conditional update, provided the result
+     * does not exceed its max. Returns the row as updated, detached, or empty when nothing was updated
+     * because the beer does not exist or has no room left.
+     */
+    Optional<Beer> incrementIfWithinMax(long id, int quantity);
+
+    /**
+     * Locks the row of the beer until the transaction ends. Returns false when the beer does not exist.
+     */
+    boolean lockIfExists(long id);
+
+    /**
+     * Removes {@code quantity} from the stock of the beer with a single conditional update, provided at
+     * least {@code reserved} units remain. Returns the row as updated, detached, or empty when nothing was
+     * updated.
+     */
+    Optional<Beer> decrementIfAvailable(long id, int quantity, int reserved);
+}
@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerstock.repository;
+
+import lombok.RequiredArgsConstructor;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class StockUpdateRepositoryImpl implements StockUpdateRepository {
+
+    private static final String DECREMENT_IF_AVAILABLE =
+            "UPDATE beer SET quantity = quantity - ? WHERE id = ? AND quantity - ? >= ? AND deleted = FALSE";
+    private static final String SET_IF_UNCHANGED =
+            "UPDATE beer SET quantity = ? WHERE id = ? AND quantity = ? AND deleted = FALSE";
+    private static final String INCREMENT_IF_WITHIN_MAX =
+            "UPDATE beer SET quantity = quantity + ? WHERE id = ? AND quantity + ? <= max AND deleted = FALSE";
+    private static final String LOCK_BY_ID =
+            "SELECT id FROM beer WHERE id = ? AND deleted = FALSE FOR UPDATE";
+    private static final String SELECT_BY_ID =
+            "SELECT id, name, brand, max, quantity, type FROM beer WHERE id = ?";
+    static final RowMapper<Beer> BEER_ROW = (resultSet, rowNum) -> new Beer(resultSet.getLong(1),
+            resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4), resultSet.getInt(5),
+            BeerType.valueOf(resultSet.getString(6)));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] decrementAllIfAvailable(SortedMap<Long, Integer> quantityById, Map<Long, Integer> reservedById) {
+        List<Object[]> batchArgs = new ArrayList<>(quantityById.size());
+        quantityById.forEach((id, quantity) ->
+                batchArgs.add(new Object[]{quantity, id, quantity, reservedById.getOrDefault(id, 0)}));
+        return jdbcTemplate.batchUpdate(DECREMENT_IF_AVAILABLE, batchArgs);
+    }
+
+    @Override
+    public int[] compareAndSetQuantities(List<QuantityCorrection> corrections) {
+        List<Object[]> batchArgs = new ArrayList<>(corrections.size());
+        for (QuantityCorrection correction : corrections) {
+            batchArgs.add(new Object[]{correction.getNewQuantity(), correction.getBeerId(), correction.getExpectedQuantity()});
+        }
+        return jdbcTemplate.batchUpdate(SET_IF_UNCHANGED, batchArgs);
+    }
+
+    @Override
+    public Optional<Beer> incrementIfWithinMax(long id, int quantity) {
+        return updatedRow(jdbcTemplate.update(INCREMENT_IF_WITHIN_MAX, quantity, id, quantity), id);
+    }
+
+    @Override
+    public boolean lockIfExists(long id) {
+        return !jdbcTemplate.queryForList(LOCK_BY_ID, Long.class, id).isEmpty();
+    }
+
+    @Override
+    public Optional<Beer> decrementIfAvailable(long id, int quantity, int reserved) {
+        return updatedRow(jdbcTemplate.update(DECREMENT_IF_AVAILABLE, quantity, id, quantity, reserved), id);
+    }
+
+    /**
+     * The update keeps the row locked until the transaction ends, so reading it back returns exactly what
+     * was written.
+     */
+    private Optional<Beer> updatedRow(int updateCount, long id) {
+        if (updateCount == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(jdbcTemplate.queryForObject(SELECT_BY_ID, BEER_ROW, id));
+    }
+}
@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.repository;
+
+import lombok.Value;
+
+/**
+ * Stock of one beer in one warehouse other than the default one.
+ */
+@Value
+public class WarehouseStock {
+
+    long warehouseId;
+    long beerId;
+    int quantity;
+    int max;
+}
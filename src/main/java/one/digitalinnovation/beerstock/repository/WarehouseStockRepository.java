@@ -0,0 +1,238 @@
+package one.digitalinnovation.beerstock.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stock of beers in the warehouses other than the default one, hash partitioned by warehouse over
+ * {@code beerstock.warehouse.partitions} tables named {@code warehouse_stock_<n>}. H2 has no declarative
+ * partitioning, but every table is its own storage map, so writes to warehouses of different partitions
+ * never share a page, an index or a lock. Within a partition the primary key starts with the warehouse, so
+ * the rows of one warehouse are contiguous, and an index on the beer finds the rows of one beer across
+ * the warehouses of a partition. The partition count decides where existing rows live and must
+ * not change once a file database holds stock.
+ *
+ * <p>The tables carry no foreign key to {@code beer}: a deleted beer would otherwise have to delete from
+ * every partition in the same transaction. Every statement only sees rows of live beers instead, and
+ * {@link #purgeOrphans} removes the rest in the background.
+ *
+ * <p>Every write also adds its change to {@code warehouse_totals}, in the same transaction, so the stock of
+ * a beer summed over all warehouses is read from a few rows instead of from every partition. The totals
+ * keep one row per beer and partition, so writes to different partitions still never wait on each other.
+ * They are filled from the partitions once, when the table is created.
+ */
+@Repository
+public class WarehouseStockRepository {
+
+    private static final String CREATE_PARTITION = "CREATE TABLE IF NOT EXISTS %s (warehouse_id BIGINT NOT NULL,"
+            + " beer_id BIGINT NOT NULL, quantity INT NOT NULL, max INT NOT NULL, PRIMARY KEY (warehouse_id, beer_id))";
+    private static final String CREATE_BEER_INDEX = "CREATE INDEX IF NOT EXISTS %1$s_beer ON %1$s (beer_id)";
+    private static final String LIVE_BEER = "EXISTS (SELECT 1 FROM beer b WHERE b.id = s.beer_id AND b.deleted = FALSE)";
+    private static final String INSERT =
+            "INSERT INTO %s (warehouse_id, beer_id, quantity, max) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_ONE = "SELECT warehouse_id, beer_id, quantity, max FROM %s s"
+            + " WHERE warehouse_id = ? AND beer_id = ? AND " + LIVE_BEER;
+    private static final String SELECT_ALL = "SELECT warehouse_id, beer_id, quantity, max FROM %s s"
+            + " WHERE warehouse_id = ? AND " + LIVE_BEER + " ORDER BY beer_id";
+    private static final String INCREMENT_IF_WITHIN_MAX = "UPDATE %s s SET quantity = quantity + ?"
+            + " WHERE warehouse_id = ? AND beer_id = ? AND quantity + ? <= max AND " + LIVE_BEER;
+    private static final String DECREMENT_IF_AVAILABLE = "UPDATE %s s SET quantity = quantity - ?"
+            + " WHERE warehouse_id = ? AND beer_id = ? AND quantity - ? >= 0 AND " + LIVE_BEER;
+    private static final String LOCK_FOR_DELETE = SELECT_ONE + " FOR UPDATE";
+    private static final String DELETE = "DELETE FROM %s WHERE warehouse_id = ? AND beer_id = ?";
+    private static final String PURGE_ORPHANS = "DELETE FROM %s s WHERE NOT " + LIVE_BEER + " LIMIT ?";
+    private static final String TOTALS_EXIST =
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'WAREHOUSE_TOTALS'";
+    private static final String CREATE_TOTALS = "CREATE TABLE IF NOT EXISTS warehouse_totals (beer_id BIGINT NOT NULL,"
+            + " stripe INT NOT NULL, quantity BIGINT NOT NULL, max BIGINT NOT NULL, warehouses INT NOT NULL,"
+            + " PRIMARY KEY (beer_id, stripe))";
+    private static final String FILL_TOTALS = "INSERT INTO warehouse_totals (beer_id, stripe, quantity, max, warehouses)"
+            + " SELECT beer_id, %d, SUM(quantity), SUM(max), COUNT(*) FROM %s GROUP BY beer_id";
+    private static final String INSERT_TOTALS =
+            "INSERT INTO warehouse_totals (beer_id, stripe, quantity, max, warehouses) VALUES (?, ?, ?, ?, ?)";
+    private static final String ADD_TO_TOTALS = "UPDATE warehouse_totals"
+            + " SET quantity = quantity + ?, max = max + ?, warehouses = warehouses + ? WHERE beer_id = ? AND stripe = ?";
+    private static final String TOTALS_OF_BEER = "SELECT b.quantity + COALESCE(SUM(t.quantity), 0),"
+            + " b.max + COALESCE(SUM(t.max), 0), 1 + COALESCE(SUM(t.warehouses), 0)"
+            + " FROM beer b LEFT JOIN warehouse_totals t ON t.beer_id = b.id"
+            + " WHERE b.id = ? AND b.deleted = FALSE GROUP BY b.quantity, b.max";
+    private static final String PURGE_ORPHAN_TOTALS = "DELETE FROM warehouse_totals s WHERE NOT " + LIVE_BEER + " LIMIT ?";
+    private static final RowMapper<WarehouseStock> STOCK_ROW = (resultSet, rowNum) -> new WarehouseStock(
+            resultSet.getLong(1), resultSet.getLong(2), resultSet.getInt(3), resultSet.getInt(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Partition[] partitions;
+
+    public WarehouseStockRepository(JdbcTemplate jdbcTemplate,
+                                    @Value("${beerstock.warehouse.partitions:8}") int partitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = new Partition[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            this.partitions[partition] = new Partition("warehouse_stock_" + partition, partition);
+        }
+    }
+
+    @PostConstruct
+    public void createPartitions() {
+        for (Partition partition : partitions) {
+            jdbcTemplate.execute(partition.create);
+            jdbcTemplate.execute(partition.createBeerIndex);
+        }
+        boolean totalsExist = jdbcTemplate.queryForObject(TOTALS_EXIST, Integer.class) > 0;
+        jdbcTemplate.execute(CREATE_TOTALS);
+        if (!totalsExist) {
+            for (Partition partition : partitions) {
+                jdbcTemplate.update(partition.fillTotals);
+            }
+        }
+    }
+
+    /**
+     * Inserts the stock row. Fails with a {@code DuplicateKeyException} if the beer is already stocked in
+     * the warehouse.
+     */
+    public void insert(WarehouseStock stock) {
+        Partition partition = partition(stock.getWarehouseId());
+        jdbcTemplate.update(partition.insert, stock.getWarehouseId(), stock.getBeerId(), stock.getQuantity(), stock.getMax());
+        addToTotals(partition, stock.getBeerId(), stock.getQuantity(), stock.getMax(), 1);
+    }
+
+    public Optional<WarehouseStock> find(long warehouseId, long beerId) {
+        return jdbcTemplate.query(partition(warehouseId).selectOne, STOCK_ROW, warehouseId, beerId).stream().findFirst();
+    }
+
+    public List<WarehouseStock> findAll(long warehouseId) {
+        return jdbcTemplate.query(partition(warehouseId).selectAll, STOCK_ROW, warehouseId);
+    }
+
+    /**
+     * Adds {@code quantity} with a single conditional update and returns the row, or nothing if the beer
+     * is not stocked in the warehouse or the increment would exceed its max.
+     */
+    public Optional<WarehouseStock> incrementIfWithinMax(long warehouseId, long beerId, int quantity) {
+        Partition partition = partition(warehouseId);
+        if (jdbcTemplate.update(partition.increment, quantity, warehouseId, beerId, quantity) == 0) {
+            return Optional.empty();
+        }
+        jdbcTemplate.update(ADD_TO_TOTALS, quantity, 0, 0, beerId, partition.stripe);
+        return find(warehouseId, beerId);
+    }
+
+    /**
+     * Subtracts {@code quantity} like {@link #incrementIfWithinMax}, or returns nothing if less than
+     * {@code quantity} is left.
+     */
+    public Optional<WarehouseStock> decrementIfAvailable(long warehouseId, long beerId, int quantity) {
+        Partition partition = partition(warehouseId);
+        if (jdbcTemplate.update(partition.decrement, quantity, warehouseId, beerId, quantity) == 0) {
+            return Optional.empty();
+        }
+        jdbcTemplate.update(ADD_TO_TOTALS, -quantity, 0, 0, beerId, partition.stripe);
+        return find(warehouseId, beerId);
+    }
+
+    /**
+     * Locks and reads the row, deletes it and returns it as it was before the delete. Like the beer
+     * delete, this avoids H2's {@code OLD TABLE}, whose delete can race with a concurrent update of the row.
+     */
+    public Optional<WarehouseStock> delete(long warehouseId, long beerId) {
+        Partition partition = partition(warehouseId);
+        Optional<WarehouseStock> stock = jdbcTemplate.query(partition.lockForDelete, STOCK_ROW, warehouseId, beerId).stream().findFirst();
+        stock.ifPresent(locked -> {
+            jdbcTemplate.update(partition.delete, warehouseId, beerId);
+            jdbcTemplate.update(ADD_TO_TOTALS, -locked.getQuantity(), -locked.getMax(), -1, beerId, partition.stripe);
+        });
+        return stock;
+    }
+
+    /**
+     * Passes quantity, max and warehouse count of the beer summed over every warehouse, the default one
+     * included, to {@code handler}, with one statement that reads the beer row and its rows in
+     * {@code warehouse_totals}. Returns false, without calling {@code handler}, if the beer does not exist.
+     */
+    public boolean totalsOfBeer(long beerId, TotalsHandler handler) {
+        return !jdbcTemplate.query(TOTALS_OF_BEER, (resultSet, rowNum) -> {
+            handler.totals(beerId, resultSet.getLong(1), resultSet.getLong(2), resultSet.getInt(3));
+            return beerId;
+        }, beerId).isEmpty();
+    }
+
+    /**
+     * Removes at most {@code limit} rows of deleted beers from every partition and returns how many were
+     * removed.
+     */
+    public int purgeOrphans(int limit) {
+        int purged = 0;
+        for (Partition partition : partitions) {
+            purged += jdbcTemplate.update(partition.purgeOrphans, limit);
+        }
+        return purged + jdbcTemplate.update(PURGE_ORPHAN_TOTALS, limit);
+    }
+
+    /**
+     * Adds to the totals row of the beer in the partition, creating it for the first stock of the beer
+     * there. When a concurrent insert creates it first, the insert here fails and the add is retried
+     * against that row once it commits.
+     */
+    private void addToTotals(Partition partition, long beerId, long quantity, long max, int warehouses) {
+        if (jdbcTemplate.update(ADD_TO_TOTALS, quantity, max, warehouses, beerId, partition.stripe) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_TOTALS, beerId, partition.stripe, quantity, max, warehouses);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(ADD_TO_TOTALS, quantity, max, warehouses, beerId, partition.stripe);
+        }
+    }
+
+    private Partition partition(long warehouseId) {
+        return partitions[(int) Math.floorMod(warehouseId, (long) partitions.length)];
+    }
+
+    @FunctionalInterface
+    public interface TotalsHandler {
+
+        void totals(long beerId, long quantity, long max, int warehouses);
+    }
+
+    /**
+     * The statements of one partition, formatted once.
+     */
+    private static class Partition {
+
+        private final int stripe;
+        private final String create;
+        private final String createBeerIndex;
+        private final String insert;
+        private final String selectOne;
+        private final String selectAll;
+        private final String increment;
+        private final String decrement;
+        private final String lockForDelete;
+        private final String delete;
+        private final String purgeOrphans;
+        private final String fillTotals;
+
+        private Partition(String table, int stripe) {
+            this.stripe = stripe;
+            this.create = String.format(CREATE_PARTITION, table);
+            this.createBeerIndex = String.format(CREATE_BEER_INDEX, table);
+            this.insert = String.format(INSERT, table);
+            this.selectOne = String.format(SELECT_ONE, table);
+            this.selectAll = String.format(SELECT_ALL, table);
+            this.increment = String.format(INCREMENT_IF_WITHIN_MAX, table);
+            this.decrement = String.format(DECREMENT_IF_AVAILABLE, table);
+            this.lockForDelete = String.format(LOCK_FOR_DELETE, table);
+            this.delete = String.format(DELETE, table);
+            this.purgeOrphans = String.format(PURGE_ORPHANS, table);
+            this.fillTotals = String.format(FILL_TOTALS, stripe, table);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package one.digitalinnovation.beerstock.search;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over the name and brand of every beer. Each beer is indexed under its whole name, its
+ * whole brand and every word of both, lower-cased and without accents, so "ipa" finds "Colorado Indica
+ * IPA" and "brahma ch" finds "Brahma Chopp". The terms are the keys of a sorted map, so the matches of a
+ * prefix are one contiguous range: a lookup is a seek plus a walk over at most a few entries per result,
+ * whatever the size of the catalog. Results come in the order of the matching term.
+ *
+ * <p>A key is the term followed by the beer id, so beers sharing a word each have their own entry.
+ */
+public class BeerPrefixIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char RANGE_END = '\uffff';
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ConcurrentSkipListMap<String, BeerSuggestionDTO> entries = new ConcurrentSkipListMap<>();
+
+    public void add(BeerSuggestionDTO beer) {
+        for (String term : terms(beer.getName(), beer.getBrand())) {
+            entries.put(key(term, beer.getId()), beer);
+        }
+    }
+
+    public void remove(long id, String name, String brand) {
+        for (String term : terms(name, brand)) {
+            entries.remove(key(term, id));
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Up to {@code limit} distinct beers with a name, brand or word starting with {@code query}.
+     */
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query).trim();
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, BeerSuggestionDTO> found = new LinkedHashMap<>();
+        for (BeerSuggestionDTO beer : entries.subMap(prefix, prefix + RANGE_END).values()) {
+            found.putIfAbsent(beer.getId(), beer);
+            if (found.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    public int terms() {
+        return entries.size();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> terms(String name, String brand) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : new String[]{name, brand}) {
+            String normalized = normalize(field).trim();
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            terms.add(normalized);
+            for (String word : WORD_SEPARATORS.split(normalized)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static String key(String term, long id) {
+        return term + SEPARATOR + id;
+    }
+}
@@ -1,11 +1,23 @@
 package one.digitalinnovation.beerstock.service;
 
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import one.digitalinnovation.beerstock.cache.BeerReadCache;
+import one.digitalinnovation.beerstock.cache.CacheInvalidationBus;
+import one.digitalinnovation.beerstock.cache.WarmCatalog;
+import one.digitalinnovation.beerstock.config.DataSourceRoutingContext.PrimaryPin;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
@@ -13,40 +25,200 @@ import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
 import one.digitalinnovation.beerstock.mapper.BeerMapper;
 import one.digitalinnovation.beerstock.repository.BeerRepository;
 
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class BeerService {
 
+    private static final String ALL_BEERS = "all";
+
     private final BeerRepository beerRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final StockHolds stockHolds;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerReadCache beerReadCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final WarmCatalog warmCatalog;
+    private final StockTableService stockTableService;
+    private final SoftDeleteService softDeleteService;
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final SingleFlight<String, Optional<BeerDTO>> findByNameFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<BeerDTO>> listAllFlights = new SingleFlight<>();
+
+    public BeerService(BeerRepository beerRepository,
+                       ReadYourWritesTracker readYourWritesTracker,
+                       StockHolds stockHolds,
+                       PlatformTransactionManager transactionManager,
+                       ApplicationEventPublisher eventPublisher,
+                       BeerReadCache beerReadCache,
+                       CacheInvalidationBus cacheInvalidationBus,
+                       WarmCatalog warmCatalog,
+                       StockTableService stockTableService,
+                       SoftDeleteService softDeleteService) {
+        this.beerRepository = beerRepository;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.stockHolds = stockHolds;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.beerReadCache = beerReadCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.warmCatalog = warmCatalog;
+        this.stockTableService = stockTableService;
+        this.softDeleteService = softDeleteService;
+    }
 
+    @PostConstruct
+    void subscribeToRemoteInvalidations() {
+        cacheInvalidationBus.subscribe(name -> {
+            readYourWritesTracker.markWritten(name);
+            evictLocally(name);
+        });
+    }
+
+    @Transactional
     public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
         verifyIfIsAlreadyRegistered(beerDTO.getName());
+        softDeleteService.reclaimNames(List.of(beerDTO.getName()));
         Beer beer = beerMapper.toModel(beerDTO);
         Beer savedBeer = beerRepository.save(beer);
+        publish(BeerStockEvent.Type.CREATED, savedBeer, savedBeer.getQuantity());
         return beerMapper.toDTO(savedBeer);
     }
 
+    @Transactional
+    public List<BeerDTO> createBeers(List<BeerDTO> beerDTOs) throws BeerAlreadyRegisteredException {
+        verifyIfAnyIsAlreadyRegistered(beerDTOs);
+        softDeleteService.reclaimNames(beerDTOs.stream().map(BeerDTO::getName).collect(Collectors.toList()));
+        List<Beer> beers = beerDTOs.stream()
+                .map(beerMapper::toModel)
+                .peek(beer -> beer.setId(null))
+                .collect(Collectors.toList());
+        List<Beer> savedBeers = beerRepository.saveAll(beers);
+        savedBeers.forEach(savedBeer -> publish(BeerStockEvent.Type.CREATED, savedBeer, savedBeer.getQuantity()));
+        return savedBeers.stream()
+                .map(beerMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Served from the node's {@link BeerReadCache} when possible, or right after a restart from the
+     * {@link WarmCatalog} left by the previous run. Concurrent misses for the same name share one query;
+     * the read-only transaction is opened by the caller that runs it, so the others wait without holding
+     * a connection. Each caller gets its own copy of the shared result.
+     */
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        Beer foundBeer = beerRepository.findByName(name)
-                .orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(foundBeer);
+        Optional<BeerDTO> cachedBeer = beerReadCache.get(name);
+        if (cachedBeer.isPresent()) {
+            return cachedBeer.get();
+        }
+        Optional<BeerDTO> warmBeer = warmCatalog.get(name);
+        if (warmBeer.isPresent()) {
+            return warmBeer.get();
+        }
+        return findByNameFlights.execute(name, () -> {
+            long stamp = beerReadCache.stamp(name);
+            Optional<BeerDTO> foundBeer = readOnlyTransaction.execute(status -> {
+                try (PrimaryPin ignored = readYourWritesTracker.pinIfRecentlyWritten(name)) {
+                    return beerRepository.findByName(name).map(beerMapper::toDTO);
+                }
+            });
+            foundBeer.ifPresent(beerDTO -> beerReadCache.putIfCurrent(name, beerDTO, stamp));
+            return foundBeer;
+        }).map(beerMapper::copy).orElseThrow(() -> new BeerNotFoundException(name));
     }
 
+    /**
+     * Served from the {@link StockTableService} table when the beer is in it, from the database otherwise.
+     */
+    public StockDTO findStockById(Long id) throws BeerNotFoundException {
+        Optional<StockDTO> stock = stockTableService.find(id);
+        if (stock.isPresent()) {
+            return stock.get();
+        }
+        return readOnlyTransaction.execute(status -> beerRepository.findById(id))
+                .map(beer -> new StockDTO(beer.getId(), beer.getQuantity(), beer.getMax()))
+                .orElseThrow(() -> new BeerNotFoundException(id));
+    }
+
+    /**
+     * Concurrent calls share one query, and each caller gets its own copies of the beers it returned. The
+     * list is read from the replica when there is one, even right after a write, so it may lag behind by
+     * the replication delay (see {@link ReadYourWritesTracker}).
+     */
     public List<BeerDTO> listAll() {
-        return beerRepository.findAll()
-                .stream()
-                .map(beerMapper::toDTO)
+        List<BeerDTO> beers = listAllFlights.execute(ALL_BEERS, () -> readOnlyTransaction.execute(status ->
+                beerRepository.findAll()
+                        .stream()
+                        .map(beerMapper::toDTO)
+                        .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))));
+        return beers.stream()
+                .map(beerMapper::copy)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Once a write commits, drops what this node may still serve for the beer, cached or in flight, and
+     * tells the other nodes to do the same.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerStockEvent(BeerStockEvent event) {
+        evictLocally(event.getName());
+        cacheInvalidationBus.publish(event.getName());
+    }
+
+    private void evictLocally(String name) {
+        beerReadCache.evict(name);
+        warmCatalog.evict(name);
+        findByNameFlights.forget(name);
+        listAllFlights.forget(ALL_BEERS);
+    }
+
+    private void publish(BeerStockEvent.Type type, Beer beer, int quantityDelta) {
+        eventPublisher.publishEvent(BeerStockEvent.of(type, beer, quantityDelta));
+    }
+
+    /**
+     * One select that locks and reads the beer for the event and one statement that deletes it; soft when
+     * {@link SoftDeleteService#isEnabled()}.
+     */
+    @Transactional
     public void deleteById(Long id) throws BeerNotFoundException {
-        verifyIfExists(id);
-        beerRepository.deleteById(id);
+        List<Beer> deletedBeers = beerRepository.deleteAllByIdReturning(List.of(id), softDeleteService.isEnabled());
+        if (deletedBeers.isEmpty()) {
+            throw new BeerNotFoundException(id);
+        }
+        publishDeleted(deletedBeers);
+    }
+
+    /**
+     * Deletes every beer selected by id, or by brand and type, with one set-based statement. Ids of beers
+     * that do not exist are skipped.
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteAll(BulkDeleteDTO bulkDeleteDTO) {
+        boolean soft = softDeleteService.isEnabled();
+        List<Beer> deletedBeers;
+        if (bulkDeleteDTO.getIds() != null && !bulkDeleteDTO.getIds().isEmpty()) {
+            deletedBeers = beerRepository.deleteAllByIdReturning(bulkDeleteDTO.getIds(), soft);
+        } else if (bulkDeleteDTO.getBrand() != null || bulkDeleteDTO.getType() != null) {
+            deletedBeers = beerRepository.deleteAllByBrandAndTypeReturning(bulkDeleteDTO.getBrand(), bulkDeleteDTO.getType(), soft);
+        } else {
+            throw new IllegalArgumentException("Bulk delete needs ids or a brand and/or type");
+        }
+        publishDeleted(deletedBeers);
+        return new BulkDeleteResultDTO(deletedBeers.size(), soft);
+    }
+
+    private void publishDeleted(List<Beer> deletedBeers) {
+        deletedBeers.forEach(deletedBeer -> publish(BeerStockEvent.Type.DELETED, deletedBeer, -deletedBeer.getQuantity()));
     }
 
     private void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
@@ -56,30 +228,89 @@ public class BeerService {
         }
     }
 
+    private void verifyIfAnyIsAlreadyRegistered(List<BeerDTO> beerDTOs) throws BeerAlreadyRegisteredException {
+        Set<String> names = new HashSet<>();
+        for (BeerDTO beerDTO : beerDTOs) {
+            if (!names.add(beerDTO.getName())) {
+                throw new BeerAlreadyRegisteredException(beerDTO.getName());
+            }
+        }
+        List<Beer> savedBeers = beerRepository.findByNameIn(names);
+        if (!savedBeers.isEmpty()) {
+            throw new BeerAlreadyRegisteredException(savedBeers.get(0).getName());
+        }
+    }
+
     private Beer verifyIfExists(Long id) throws BeerNotFoundException {
         return beerRepository.findById(id)
                 .orElseThrow(() -> new BeerNotFoundException(id));
     }
 
+    /**
+     * One conditional update that only applies while the result stays within max, with the row read back
+     * under the lock it took. Loading the beer and saving it instead would write back a quantity computed
+     * from a read that a concurrent change may already have outdated.
+     */
+    @Transactional
     public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
-        Beer beerToIncrementStock = verifyIfExists(id);
-        int quantityAfterIncrement = quantityToIncrement + beerToIncrementStock.getQuantity();
-        if (quantityAfterIncrement <= beerToIncrementStock.getMax()) {
-            beerToIncrementStock.setQuantity(quantityAfterIncrement);
-            Beer incrementedBeerStock = beerRepository.save(beerToIncrementStock);
-            return beerMapper.toDTO(incrementedBeerStock);
-        }
-        throw new BeerStockExceededException(id, beerToIncrementStock.getMax());
+        return beerMapper.toDTO(incrementIfWithinMax(id, quantityToIncrement));
     }
 
+    /**
+     * Like {@link #increment}, one conditional update, which only applies while the quantity left covers
+     * the reserved one. The row is locked before the holds are read, as {@link StockReservationService#reserve}
+     * does before adding one, so a hold cannot be placed between the read and the update.
+     */
+    @Transactional
     public BeerDTO decrement(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThanZeroException {
-        Beer beerToDecrementStock = verifyIfExists(id);
-        int quantityAfterDecrement = beerToDecrementStock.getQuantity() - quantityToDecrement;
-        if (quantityAfterDecrement >= 0) {
-            beerToDecrementStock.setQuantity(quantityAfterDecrement);
-            Beer incrementedBeerStock = beerRepository.save(beerToDecrementStock);
-            return beerMapper.toDTO(incrementedBeerStock);
+        return beerMapper.toDTO(decrementIfAvailable(id, quantityToDecrement, 0));
+    }
+
+    /**
+     * Like {@link #decrement}, for stock a reservation holds: the quantity of the hold does not count
+     * against the decrement, while every other hold still does.
+     */
+    @Transactional
+    public BeerDTO decrementHeld(Long id, int heldQuantity) throws BeerNotFoundException, BeerStockLessThanZeroException {
+        return beerMapper.toDTO(decrementIfAvailable(id, heldQuantity, heldQuantity));
+    }
+
+    /**
+     * Lean variant of {@link #increment} that builds no DTO. Returns the quantity after the increment.
+     */
+    @Transactional
+    public int incrementInPlace(long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
+        return incrementIfWithinMax(id, quantityToIncrement).getQuantity();
+    }
+
+    /**
+     * Lean variant of {@link #decrement}. Returns the quantity after the decrement.
+     */
+    @Transactional
+    public int decrementInPlace(long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThanZeroException {
+        return decrementIfAvailable(id, quantityToDecrement, 0).getQuantity();
+    }
+
+    private Beer incrementIfWithinMax(long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
+        Optional<Beer> incrementedBeer = beerRepository.incrementIfWithinMax(id, quantityToIncrement);
+        if (incrementedBeer.isEmpty()) {
+            throw new BeerStockExceededException(id, verifyIfExists(id).getMax());
+        }
+        publish(BeerStockEvent.Type.STOCK_CHANGED, incrementedBeer.get(), quantityToIncrement);
+        return incrementedBeer.get();
+    }
+
+    private Beer decrementIfAvailable(long id, int quantityToDecrement, int ownHeldQuantity)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        if (!beerRepository.lockIfExists(id)) {
+            throw new BeerNotFoundException(id);
+        }
+        int reserved = stockHolds.reservedQuantity(id) - ownHeldQuantity;
+        Optional<Beer> decrementedBeer = beerRepository.decrementIfAvailable(id, quantityToDecrement, reserved);
+        if (decrementedBeer.isEmpty()) {
+            throw new BeerStockLessThanZeroException(id);
         }
-        throw new BeerStockLessThanZeroException(id);
+        publish(BeerStockEvent.Type.STOCK_CHANGED, decrementedBeer.get(), -quantityToDecrement);
+        return decrementedBeer.get();
     }
 }
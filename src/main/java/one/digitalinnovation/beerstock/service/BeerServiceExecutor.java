@@ -0,0 +1,182 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import one.digitalinnovation.beerstock.exception.ServiceUnavailableException;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.QueryCounter;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link BeerService} calls for the async controller on a fixed pool with a bounded queue, so a slow
+ * database holds a known number of threads and requests instead of every servlet thread.
+ *
+ * <p>A call is refused with {@link ServiceUnavailableException} when the queue is full, and its future
+ * fails with the same exception when it is still queued once the timeout elapses; it is then taken off
+ * the queue and never runs. The timeout does not apply to a call that already started: a mutation would
+ * commit after the 503, and a client retrying it would apply it twice, so the call runs to the end and
+ * its future completes with its own result.
+ *
+ * <p>A read still running at the request timeout, a backstop well above any healthy call, for example
+ * one blocked on a row lock, has its future failed with the same exception, so the request is answered;
+ * the worker thread stays with the call until it returns, as interrupting it could close the database
+ * files under it. Both deadlines go through the same claim, so a call that has not started by then never
+ * does. Writes submitted with {@link #submitWrite} are exempt from the backstop once started, for the
+ * same reason as above: they are answered with their own result, however late, and are bounded by the
+ * database lock timeout instead.
+ *
+ * <p>The SQL statement counts of the submitting request follow the call onto the worker thread.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.async.enabled", havingValue = "true")
+public class BeerServiceExecutor {
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final Duration timeout;
+    private final Duration requestTimeout;
+    private final Counter rejectedCalls;
+    private final Counter timedOutCalls;
+    private final Counter abandonedCalls;
+    private final Timer queueWait;
+
+    public BeerServiceExecutor(MeterRegistry meterRegistry,
+                               @Value("${beerstock.async.pool-size:8}") int poolSize,
+                               @Value("${beerstock.async.queue-capacity:100}") int queueCapacity,
+                               @Value("${beerstock.async.timeout:5s}") Duration timeout,
+                               @Value("${beerstock.async.request-timeout:30s}") Duration requestTimeout) {
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "beer-service-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "beer-service-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        this.timeout = timeout;
+        this.requestTimeout = requestTimeout;
+        new ExecutorServiceMetrics(workers, "beer-service", Tags.empty()).bindTo(meterRegistry);
+        this.rejectedCalls = meterRegistry.counter("beerstock.async.rejected");
+        this.timedOutCalls = meterRegistry.counter("beerstock.async.timed-out");
+        this.abandonedCalls = meterRegistry.counter("beerstock.async.abandoned");
+        this.queueWait = meterRegistry.timer("beerstock.async.queue.wait");
+    }
+
+    public <T> CompletableFuture<T> submit(ServiceCall<T> call) throws ServiceUnavailableException {
+        return submit(call, true);
+    }
+
+    /**
+     * Same as {@link #submit}, for a call that changes data: once it started, its future completes only
+     * when the call returns, never with a 503 it could still commit after.
+     */
+    public <T> CompletableFuture<T> submitWrite(ServiceCall<T> call) throws ServiceUnavailableException {
+        return submit(call, false);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        timeouts.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> CompletableFuture<T> submit(ServiceCall<T> call, boolean abandonWhenLate) throws ServiceUnavailableException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        List<QueryCount> queryCounts = QueryCounter.active();
+        AtomicBoolean claimed = new AtomicBoolean();
+        AtomicBoolean answered = new AtomicBoolean();
+        Runnable task = () -> {
+            if (claimed.compareAndSet(false, true)) {
+                run(call, result, answered, queuedAt, queryCounts);
+            }
+        };
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCalls.increment();
+            throw new ServiceUnavailableException("too many pending requests");
+        }
+        // whoever claims the call first wins: the worker runs it, or the time-out dequeues it and fails it,
+        // counted before completing so the caller already sees the time-out in the metrics
+        ScheduledFuture<?> expiry = timeouts.schedule(() -> expireIfQueued(task, claimed, result), timeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (!abandonWhenLate) {
+            result.whenComplete((value, failure) -> expiry.cancel(false));
+            return result;
+        }
+        // past the request timeout a read is answered either way; if the worker claimed the call, it keeps
+        // running and whatever it returns is dropped. The worker and the backstop race for the answer the
+        // same way, so the abandoned call is counted before its future fails
+        ScheduledFuture<?> backstop = timeouts.schedule(() -> {
+            if (!expireIfQueued(task, claimed, result) && answered.compareAndSet(false, true)) {
+                abandonedCalls.increment();
+                result.completeExceptionally(new ServiceUnavailableException("request did not finish in time"));
+            }
+        }, requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, failure) -> {
+            expiry.cancel(false);
+            backstop.cancel(false);
+        });
+        return result;
+    }
+
+    private boolean expireIfQueued(Runnable task, AtomicBoolean claimed, CompletableFuture<?> result) {
+        if (!claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        workers.remove(task);
+        timedOutCalls.increment();
+        result.completeExceptionally(new ServiceUnavailableException("request timed out"));
+        return true;
+    }
+
+    private <T> void run(ServiceCall<T> call, CompletableFuture<T> result, AtomicBoolean answered,
+                         long queuedAt, List<QueryCount> queryCounts) {
+
+        queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+        QueryCounter.resume(queryCounts);
+        try {
+            T value = call.call();
+            if (answered.compareAndSet(false, true)) {
+                result.complete(value);
+            }
+        } catch (Exception e) {
+            if (answered.compareAndSet(false, true)) {
+                result.completeExceptionally(e);
+            }
+        } finally {
+            QueryCounter.suspend(queryCounts);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+
+        T call() throws Exception;
+    }
+}
@@ -0,0 +1,133 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.search.BeerPrefixIndex;
+
+import javax.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Suggests beers as the user types, from a {@link BeerPrefixIndex} held in memory. The index is rebuilt
+ * from the primary in id pages when the bean starts and afterwards follows the beers created and deleted
+ * by committed {@link BeerStockEvent}s; stock changes do not touch it. Like {@link StockTableService}, it
+ * only sees this node's writes, so it is off by default and only fits a single node owning the database;
+ * turn it on there with {@code beerstock.suggest.enabled=true}.
+ *
+ * <p>While the index is off, suggestions are read from the database by prefix of the whole name or brand,
+ * without the word and accent matching of the index. Each prefix is a range scan on the lower-cased keys
+ * of {@link Beer}, one query for names and one for brands.
+ */
+@Service
+@Lazy(false)
+public class BeerSuggestService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final BeerPrefixIndex index = new BeerPrefixIndex();
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxLimit;
+
+    public BeerSuggestService(BeerRepository beerRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${beerstock.suggest.enabled:false}") boolean enabled,
+                              @Value("${beerstock.suggest.page-size:1000}") int pageSize,
+                              @Value("${beerstock.suggest.max-limit:50}") int maxLimit) {
+        this.beerRepository = beerRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxLimit = maxLimit;
+        if (enabled) {
+            Gauge.builder("beerstock.suggest.terms", index, BeerPrefixIndex::terms)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        index.clear();
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Beer> page = primaryTransaction.execute(status ->
+                    beerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize)));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            for (Beer beer : page) {
+                index.add(new BeerSuggestionDTO(beer.getId(), beer.getName(), beer.getBrand(), beer.getType()));
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerStockEvent(BeerStockEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED:
+                index.add(new BeerSuggestionDTO(event.getBeerId(), event.getName(), event.getBrand(), event.getBeerType()));
+                break;
+            case DELETED:
+                index.remove(event.getBeerId(), event.getName(), event.getBrand());
+                break;
+            default:
+        }
+    }
+
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        int cappedLimit = Math.min(limit, maxLimit);
+        if (enabled) {
+            return index.suggest(query, cappedLimit);
+        }
+        String prefix = query.trim().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty() || cappedLimit <= 0) {
+            return List.of();
+        }
+        // one query per indexed key, as an OR across both would scan the table; merged by name
+        PageRequest firstPage = PageRequest.of(0, cappedLimit);
+        return readOnlyTransaction.execute(status -> Stream.concat(
+                        beerRepository.findByNameKeyStartingWithOrderByNameKeyAsc(prefix, firstPage).stream(),
+                        beerRepository.findByBrandKeyStartingWithOrderByNameKeyAsc(prefix, firstPage).stream())
+                .filter(distinctIds())
+                .sorted(Comparator.comparing(beer -> beer.getName().toLowerCase(Locale.ROOT)))
+                .limit(cappedLimit)
+                .map(beer -> new BeerSuggestionDTO(beer.getId(), beer.getName(), beer.getBrand(), beer.getType()))
+                .collect(Collectors.toList()));
+    }
+
+    private static Predicate<Beer> distinctIds() {
+        Set<Long> seen = new HashSet<>();
+        return beer -> seen.add(beer.getId());
+    }
+}
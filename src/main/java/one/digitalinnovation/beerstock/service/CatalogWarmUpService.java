@@ -0,0 +1,134 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.cache.BeerReadCache;
+import one.digitalinnovation.beerstock.cache.WarmCatalog;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.QueryCounter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link WarmCatalog} file up to date with the node's hot beers and, after a restart, moves the
+ * beers served from it over to the {@link BeerReadCache}.
+ *
+ * <p>The file is rewritten periodically and on shutdown, except while the previous one is still being
+ * served. Revalidation runs in the background once the application is ready: the names in the file are
+ * read back in pages with one {@code IN} query each, the current rows go to the read cache and the page is
+ * then evicted from the catalog, so restarting costs a query per page instead of one per name.
+ */
+@Slf4j
+@Service
+public class CatalogWarmUpService {
+
+    private final WarmCatalog warmCatalog;
+    private final BeerReadCache beerReadCache;
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final Timer revalidationTimer;
+    private final int pageSize;
+
+    public CatalogWarmUpService(WarmCatalog warmCatalog,
+                                BeerReadCache beerReadCache,
+                                BeerRepository beerRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${beerstock.cache.warm.page-size:500}") int pageSize) {
+        this.warmCatalog = warmCatalog;
+        this.beerReadCache = beerReadCache;
+        this.beerRepository = beerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.revalidationTimer = meterRegistry.timer("beerstock.cache.warm.revalidation");
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.cache.warm.interval:PT1M}", initialDelayString = "${beerstock.cache.warm.interval:PT1M}")
+    public void writeScheduledCatalog() {
+        writeCatalog();
+    }
+
+    @PreDestroy
+    public void writeCatalogOnShutdown() {
+        writeCatalog();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void revalidateInBackground() {
+        if (!warmCatalog.isServing()) {
+            return;
+        }
+        Thread thread = new Thread(this::revalidate, "warm-catalog-revalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Replaces the catalog entries with the current rows and stops serving the file. Returns how many of
+     * its beers still exist.
+     */
+    public synchronized int revalidate() {
+        List<String> names = warmCatalog.names();
+        long start = System.nanoTime();
+        QueryCount count = QueryCounter.start();
+        int found = 0;
+        try {
+            for (int from = 0; from < names.size(); from += pageSize) {
+                found += revalidatePage(names.subList(from, Math.min(from + pageSize, names.size())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm catalog revalidation failed, falling back to the database", e);
+        } finally {
+            QueryCounter.stop(count);
+            warmCatalog.close();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        revalidationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Warm catalog revalidated in {} ms: {} of {} beers still current, {} statements",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), found, names.size(), count.total());
+        return found;
+    }
+
+    private int revalidatePage(List<String> names) {
+        Map<String, Long> stamps = new HashMap<>();
+        for (String name : names) {
+            stamps.put(name, beerReadCache.stamp(name));
+        }
+        List<Beer> beers = readOnlyTransaction.execute(status -> beerRepository.findByNameIn(names));
+        for (Beer beer : beers) {
+            beerReadCache.putIfCurrent(beer.getName(), beerMapper.toDTO(beer), stamps.get(beer.getName()));
+        }
+        names.forEach(warmCatalog::evict);
+        return beers.size();
+    }
+
+    private void writeCatalog() {
+        if (!warmCatalog.isEnabled() || warmCatalog.isServing()) {
+            return;
+        }
+        try {
+            warmCatalog.write(beerReadCache.hotEntries());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm catalog could not be written", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package one.digitalinnovation.beerstock.service;
+
+/**
+ * The beer ids a reconciliation has counted, in an open-addressing hash set of primitive longs with
+ * linear probing. Memory follows the number of ids counted, not the largest id, and any positive long
+ * fits. The table doubles once it is half full. Access is synchronized, as chunks are reconciled in
+ * parallel. Ids must be positive.
+ */
+final class CountedIds {
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private long[] slots = new long[INITIAL_SLOTS];
+    private int size;
+
+    /**
+     * Adds the id and returns {@code false} if it was already counted.
+     */
+    synchronized boolean add(long id) {
+        int slot = slot(slots, id);
+        if (slots[slot] == id) {
+            return false;
+        }
+        slots[slot] = id;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    synchronized boolean contains(long id) {
+        return slots[slot(slots, id)] == id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] grown = new long[slots.length * 2];
+        for (long id : slots) {
+            if (id != 0) {
+                grown[slot(grown, id)] = id;
+            }
+        }
+        slots = grown;
+    }
+
+    /**
+     * The slot holding the id, or the empty slot where it belongs.
+     */
+    private static int slot(long[] slots, long id) {
+        int mask = slots.length - 1;
+        int slot = mix(id) & mask;
+        while (slots[slot] != 0 && slots[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads sequential ids over the table, as the low bits of consecutive ids would otherwise fill
+     * neighbouring slots.
+     */
+    private static int mix(long id) {
+        long hash = id * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
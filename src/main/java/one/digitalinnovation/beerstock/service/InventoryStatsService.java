@@ -0,0 +1,154 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.StockTotalsDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockTotals;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock totals by beer type and brand. With {@code beerstock.stats.enabled=true} they are kept up to date
+ * from committed {@link BeerStockEvent}s instead of being aggregated on every request; type totals live in
+ * arrays indexed by {@link BeerType#ordinal()}. The counters are rebuilt from the database when the bean
+ * starts (never lazily, so no write can commit between the rebuild and the first event) and afterwards
+ * only see this node's writes. Like {@link StockTableService}, they are therefore off by default and only
+ * fit a single node owning the database.
+ *
+ * <p>While the counters are off, every request aggregates the totals in the database with one
+ * {@code group by} query.
+ */
+@Service
+@Lazy(false)
+public class InventoryStatsService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Counters counters = new Counters();
+
+    public InventoryStatsService(BeerRepository beerRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${beerstock.stats.enabled:false}") boolean enabled) {
+        this.beerRepository = beerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        counters.clear();
+        for (StockTotals totals : beerRepository.sumStockByTypeAndBrand()) {
+            counters.add(totals.getType(), totals.getBrand(), totals.getBeers(), totals.getUnits(), totals.getCapacity());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerStockEvent(BeerStockEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long units = event.getQuantityDelta();
+        switch (event.getType()) {
+            case CREATED:
+                add(event.getBeerType(), event.getBrand(), 1, units, event.getMax());
+                break;
+            case DELETED:
+                add(event.getBeerType(), event.getBrand(), -1, units, -event.getMax());
+                break;
+            default:
+                add(event.getBeerType(), event.getBrand(), 0, units, 0);
+        }
+    }
+
+    public InventoryStatsDTO getStats() {
+        if (enabled) {
+            synchronized (this) {
+                return counters.toDTO();
+            }
+        }
+        Counters fromDatabase = new Counters();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (StockTotals totals : beerRepository.sumStockByTypeAndBrand()) {
+                fromDatabase.add(totals.getType(), totals.getBrand(), totals.getBeers(), totals.getUnits(), totals.getCapacity());
+            }
+        });
+        return fromDatabase.toDTO();
+    }
+
+    private synchronized void add(BeerType type, String brand, long beers, long units, long capacity) {
+        counters.add(type, brand, beers, units, capacity);
+    }
+
+    private static final class Counters {
+
+        private static final int BEERS = 0;
+        private static final int UNITS = 1;
+        private static final int CAPACITY = 2;
+
+        private final long[] beersByType = new long[BeerType.values().length];
+        private final long[] unitsByType = new long[BeerType.values().length];
+        private final long[] capacityByType = new long[BeerType.values().length];
+        private final Map<String, long[]> totalsByBrand = new HashMap<>();
+
+        private void clear() {
+            Arrays.fill(beersByType, 0);
+            Arrays.fill(unitsByType, 0);
+            Arrays.fill(capacityByType, 0);
+            totalsByBrand.clear();
+        }
+
+        private void add(BeerType type, String brand, long beers, long units, long capacity) {
+            int i = type.ordinal();
+            beersByType[i] += beers;
+            unitsByType[i] += units;
+            capacityByType[i] += capacity;
+            long[] brandTotals = totalsByBrand.computeIfAbsent(brand, b -> new long[3]);
+            brandTotals[BEERS] += beers;
+            brandTotals[UNITS] += units;
+            brandTotals[CAPACITY] += capacity;
+            if (brandTotals[BEERS] == 0) {
+                totalsByBrand.remove(brand);
+            }
+        }
+
+        private InventoryStatsDTO toDTO() {
+            Map<BeerType, StockTotalsDTO> byType = new EnumMap<>(BeerType.class);
+            long beers = 0;
+            long units = 0;
+            long capacity = 0;
+            for (BeerType type : BeerType.values()) {
+                int i = type.ordinal();
+                byType.put(type, StockTotalsDTO.of(beersByType[i], unitsByType[i], capacityByType[i]));
+                beers += beersByType[i];
+                units += unitsByType[i];
+                capacity += capacityByType[i];
+            }
+            Map<String, StockTotalsDTO> byBrand = new TreeMap<>();
+            totalsByBrand.forEach((brand, totals) ->
+                    byBrand.put(brand, StockTotalsDTO.of(totals[BEERS], totals[UNITS], totals[CAPACITY])));
+            return InventoryStatsDTO.builder()
+                    .total(StockTotalsDTO.of(beers, units, capacity))
+                    .byType(byType)
+                    .byBrand(byBrand)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderItemDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Decrements every beer of an order in a single transaction. Rows are always locked in ascending id
+ * order, whatever the order of the lines, so two overlapping orders wait for each other instead of
+ * deadlocking.
+ *
+ * <p>Every line is checked under the locks before anything is written, so a rejected order has written
+ * nothing: its checked exception commits the empty transaction, which only gives the locks up. Rolling
+ * back a transaction that holds row locks is avoided, as H2 can then restore a row as it was when locked
+ * and lose a decrement committed meanwhile.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private final BeerRepository beerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockHolds stockHolds;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @Transactional
+    public List<BeerDTO> placeOrder(List<OrderItemDTO> items) throws BeerNotFoundException, BeerStockLessThanZeroException {
+        SortedMap<Long, Integer> quantityById = mergeByBeerId(items);
+        List<Beer> lockedBeers = beerRepository.findAllByIdForUpdate(quantityById.keySet());
+        verifyIfAllExist(quantityById, lockedBeers);
+
+        Map<Long, Integer> reservedById = new HashMap<>();
+        for (Beer beer : lockedBeers) {
+            int reserved = stockHolds.reservedQuantity(beer.getId());
+            if (beer.getQuantity() - quantityById.get(beer.getId()) - reserved < 0) {
+                throw new BeerStockLessThanZeroException(beer.getId());
+            }
+            reservedById.put(beer.getId(), reserved);
+        }
+
+        int[] updateCounts = beerRepository.decrementAllIfAvailable(quantityById, reservedById);
+        Iterator<Long> ids = quantityById.keySet().iterator();
+        for (int updateCount : updateCounts) {
+            Long id = ids.next();
+            if (updateCount == 0) {
+                throw new IllegalStateException("Stock of locked beer " + id + " changed before its decrement");
+            }
+        }
+
+        List<BeerDTO> decrementedBeers = new ArrayList<>(lockedBeers.size());
+        for (Beer beer : lockedBeers) {
+            int quantityToDecrement = quantityById.get(beer.getId());
+            BeerDTO beerDTO = beerMapper.toDTO(beer);
+            beerDTO.setQuantity(beer.getQuantity() - quantityToDecrement);
+            decrementedBeers.add(beerDTO);
+            eventPublisher.publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, beerDTO, -quantityToDecrement));
+        }
+        return decrementedBeers;
+    }
+
+    private SortedMap<Long, Integer> mergeByBeerId(List<OrderItemDTO> items) {
+        SortedMap<Long, Integer> quantityById = new TreeMap<>();
+        for (OrderItemDTO item : items) {
+            quantityById.merge(item.getBeerId(), item.getQuantity(), Integer::sum);
+        }
+        return quantityById;
+    }
+
+    private void verifyIfAllExist(SortedMap<Long, Integer> quantityById, List<Beer> lockedBeers) throws BeerNotFoundException {
+        if (lockedBeers.size() == quantityById.size()) {
+            return;
+        }
+        Iterator<Beer> found = lockedBeers.iterator();
+        Beer next = found.hasNext() ? found.next() : null;
+        for (Long id : quantityById.keySet()) {
+            if (next == null || !next.getId().equals(id)) {
+                throw new BeerNotFoundException(id);
+            }
+            next = found.hasNext() ? found.next() : null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.config.DataSourceRoutingContext;
+import one.digitalinnovation.beerstock.config.DataSourceRoutingContext.PrimaryPin;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which beers were written recently so reads of them can be pinned to the primary
+ * datasource until the replica had time to catch up. Expired names are dropped when they are read and
+ * by a job every {@code beerstock.datasource.replica.read-your-writes-prune-interval}, never by a write.
+ *
+ * <p>Only reads scoped to a name are pinned. Listing all beers always goes to the replica and may lag
+ * behind recent writes by the replication delay: pinning it after any write would send every list to
+ * the primary under steady write traffic.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteByName = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${beerstock.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @EventListener
+    public void onBeerStockEvent(BeerStockEvent event) {
+        markWritten(event.getName());
+    }
+
+    public void markWritten(String name) {
+        lastWriteByName.put(name, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.datasource.replica.read-your-writes-prune-interval:PT5S}",
+            initialDelayString = "${beerstock.datasource.replica.read-your-writes-prune-interval:PT5S}")
+    public void pruneExpired() {
+        long now = System.nanoTime();
+        lastWriteByName.values().removeIf(writtenAt -> isExpired(writtenAt, now));
+    }
+
+    int size() {
+        return lastWriteByName.size();
+    }
+
+    public PrimaryPin pinIfRecentlyWritten(String name) {
+        Long writtenAt = lastWriteByName.get(name);
+        if (writtenAt == null) {
+            return null;
+        }
+        if (isExpired(writtenAt, System.nanoTime())) {
+            lastWriteByName.remove(name, writtenAt);
+            return null;
+        }
+        return DataSourceRoutingContext.pinPrimary();
+    }
+
+    private boolean isExpired(long writtenAt, long now) {
+        return now - writtenAt > windowNanos;
+    }
+}
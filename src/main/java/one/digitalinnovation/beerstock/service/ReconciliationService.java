@@ -0,0 +1,280 @@
+package one.digitalinnovation.beerstock.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.exception.ReconciliationInProgressException;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.QuantityCorrection;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Brings {@code Beer.quantity} in line with a physical count. The count is a CSV of {@code name,quantity}
+ * lines, read as a stream and cut into chunks that are diffed against the database in parallel, each in
+ * its own transaction. Only a bounded number of chunks is ever held in memory: reading blocks while too
+ * many are in flight, and a finished chunk is dropped rather than kept until the end of the run, so the
+ * file may cover millions of beers. The first chunk that fails stops the reading and is rethrown once the
+ * chunks already submitted are done.
+ *
+ * <p>A first line without a numeric quantity is taken as a header and skipped. Corrections are written
+ * as one JDBC batch per chunk and only apply if the stock has not moved since the chunk read it; a beer
+ * sold in the meantime is reported as a conflict instead of being overwritten. Once the file is consumed,
+ * the catalog is walked by id, page by page, to report the beers the count left out.
+ */
+@Service
+public class ReconciliationService {
+
+    private final BeerRepository beerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReconciliationService(BeerRepository beerRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${beerstock.reconciliation.chunk-size:1000}") int chunkSize,
+                                 @Value("${beerstock.reconciliation.parallelism:4}") int parallelism) {
+        this.beerRepository = beerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public ReconciliationReportDTO reconcile(Reader countFile) throws IOException, ReconciliationInProgressException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException();
+        }
+        try {
+            return doReconcile(countFile);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private ReconciliationReportDTO doReconcile(Reader countFile) throws IOException {
+        long start = System.nanoTime();
+        ReconciliationTally tally = new ReconciliationTally();
+        CountedIds countedIds = new CountedIds();
+        Semaphore chunksInFlight = new Semaphore(parallelism * 2);
+        // finished chunks are only counted, never kept, so their rows can be collected as soon as they are done
+        Phaser chunksPending = new Phaser(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try {
+            BufferedReader reader = new BufferedReader(countFile);
+            List<CountedRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            long lineNumber = 0;
+            while (failure.get() == null && (line = reader.readLine()) != null) {
+                lineNumber++;
+                CountedRow row = parse(line, lineNumber, tally);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, countedIds, tally, chunksInFlight, chunksPending, failure);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (failure.get() == null && !chunk.isEmpty()) {
+                submit(chunk, countedIds, tally, chunksInFlight, chunksPending, failure);
+            }
+        } finally {
+            chunksPending.arriveAndAwaitAdvance();
+        }
+        rethrow(failure.get());
+
+        reportMissing(countedIds, tally);
+        return tally.toReport(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void submit(List<CountedRow> chunk, CountedIds countedIds, ReconciliationTally tally,
+                        Semaphore chunksInFlight, Phaser chunksPending, AtomicReference<Throwable> failure) {
+        chunksInFlight.acquireUninterruptibly();
+        chunksPending.register();
+        try {
+            pool.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> reconcileChunk(chunk, countedIds, tally));
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    chunksInFlight.release();
+                    chunksPending.arriveAndDeregister();
+                }
+            });
+        } catch (RuntimeException e) {
+            chunksInFlight.release();
+            chunksPending.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private void reconcileChunk(List<CountedRow> chunk, CountedIds countedIds, ReconciliationTally tally) {
+        Map<String, Integer> countedByName = new HashMap<>();
+        for (CountedRow row : chunk) {
+            if (countedByName.putIfAbsent(row.name, row.quantity) != null) {
+                tally.duplicate();
+            }
+        }
+
+        List<Beer> beers = beerRepository.findByNameIn(countedByName.keySet());
+        Set<String> foundNames = new HashSet<>();
+        List<QuantityCorrection> corrections = new ArrayList<>();
+        List<Beer> correctedBeers = new ArrayList<>();
+        for (Beer beer : beers) {
+            foundNames.add(beer.getName());
+            if (!countedIds.add(beer.getId())) {
+                tally.duplicate();
+                continue;
+            }
+            tally.matched();
+            int countedQuantity = countedByName.get(beer.getName());
+            if (countedQuantity > beer.getMax()) {
+                tally.invalid(beer.getName() + "," + countedQuantity + " (max " + beer.getMax() + ")");
+            } else if (countedQuantity == beer.getQuantity()) {
+                tally.unchanged();
+            } else {
+                corrections.add(new QuantityCorrection(beer.getId(), beer.getQuantity(), countedQuantity));
+                correctedBeers.add(beer);
+            }
+        }
+        for (String name : countedByName.keySet()) {
+            if (!foundNames.contains(name)) {
+                tally.unknown(name);
+            }
+        }
+        if (corrections.isEmpty()) {
+            return;
+        }
+
+        int[] updateCounts = beerRepository.compareAndSetQuantities(corrections);
+        for (int i = 0; i < updateCounts.length; i++) {
+            Beer beer = correctedBeers.get(i);
+            if (updateCounts[i] == 0) {
+                tally.conflict(beer.getName());
+                continue;
+            }
+            int newQuantity = corrections.get(i).getNewQuantity();
+            int quantityDelta = newQuantity - beer.getQuantity();
+            BeerDTO beerDTO = beerMapper.toDTO(beer);
+            beerDTO.setQuantity(newQuantity);
+            eventPublisher.publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, beerDTO, quantityDelta));
+            tally.corrected(quantityDelta);
+        }
+    }
+
+    private void reportMissing(CountedIds countedIds, ReconciliationTally tally) {
+        long lastId = 0;
+        List<Beer> page;
+        do {
+            long afterId = lastId;
+            page = readOnlyTransactionTemplate.execute(status ->
+                    beerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize)));
+            for (Beer beer : page) {
+                if (!countedIds.contains(beer.getId())) {
+                    tally.missing(beer.getName());
+                }
+                lastId = beer.getId();
+            }
+        } while (page.size() == chunkSize);
+    }
+
+    private CountedRow parse(String line, long lineNumber, ReconciliationTally tally) {
+        if (line.isBlank()) {
+            return null;
+        }
+        int separator = line.lastIndexOf(',');
+        String name = separator > 0 ? unquote(line.substring(0, separator).strip()) : "";
+        String quantity = separator > 0 ? line.substring(separator + 1).strip() : "";
+        Integer counted = parseQuantity(quantity);
+        if (counted == null && lineNumber == 1) {
+            return null;
+        }
+        tally.rowRead();
+        if (counted == null || counted < 0 || name.isEmpty()) {
+            tally.invalid("line " + lineNumber + ": " + line);
+            return null;
+        }
+        return new CountedRow(name, counted);
+    }
+
+    private static Integer parseQuantity(String quantity) {
+        try {
+            return Integer.parseInt(quantity);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String field) {
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            return field.substring(1, field.length() - 1).replace("\"\"", "\"");
+        }
+        return field;
+    }
+
+    private static final class CountedRow {
+
+        private final String name;
+        private final int quantity;
+
+        private CountedRow(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one reconciliation run, updated concurrently by the chunk workers. Only the first few
+ * names of each kind of discrepancy are kept, so the report stays small however big the count file is.
+ */
+class ReconciliationTally {
+
+    static final int SAMPLE_SIZE = 20;
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder corrected = new LongAdder();
+    private final LongAdder netQuantityDelta = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder missingFromCount = new LongAdder();
+
+    private final List<String> unknownNames = new ArrayList<>();
+    private final List<String> missingNames = new ArrayList<>();
+    private final List<String> conflictNames = new ArrayList<>();
+    private final List<String> invalidRows = new ArrayList<>();
+
+    void rowRead() {
+        rowsRead.increment();
+    }
+
+    void matched() {
+        matched.increment();
+    }
+
+    void unchanged() {
+        unchanged.increment();
+    }
+
+    void corrected(int quantityDelta) {
+        corrected.increment();
+        netQuantityDelta.add(quantityDelta);
+    }
+
+    void conflict(String name) {
+        conflicts.increment();
+        sample(conflictNames, name);
+    }
+
+    void unknown(String name) {
+        unknown.increment();
+        sample(unknownNames, name);
+    }
+
+    void duplicate() {
+        duplicates.increment();
+    }
+
+    void invalid(String row) {
+        invalid.increment();
+        sample(invalidRows, row);
+    }
+
+    void missing(String name) {
+        missingFromCount.increment();
+        sample(missingNames, name);
+    }
+
+    ReconciliationReportDTO toReport(long durationMillis) {
+        return ReconciliationReportDTO.builder()
+                .rowsRead(rowsRead.sum())
+                .matched(matched.sum())
+                .unchanged(unchanged.sum())
+                .corrected(corrected.sum())
+                .netQuantityDelta(netQuantityDelta.sum())
+                .conflicts(conflicts.sum())
+                .unknown(unknown.sum())
+                .duplicates(duplicates.sum())
+                .invalid(invalid.sum())
+                .missingFromCount(missingFromCount.sum())
+                .durationMillis(durationMillis)
+                .unknownNames(copy(unknownNames))
+                .missingNames(copy(missingNames))
+                .conflictNames(copy(conflictNames))
+                .invalidRows(copy(invalidRows))
+                .build();
+    }
+
+    private static void sample(List<String> samples, String value) {
+        synchronized (samples) {
+            if (samples.size() < SAMPLE_SIZE) {
+                samples.add(value);
+            }
+        }
+    }
+
+    private static List<String> copy(List<String> samples) {
+        synchronized (samples) {
+            return List.copyOf(samples);
+        }
+    }
+}
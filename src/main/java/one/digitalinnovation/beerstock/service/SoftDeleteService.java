@@ -0,0 +1,101 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Decides whether deletes are soft and removes soft-deleted rows in the background.
+ *
+ * <p>With {@code beerstock.delete.soft=true} a delete only flags the rows, which is one quick update
+ * however many beers it hits. The purge job then removes flagged rows in batches of
+ * {@code beerstock.delete.purge.batch-size}, each in its own short transaction with a pause in between,
+ * so a large deletion never holds many row locks at once. The job keeps running when soft deletes are
+ * turned off, to clear what is left.
+ */
+@Slf4j
+@Service
+public class SoftDeleteService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedBeers;
+    private final Timer purgeBatches;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+
+    public SoftDeleteService(BeerRepository beerRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${beerstock.delete.soft:false}") boolean enabled,
+                             @Value("${beerstock.delete.purge.batch-size:500}") int batchSize,
+                             @Value("${beerstock.delete.purge.pause:PT0.1S}") Duration pause) {
+        this.beerRepository = beerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedBeers = meterRegistry.counter("beerstock.delete.purged");
+        this.purgeBatches = meterRegistry.timer("beerstock.delete.purge.batch");
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Removes soft-deleted rows holding any of {@code names} within the caller's transaction, so beers
+     * with those names can be created again before the purge job gets to them.
+     */
+    public void reclaimNames(Collection<String> names) {
+        if (enabled) {
+            beerRepository.purgeSoftDeletedByName(names);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.delete.purge.interval:PT1M}", initialDelayString = "${beerstock.delete.purge.interval:PT1M}")
+    public void purgeScheduled() {
+        try {
+            int purged = purge();
+            if (purged > 0) {
+                log.debug("Purged {} soft-deleted beers", purged);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Purge of soft-deleted beers failed", e);
+        }
+    }
+
+    /**
+     * Removes every soft-deleted row, one batch per transaction, and returns how many were removed.
+     */
+    public synchronized int purge() throws InterruptedException {
+        int total = 0;
+        while (true) {
+            Integer purged = purgeBatches.record(() ->
+                    transactionTemplate.execute(status -> beerRepository.purgeSoftDeleted(batchSize)));
+            if (purged == null || purged == 0) {
+                return total;
+            }
+            total += purged;
+            purgedBeers.increment(purged);
+            if (purged < batchSize) {
+                return total;
+            }
+            Thread.sleep(pause.toMillis());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class StockHold {
+
+    private final String id;
+    private final Long beerId;
+    private final int quantity;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,188 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory ledger of stock held by reservations. Holds do not touch {@code Beer.quantity}; they only
+ * reduce what is available to other reservations and decrements until they are committed, released
+ * or expire. Expiry runs on a {@link ScheduledThreadPoolExecutor}, whose delay queue is a binary heap
+ * ordered by deadline, so nothing polls the database.
+ *
+ * <p>The ledger lives in this node's memory: holds are lost on restart and other nodes neither see nor
+ * respect them. That is why reservations are off by default and only fit a single node owning the
+ * database; turn them on there with {@code beerstock.reservation.enabled=true}. While they are off no
+ * hold is ever placed, so {@link #reservedQuantity} is always 0.
+ */
+@Component
+public class StockHolds {
+
+    private final Map<String, ScheduledHold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> reservedByBeer = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor expiryScheduler;
+    private final Clock clock;
+
+    public StockHolds() {
+        this(Clock.systemUTC());
+    }
+
+    StockHolds(Clock clock) {
+        this.clock = clock;
+        this.expiryScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "stock-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.expiryScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public int reservedQuantity(Long beerId) {
+        return reservedByBeer.getOrDefault(beerId, 0);
+    }
+
+    public StockHold hold(Long beerId, int quantity, Duration ttl) {
+        StockHold hold = new StockHold(UUID.randomUUID().toString(), beerId, quantity, clock.instant().plus(ttl));
+        reservedByBeer.merge(beerId, quantity, Integer::sum);
+        ScheduledHold scheduledHold = new ScheduledHold(hold);
+        holds.put(hold.getId(), scheduledHold);
+        scheduledHold.expiry = expiryScheduler.schedule(() -> expire(scheduledHold), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        return hold;
+    }
+
+    public StockHold release(Long beerId, String holdId) throws ReservationNotFoundException {
+        ScheduledHold scheduledHold = find(beerId, holdId);
+        synchronized (scheduledHold) {
+            if (scheduledHold.claimed || !remove(scheduledHold)) {
+                throw new ReservationNotFoundException(beerId, holdId);
+            }
+        }
+        return scheduledHold.hold;
+    }
+
+    /**
+     * Marks the hold as being committed, so no one else can commit or release it, while it keeps counting
+     * as reserved. The caller ends the claim with {@link #releaseAfterCommit} or {@link #unclaim}.
+     */
+    public StockHold claim(Long beerId, String holdId) throws ReservationNotFoundException {
+        ScheduledHold scheduledHold = find(beerId, holdId);
+        synchronized (scheduledHold) {
+            if (scheduledHold.claimed || holds.get(holdId) != scheduledHold) {
+                throw new ReservationNotFoundException(beerId, holdId);
+            }
+            scheduledHold.claimed = true;
+        }
+        return scheduledHold.hold;
+    }
+
+    /**
+     * Drops a claimed hold once the current transaction commits, or gives it back if it rolls back. Until
+     * then it still counts as reserved, so the stock it covers is never offered twice. Without a
+     * transaction the hold is dropped right away.
+     */
+    public void releaseAfterCommit(StockHold hold) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseClaimed(hold);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    releaseClaimed(hold);
+                } else {
+                    unclaim(hold);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gives back a hold taken by {@link #claim} when the operation it was claimed for failed. A hold whose
+     * TTL ran out meanwhile is dropped instead.
+     */
+    public void unclaim(StockHold hold) {
+        ScheduledHold scheduledHold = holds.get(hold.getId());
+        if (scheduledHold == null) {
+            return;
+        }
+        synchronized (scheduledHold) {
+            scheduledHold.claimed = false;
+            if (scheduledHold.expired) {
+                remove(scheduledHold);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryScheduler.shutdownNow();
+    }
+
+    private ScheduledHold find(Long beerId, String holdId) throws ReservationNotFoundException {
+        ScheduledHold scheduledHold = holds.get(holdId);
+        if (scheduledHold == null || !scheduledHold.hold.getBeerId().equals(beerId)) {
+            throw new ReservationNotFoundException(beerId, holdId);
+        }
+        return scheduledHold;
+    }
+
+    private void releaseClaimed(StockHold hold) {
+        ScheduledHold scheduledHold = holds.get(hold.getId());
+        if (scheduledHold != null) {
+            synchronized (scheduledHold) {
+                remove(scheduledHold);
+            }
+        }
+    }
+
+    /**
+     * A claimed hold outlives its TTL until the claim ends, so a commit in flight keeps the stock it is
+     * about to take.
+     */
+    private void expire(ScheduledHold scheduledHold) {
+        synchronized (scheduledHold) {
+            if (scheduledHold.claimed) {
+                scheduledHold.expired = true;
+            } else {
+                remove(scheduledHold);
+            }
+        }
+    }
+
+    private boolean remove(ScheduledHold scheduledHold) {
+        StockHold hold = scheduledHold.hold;
+        if (!holds.remove(hold.getId(), scheduledHold)) {
+            return false;
+        }
+        if (scheduledHold.expiry != null) {
+            scheduledHold.expiry.cancel(false);
+        }
+        reservedByBeer.computeIfPresent(hold.getBeerId(), (beerId, reserved) ->
+                reserved == hold.getQuantity() ? null : reserved - hold.getQuantity());
+        return true;
+    }
+
+    private static class ScheduledHold {
+
+        private final StockHold hold;
+        private volatile ScheduledFuture<?> expiry;
+        private boolean claimed;
+        private boolean expired;
+
+        private ScheduledHold(StockHold hold) {
+            this.hold = hold;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Reservations hold stock for a while without writing to {@code Beer.quantity}; only a commit decrements
+ * the beer. Placing a hold and decrementing lock the beer row first, so holds and decrements on the same
+ * beer are checked against each other one at a time. The holds are kept by {@link StockHolds}, in this
+ * node's memory, so the service only exists with {@code beerstock.reservation.enabled=true}.
+ *
+ * <p>A rejected reserve or commit throws a checked exception, which commits the transaction: nothing was
+ * written, and only the row lock is given up.
+ */
+@Service
+@ConditionalOnProperty(name = "beerstock.reservation.enabled", havingValue = "true")
+public class StockReservationService {
+
+    private final BeerRepository beerRepository;
+    private final BeerService beerService;
+    private final StockHolds stockHolds;
+    private final Duration defaultTtl;
+
+    public StockReservationService(BeerRepository beerRepository,
+                                   BeerService beerService,
+                                   StockHolds stockHolds,
+                                   @Value("${beerstock.reservation.default-ttl:10m}") Duration defaultTtl) {
+        this.beerRepository = beerRepository;
+        this.beerService = beerService;
+        this.stockHolds = stockHolds;
+        this.defaultTtl = defaultTtl;
+    }
+
+    @Transactional
+    public ReservationDTO reserve(Long beerId, ReservationDTO reservationDTO)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        Beer beer = lockBeer(beerId);
+        int quantityToReserve = reservationDTO.getQuantity();
+        int available = beer.getQuantity() - stockHolds.reservedQuantity(beerId);
+        if (available - quantityToReserve < 0) {
+            throw new BeerStockLessThanZeroException(beerId);
+        }
+        Duration ttl = reservationDTO.getTtlSeconds() == null
+                ? defaultTtl
+                : Duration.ofSeconds(reservationDTO.getTtlSeconds());
+        return toDTO(stockHolds.hold(beerId, quantityToReserve, ttl));
+    }
+
+    /**
+     * Claims the hold, so it cannot be committed twice, and decrements the beer by its quantity. The hold
+     * keeps counting as reserved until the decrement commits and is only dropped then; if the decrement
+     * fails or rolls back it is given back.
+     */
+    @Transactional
+    public BeerDTO commit(Long beerId, String reservationId)
+            throws BeerNotFoundException, BeerStockLessThanZeroException, ReservationNotFoundException {
+        StockHold hold = stockHolds.claim(beerId, reservationId);
+        BeerDTO decrementedBeer;
+        try {
+            decrementedBeer = beerService.decrementHeld(beerId, hold.getQuantity());
+        } catch (BeerNotFoundException | BeerStockLessThanZeroException | RuntimeException e) {
+            stockHolds.unclaim(hold);
+            throw e;
+        }
+        stockHolds.releaseAfterCommit(hold);
+        return decrementedBeer;
+    }
+
+    public void release(Long beerId, String reservationId) throws ReservationNotFoundException {
+        stockHolds.release(beerId, reservationId);
+    }
+
+    private Beer lockBeer(Long beerId) throws BeerNotFoundException {
+        return beerRepository.findByIdForUpdate(beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+    }
+
+    private ReservationDTO toDTO(StockHold hold) {
+        return ReservationDTO.builder()
+                .id(hold.getId())
+                .beerId(hold.getBeerId())
+                .quantity(hold.getQuantity())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.dto.SnapshotSummaryDTO;
+import one.digitalinnovation.beerstock.dto.StockHistoryPointDTO;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.snapshot.SnapshotHeader;
+import one.digitalinnovation.beerstock.snapshot.SnapshotRow;
+import one.digitalinnovation.beerstock.snapshot.SnapshotStore;
+import one.digitalinnovation.beerstock.snapshot.StockSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Takes point-in-time snapshots of the stock of every beer and answers history queries over them.
+ *
+ * <p>The table is read by id in pages, each in its own short read-only transaction, so a snapshot never
+ * holds a connection or a lock for long and goes to the replica when one is configured. Rows may therefore
+ * come from slightly different instants within one snapshot. Snapshots older than the retention are
+ * deleted after each new one.
+ */
+@Slf4j
+@Service
+public class StockSnapshotService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final SnapshotStore snapshotStore;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration retention;
+
+    public StockSnapshotService(BeerRepository beerRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${beerstock.snapshot.enabled:false}") boolean enabled,
+                                @Value("${beerstock.snapshot.directory:./data/snapshots}") Path directory,
+                                @Value("${beerstock.snapshot.page-size:1000}") int pageSize,
+                                @Value("${beerstock.snapshot.retention:P30D}") Duration retention) {
+        this.beerRepository = beerRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.snapshotStore = new SnapshotStore(directory);
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.snapshot.interval:PT5M}", initialDelayString = "${beerstock.snapshot.interval:PT5M}")
+    public void takeScheduledSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            SnapshotSummaryDTO summary = takeSnapshot();
+            log.debug("Stock snapshot of {} beers written ({} bytes)", summary.getBeers(), summary.getSizeBytes());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Stock snapshot failed", e);
+        }
+    }
+
+    public synchronized SnapshotSummaryDTO takeSnapshot() throws IOException {
+        StockSnapshot.Builder builder = StockSnapshot.builder(Instant.now());
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            Long pageLastId = readOnlyTransactionTemplate.execute(status ->
+                    beerRepository.scanStockAfter(afterId, pageSize, builder::add));
+            if (pageLastId == null || pageLastId == afterId) {
+                break;
+            }
+            lastId = pageLastId;
+        }
+        Path file = snapshotStore.write(builder.build());
+        snapshotStore.deleteBefore(Instant.now().minus(retention));
+        return toDTO(snapshotStore.readHeader(file));
+    }
+
+    public List<SnapshotSummaryDTO> listSnapshots(Instant from, Instant to) throws IOException {
+        List<SnapshotSummaryDTO> summaries = new ArrayList<>();
+        for (Path file : snapshotStore.list(from, to)) {
+            summaries.add(toDTO(snapshotStore.readHeader(file)));
+        }
+        return summaries;
+    }
+
+    public List<StockHistoryPointDTO> history(long beerId, Instant from, Instant to) throws IOException {
+        List<StockHistoryPointDTO> points = new ArrayList<>();
+        for (Path file : snapshotStore.list(from, to)) {
+            SnapshotRow row = snapshotStore.readRowWithHeader(file, beerId);
+            if (row != null) {
+                points.add(new StockHistoryPointDTO(row.getHeader().getTakenAt(), row.getQuantity(), row.getMax()));
+            }
+        }
+        return points;
+    }
+
+    private static SnapshotSummaryDTO toDTO(SnapshotHeader header) {
+        return SnapshotSummaryDTO.builder()
+                .takenAt(header.getTakenAt())
+                .beers(header.getBeers())
+                .units(header.getTotalQuantity())
+                .capacity(header.getTotalMax())
+                .sizeBytes(header.getSizeBytes())
+                .build();
+    }
+}
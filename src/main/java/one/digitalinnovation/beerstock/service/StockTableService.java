@@ -0,0 +1,113 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.cache.OffHeapStockTable;
+import one.digitalinnovation.beerstock.dto.StockDTO;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+
+/**
+ * Stock of every beer in an {@link OffHeapStockTable}, so stock reads by id never touch the database or
+ * the heap. Like {@link InventoryStatsService}, the table is rebuilt from the database when the bean
+ * starts and afterwards applies the quantity deltas of committed {@link BeerStockEvent}s, which commute,
+ * so events committed concurrently can be applied in any order. The rebuild reads the primary, never a
+ * replica that could miss writes whose events are already applied. It only sees this node's writes, so it
+ * is off by default and only fits a single node owning the database; turn it on there with
+ * {@code beerstock.stock-table.enabled=true}.
+ *
+ * <p>A beer that is not in the table, because it is not committed yet or the table is full, is read from
+ * the database by the caller.
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class StockTableService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean enabled;
+    private final int pageSize;
+    private final OffHeapStockTable table;
+
+    public StockTableService(BeerRepository beerRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${beerstock.stock-table.enabled:false}") boolean enabled,
+                             @Value("${beerstock.stock-table.capacity:100000}") int capacity,
+                             @Value("${beerstock.stock-table.page-size:1000}") int pageSize) {
+        this.beerRepository = beerRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.table = enabled ? new OffHeapStockTable(capacity) : null;
+        if (enabled) {
+            Gauge.builder("beerstock.stock-table.entries", table, OffHeapStockTable::size)
+                    .register(meterRegistry);
+            Gauge.builder("beerstock.stock-table.off-heap", table, OffHeapStockTable::offHeapBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        table.clear();
+        long lastId = 0;
+        boolean[] full = {false};
+        while (true) {
+            long afterId = lastId;
+            Long pageLastId = primaryTransaction.execute(status -> beerRepository.scanStockAfter(afterId, pageSize,
+                    (id, quantity, max, type) -> full[0] |= !table.put(id, quantity, max)));
+            if (pageLastId == null || pageLastId == afterId) {
+                break;
+            }
+            lastId = pageLastId;
+        }
+        if (full[0]) {
+            log.warn("Stock table is full with {} beers, the rest is read from the database", table.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerStockEvent(BeerStockEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED:
+                table.put(event.getBeerId(), event.getQuantity(), event.getMax());
+                break;
+            case DELETED:
+                table.remove(event.getBeerId());
+                break;
+            default:
+                table.addQuantity(event.getBeerId(), event.getQuantityDelta());
+        }
+    }
+
+    public Optional<StockDTO> find(long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long stock = table.get(id);
+        if (stock == OffHeapStockTable.ABSENT) {
+            return Optional.empty();
+        }
+        return Optional.of(new StockDTO(id, OffHeapStockTable.quantity(stock), OffHeapStockTable.max(stock)));
+    }
+}
@@ -0,0 +1,182 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.event.WarehouseStockEvent;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyStockedException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.DefaultWarehouseUnstockException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.WarehouseStock;
+import one.digitalinnovation.beerstock.repository.WarehouseStockRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Beer stock scoped to a warehouse. The {@link #DEFAULT_WAREHOUSE} is the stock kept on the beer itself:
+ * its operations go to {@link BeerService}, and a beer is stocked in it from registration until it is
+ * deleted. Every other warehouse holds its own quantity and max per beer in the
+ * {@link WarehouseStockRepository}, changed by single conditional updates that only lock that warehouse's
+ * row. Reservations and orders only draw on the default warehouse.
+ */
+@Slf4j
+@Service
+public class WarehouseStockService {
+
+    public static final long DEFAULT_WAREHOUSE = 1;
+
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final BeerRepository beerRepository;
+    private final BeerService beerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int purgeBatchSize;
+
+    public WarehouseStockService(WarehouseStockRepository warehouseStockRepository,
+                                 BeerRepository beerRepository,
+                                 BeerService beerService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${beerstock.warehouse.purge.batch-size:500}") int purgeBatchSize) {
+        this.warehouseStockRepository = warehouseStockRepository;
+        this.beerRepository = beerRepository;
+        this.beerService = beerService;
+        this.eventPublisher = eventPublisher;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Transactional
+    public WarehouseStockDTO stock(long warehouseId, WarehouseStockDTO warehouseStockDTO)
+            throws BeerNotFoundException, BeerAlreadyStockedException, BeerStockExceededException {
+
+        Long beerId = warehouseStockDTO.getBeerId();
+        beerRepository.findById(beerId).orElseThrow(() -> new BeerNotFoundException(beerId));
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            throw new BeerAlreadyStockedException(beerId, warehouseId);
+        }
+        if (warehouseStockDTO.getQuantity() > warehouseStockDTO.getMax()) {
+            throw new BeerStockExceededException(beerId, warehouseStockDTO.getMax());
+        }
+        WarehouseStock stock = new WarehouseStock(warehouseId, beerId, warehouseStockDTO.getQuantity(), warehouseStockDTO.getMax());
+        try {
+            warehouseStockRepository.insert(stock);
+        } catch (DuplicateKeyException e) {
+            throw new BeerAlreadyStockedException(beerId, warehouseId);
+        }
+        publish(BeerStockEvent.Type.CREATED, stock, stock.getQuantity());
+        return toDTO(stock);
+    }
+
+    public WarehouseStockDTO findStock(long warehouseId, long beerId) throws BeerNotFoundException {
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            StockDTO stock = beerService.findStockById(beerId);
+            return new WarehouseStockDTO(warehouseId, beerId, stock.getMax(), stock.getQuantity());
+        }
+        return toDTO(warehouseStockRepository.find(warehouseId, beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId)));
+    }
+
+    public List<WarehouseStockDTO> listAll(long warehouseId) {
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            return beerService.listAll().stream()
+                    .map(beer -> toDTO(warehouseId, beer))
+                    .collect(Collectors.toList());
+        }
+        return warehouseStockRepository.findAll(warehouseId).stream()
+                .map(WarehouseStockService::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public WarehouseStockDTO increment(long warehouseId, long beerId, int quantityToIncrement)
+            throws BeerNotFoundException, BeerStockExceededException {
+
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            return toDTO(warehouseId, beerService.increment(beerId, quantityToIncrement));
+        }
+        Optional<WarehouseStock> incremented = warehouseStockRepository.incrementIfWithinMax(warehouseId, beerId, quantityToIncrement);
+        if (incremented.isEmpty()) {
+            throw new BeerStockExceededException(beerId, verifyIfStocked(warehouseId, beerId).getMax());
+        }
+        publish(BeerStockEvent.Type.STOCK_CHANGED, incremented.get(), quantityToIncrement);
+        return toDTO(incremented.get());
+    }
+
+    @Transactional
+    public WarehouseStockDTO decrement(long warehouseId, long beerId, int quantityToDecrement)
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            return toDTO(warehouseId, beerService.decrement(beerId, quantityToDecrement));
+        }
+        Optional<WarehouseStock> decremented = warehouseStockRepository.decrementIfAvailable(warehouseId, beerId, quantityToDecrement);
+        if (decremented.isEmpty()) {
+            verifyIfStocked(warehouseId, beerId);
+            throw new BeerStockLessThanZeroException(beerId);
+        }
+        publish(BeerStockEvent.Type.STOCK_CHANGED, decremented.get(), -quantityToDecrement);
+        return toDTO(decremented.get());
+    }
+
+    /**
+     * Removes the beer from the warehouse. The default warehouse is the stock of the beer itself, which
+     * only goes away with the beer, through {@link BeerService#deleteById}.
+     */
+    @Transactional
+    public void unstock(long warehouseId, long beerId) throws BeerNotFoundException, DefaultWarehouseUnstockException {
+        if (warehouseId == DEFAULT_WAREHOUSE) {
+            throw new DefaultWarehouseUnstockException(beerId, warehouseId);
+        }
+        WarehouseStock deleted = warehouseStockRepository.delete(warehouseId, beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+        publish(BeerStockEvent.Type.DELETED, deleted, -deleted.getQuantity());
+    }
+
+    /**
+     * Removes the warehouse stock of deleted beers, which statements already skip, in batches of
+     * {@code beerstock.warehouse.purge.batch-size} per partition.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.warehouse.purge.interval:PT5M}", initialDelayString = "${beerstock.warehouse.purge.interval:PT5M}")
+    public void purgeOrphans() {
+        try {
+            int purged;
+            do {
+                purged = warehouseStockRepository.purgeOrphans(purgeBatchSize);
+                if (purged > 0) {
+                    log.debug("Purged warehouse stock of {} deleted beers", purged);
+                }
+            } while (purged > 0);
+        } catch (RuntimeException e) {
+            log.warn("Purge of warehouse stock of deleted beers failed", e);
+        }
+    }
+
+    private WarehouseStock verifyIfStocked(long warehouseId, long beerId) throws BeerNotFoundException {
+        return warehouseStockRepository.find(warehouseId, beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+    }
+
+    private void publish(BeerStockEvent.Type type, WarehouseStock stock, int quantityDelta) {
+        eventPublisher.publishEvent(WarehouseStockEvent.of(type, stock, quantityDelta));
+    }
+
+    private static WarehouseStockDTO toDTO(WarehouseStock stock) {
+        return new WarehouseStockDTO(stock.getWarehouseId(), stock.getBeerId(), stock.getMax(), stock.getQuantity());
+    }
+
+    private static WarehouseStockDTO toDTO(long warehouseId, BeerDTO beer) {
+        return new WarehouseStockDTO(warehouseId, beer.getId(), beer.getMax(), beer.getQuantity());
+    }
+}
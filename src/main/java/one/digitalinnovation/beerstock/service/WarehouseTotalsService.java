@@ -0,0 +1,39 @@
+package one.digitalinnovation.beerstock.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.repository.WarehouseStockRepository;
+
+import java.util.Optional;
+
+/**
+ * Quantity and max of every beer summed over all warehouses. The other warehouses keep their sums in
+ * {@code warehouse_totals}, updated by {@link WarehouseStockRepository} in the same transaction as each
+ * stock change, so a read is one statement over the beer row and a few totals rows, and every node sees
+ * every write.
+ */
+@Service
+public class WarehouseTotalsService {
+
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WarehouseTotalsService(WarehouseStockRepository warehouseStockRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.warehouseStockRepository = warehouseStockRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Optional<CrossWarehouseStockDTO> find(long id) {
+        return readOnlyTransaction.execute(status -> {
+            CrossWarehouseStockDTO[] totals = new CrossWarehouseStockDTO[1];
+            warehouseStockRepository.totalsOfBeer(id, (beerId, quantity, max, warehouses) ->
+                    totals[0] = new CrossWarehouseStockDTO(beerId, quantity, max, warehouses));
+            return Optional.ofNullable(totals[0]);
+        });
+    }
+}
@@ -0,0 +1,304 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary layout of a snapshot file:
+ *
+ * <pre>
+ * magic "BSNP", version, type count, taken-at millis, rows, total quantity, total max,
+ * (raw length, compressed length) of the id, quantity, max and type columns,
+ * type names,
+ * id column, quantity column, max column, type column
+ * </pre>
+ *
+ * Ids are stored as deltas from the previous id and the other int columns zig-zag encoded, all as
+ * variable-length integers, and each column is deflated on its own. The type column is one byte per row,
+ * indexing the type names written in the file, so reordering {@link BeerType} does not break old files.
+ */
+final class SnapshotCodec {
+
+    static final int MAGIC = 0x42534E50;
+    static final short VERSION = 1;
+
+    private static final int ID_COLUMN = 0;
+    private static final int QUANTITY_COLUMN = 1;
+    private static final int MAX_COLUMN = 2;
+    private static final int TYPE_COLUMN = 3;
+    private static final int COLUMNS = 4;
+    private static final int FIXED_HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 8 + 8 + COLUMNS * 8;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private SnapshotCodec() {
+    }
+
+    static Encoded encode(StockSnapshot snapshot) {
+        int rows = snapshot.size();
+        byte[] ids = new byte[rows * MAX_VARINT_BYTES];
+        byte[] quantities = new byte[rows * MAX_VARINT_BYTES];
+        byte[] max = new byte[rows * MAX_VARINT_BYTES];
+        byte[] types = new byte[rows];
+        int idsLength = 0;
+        int quantitiesLength = 0;
+        int maxLength = 0;
+        long previousId = 0;
+        for (int row = 0; row < rows; row++) {
+            idsLength = writeVarLong(ids, idsLength, snapshot.id(row) - previousId);
+            previousId = snapshot.id(row);
+            quantitiesLength = writeVarLong(quantities, quantitiesLength, zigZag(snapshot.quantity(row)));
+            maxLength = writeVarLong(max, maxLength, zigZag(snapshot.max(row)));
+            types[row] = (byte) snapshot.type(row).ordinal();
+        }
+
+        byte[][] columns = {
+                deflate(ids, idsLength),
+                deflate(quantities, quantitiesLength),
+                deflate(max, maxLength),
+                deflate(types, rows)
+        };
+        int[] rawLengths = {idsLength, quantitiesLength, maxLength, rows};
+        return new Encoded(snapshot, rawLengths, columns);
+    }
+
+    static SnapshotHeader readHeader(ByteBuffer file) {
+        ByteBuffer buffer = file.duplicate();
+        readFixedHeader(buffer);
+        Instant takenAt = Instant.ofEpochMilli(buffer.getLong(8));
+        return new SnapshotHeader(takenAt, buffer.getInt(16), buffer.getLong(20), buffer.getLong(28), file.capacity());
+    }
+
+    static StockSnapshot decode(ByteBuffer file) {
+        ByteBuffer buffer = file.duplicate();
+        readFixedHeader(buffer);
+        Instant takenAt = Instant.ofEpochMilli(buffer.getLong(8));
+        int rows = buffer.getInt(16);
+        BeerType[] typeNames = readTypeNames(buffer);
+        byte[] ids = inflateColumn(buffer, ID_COLUMN);
+        byte[] quantities = inflateColumn(buffer, QUANTITY_COLUMN);
+        byte[] max = inflateColumn(buffer, MAX_COLUMN);
+        byte[] types = inflateColumn(buffer, TYPE_COLUMN);
+
+        StockSnapshot.Builder builder = StockSnapshot.builder(takenAt);
+        VarIntReader idReader = new VarIntReader(ids);
+        VarIntReader quantityReader = new VarIntReader(quantities);
+        VarIntReader maxReader = new VarIntReader(max);
+        long id = 0;
+        for (int row = 0; row < rows; row++) {
+            id += idReader.next();
+            builder.add(id, unZigZag(quantityReader.next()), unZigZag(maxReader.next()), typeNames[types[row]]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Quantity and max of one beer, or {@code null} if it is not in the snapshot. Only the three int
+     * columns are inflated, and the quantity and max columns only up to the beer's row.
+     */
+    static int[] readRow(ByteBuffer file, long beerId) {
+        ByteBuffer buffer = file.duplicate();
+        readFixedHeader(buffer);
+        int rows = buffer.getInt(16);
+        VarIntReader idReader = new VarIntReader(inflateColumn(buffer, ID_COLUMN));
+        long id = 0;
+        int row = -1;
+        for (int candidate = 0; candidate < rows && id < beerId; candidate++) {
+            id += idReader.next();
+            if (id == beerId) {
+                row = candidate;
+            }
+        }
+        if (row < 0) {
+            return null;
+        }
+        return new int[]{
+                unZigZag(new VarIntReader(inflateColumn(buffer, QUANTITY_COLUMN)).skip(row).next()),
+                unZigZag(new VarIntReader(inflateColumn(buffer, MAX_COLUMN)).skip(row).next())
+        };
+    }
+
+    private static void readFixedHeader(ByteBuffer buffer) {
+        if (buffer.capacity() < FIXED_HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a stock snapshot file");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported stock snapshot version " + buffer.getShort(4));
+        }
+    }
+
+    private static BeerType[] readTypeNames(ByteBuffer buffer) {
+        int typeCount = buffer.getShort(6);
+        BeerType[] types = new BeerType[typeCount];
+        int position = FIXED_HEADER_BYTES;
+        for (int type = 0; type < typeCount; type++) {
+            int length = buffer.getShort(position);
+            byte[] name = new byte[length];
+            buffer.get(position + 2, name);
+            types[type] = BeerType.valueOf(new String(name, StandardCharsets.UTF_8));
+            position += 2 + length;
+        }
+        return types;
+    }
+
+    private static byte[] inflateColumn(ByteBuffer buffer, int column) {
+        int rawLength = buffer.getInt(36 + column * 8);
+        int offset = columnsOffset(buffer);
+        for (int previous = 0; previous < column; previous++) {
+            offset += buffer.getInt(40 + previous * 8);
+        }
+        int compressedLength = buffer.getInt(40 + column * 8);
+        if (rawLength < 0 || compressedLength < 0 || offset < 0 || offset > buffer.capacity() - compressedLength) {
+            throw new IllegalArgumentException("Truncated stock snapshot column " + column);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            byte[] raw = new byte[rawLength];
+            int inflated = 0;
+            while (inflated < rawLength) {
+                int count = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated stock snapshot column " + column);
+                }
+                inflated += count;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted stock snapshot column " + column, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int columnsOffset(ByteBuffer buffer) {
+        int position = FIXED_HEADER_BYTES;
+        int typeCount = buffer.getShort(6);
+        for (int type = 0; type < typeCount; type++) {
+            position += 2 + buffer.getShort(position);
+        }
+        return position;
+    }
+
+    private static byte[] deflate(byte[] raw, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw, 0, length);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int writeVarLong(byte[] target, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+
+    private static long zigZag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unZigZag(long value) {
+        int encoded = (int) value;
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static final class VarIntReader {
+
+        private final byte[] source;
+        private int position;
+
+        private VarIntReader(byte[] source) {
+            this.source = source;
+        }
+
+        long next() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = source[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        VarIntReader skip(int values) {
+            for (int skipped = 0; skipped < values; skipped++) {
+                next();
+            }
+            return this;
+        }
+    }
+
+    /**
+     * A snapshot ready to be written: its header fields and compressed columns, with the exact file size.
+     */
+    static final class Encoded {
+
+        private final StockSnapshot snapshot;
+        private final int[] rawLengths;
+        private final byte[][] columns;
+        private final byte[][] typeNames;
+
+        private Encoded(StockSnapshot snapshot, int[] rawLengths, byte[][] columns) {
+            this.snapshot = snapshot;
+            this.rawLengths = rawLengths;
+            this.columns = columns;
+            BeerType[] types = BeerType.values();
+            this.typeNames = new byte[types.length][];
+            for (int type = 0; type < types.length; type++) {
+                typeNames[type] = types[type].name().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        int size() {
+            int size = FIXED_HEADER_BYTES;
+            for (byte[] name : typeNames) {
+                size += 2 + name.length;
+            }
+            for (byte[] column : columns) {
+                size += column.length;
+            }
+            return size;
+        }
+
+        void writeTo(ByteBuffer target) {
+            target.putInt(MAGIC)
+                    .putShort(VERSION)
+                    .putShort((short) typeNames.length)
+                    .putLong(snapshot.getTakenAt().toEpochMilli())
+                    .putInt(snapshot.size())
+                    .putLong(snapshot.totalQuantity())
+                    .putLong(snapshot.totalMax());
+            for (int column = 0; column < COLUMNS; column++) {
+                target.putInt(rawLengths[column]).putInt(columns[column].length);
+            }
+            for (byte[] name : typeNames) {
+                target.putShort((short) name.length).put(name);
+            }
+            for (byte[] column : columns) {
+                target.put(column);
+            }
+        }
+    }
+}
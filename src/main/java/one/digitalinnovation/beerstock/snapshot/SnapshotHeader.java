@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Fixed-size part of a snapshot file, readable without inflating any column. It carries the totals, so
+ * aggregate history over many snapshots never touches the row data.
+ */
+@Value
+public class SnapshotHeader {
+
+    Instant takenAt;
+    int beers;
+    long totalQuantity;
+    long totalMax;
+    long sizeBytes;
+}
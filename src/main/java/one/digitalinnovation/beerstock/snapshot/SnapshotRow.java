@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import lombok.Value;
+
+/**
+ * Quantity and max of one beer in a snapshot, with the header of the snapshot it was read from.
+ */
+@Value
+public class SnapshotRow {
+
+    SnapshotHeader header;
+    int quantity;
+    int max;
+}
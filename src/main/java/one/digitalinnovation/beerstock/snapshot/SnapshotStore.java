@@ -0,0 +1,123 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One file per snapshot in a directory, named after the time it was taken, so a time range is selected
+ * from the directory listing alone. Files are written and read through memory mappings.
+ */
+public class SnapshotStore {
+
+    private static final String PREFIX = "stock-";
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path write(StockSnapshot snapshot) throws IOException {
+        Files.createDirectories(directory);
+        SnapshotCodec.Encoded encoded = SnapshotCodec.encode(snapshot);
+        Path file = directory.resolve(fileName(snapshot.getTakenAt()));
+        Path partial = directory.resolve(file.getFileName() + ".partial");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, encoded.size());
+            encoded.writeTo(buffer);
+            buffer.force();
+        }
+        return Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Snapshot files taken in {@code [from, to]}, oldest first. Files matching the pattern whose name
+     * carries no time, such as copies left by hand, are skipped.
+     */
+    public List<Path> list(Instant from, Instant to) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : entries) {
+                Instant takenAt = takenAt(file);
+                if (takenAt != null && !takenAt.isBefore(from) && !takenAt.isAfter(to)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    public SnapshotHeader readHeader(Path file) throws IOException {
+        return SnapshotCodec.readHeader(map(file));
+    }
+
+    public StockSnapshot read(Path file) throws IOException {
+        return SnapshotCodec.decode(map(file));
+    }
+
+    /**
+     * Quantity and max of one beer in the snapshot, or {@code null} if the beer was not in it.
+     */
+    public int[] readRow(Path file, long beerId) throws IOException {
+        return SnapshotCodec.readRow(map(file), beerId);
+    }
+
+    /**
+     * Like {@link #readRow}, together with the header, both read from a single mapping of the file.
+     */
+    public SnapshotRow readRowWithHeader(Path file, long beerId) throws IOException {
+        MappedByteBuffer buffer = map(file);
+        int[] row = SnapshotCodec.readRow(buffer, beerId);
+        return row == null ? null : new SnapshotRow(SnapshotCodec.readHeader(buffer), row[0], row[1]);
+    }
+
+    /**
+     * Deletes the snapshots taken before {@code cutoff} and returns how many were deleted.
+     */
+    public int deleteBefore(Instant cutoff) throws IOException {
+        int deleted = 0;
+        for (Path file : list(Instant.EPOCH, cutoff.minusMillis(1))) {
+            Files.deleteIfExists(file);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static String fileName(Instant takenAt) {
+        return String.format("%s%013d%s", PREFIX, takenAt.toEpochMilli(), SUFFIX);
+    }
+
+    /**
+     * The time in the name of the file, or {@code null} if the name does not carry one.
+     */
+    private static Instant takenAt(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Stock of every beer at one point in time, held column by column in primitive arrays sorted by id.
+ */
+public final class StockSnapshot {
+
+    private final Instant takenAt;
+    private final long[] ids;
+    private final int[] quantities;
+    private final int[] max;
+    private final byte[] types;
+    private final int rows;
+
+    StockSnapshot(Instant takenAt, long[] ids, int[] quantities, int[] max, byte[] types, int rows) {
+        this.takenAt = takenAt;
+        this.ids = ids;
+        this.quantities = quantities;
+        this.max = max;
+        this.types = types;
+        this.rows = rows;
+    }
+
+    public static Builder builder(Instant takenAt) {
+        return new Builder(takenAt);
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public int quantity(int row) {
+        return quantities[row];
+    }
+
+    public int max(int row) {
+        return max[row];
+    }
+
+    public BeerType type(int row) {
+        return BeerType.values()[types[row]];
+    }
+
+    /**
+     * Row of the beer with the given id, or a negative value if the beer was not in stock at the time.
+     */
+    public int rowOf(long id) {
+        return Arrays.binarySearch(ids, 0, rows, id);
+    }
+
+    public long totalQuantity() {
+        long total = 0;
+        for (int row = 0; row < rows; row++) {
+            total += quantities[row];
+        }
+        return total;
+    }
+
+    public long totalMax() {
+        long total = 0;
+        for (int row = 0; row < rows; row++) {
+            total += max[row];
+        }
+        return total;
+    }
+
+    /**
+     * Appends rows in ascending id order, growing the columns as needed.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Instant takenAt;
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int[] quantities = new int[INITIAL_CAPACITY];
+        private int[] max = new int[INITIAL_CAPACITY];
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private int rows;
+
+        private Builder(Instant takenAt) {
+            this.takenAt = takenAt;
+        }
+
+        public Builder add(long id, int quantity, int max, BeerType type) {
+            if (rows > 0 && id <= ids[rows - 1]) {
+                throw new IllegalArgumentException("Snapshot rows must be added in ascending id order: " + id);
+            }
+            if (rows == ids.length) {
+                int capacity = rows * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                this.max = Arrays.copyOf(this.max, capacity);
+                types = Arrays.copyOf(types, capacity);
+            }
+            ids[rows] = id;
+            quantities[rows] = quantity;
+            this.max[rows] = max;
+            types[rows] = (byte) type.ordinal();
+            rows++;
+            return this;
+        }
+
+        public StockSnapshot build() {
+            return new StockSnapshot(takenAt, ids, quantities, max, types, rows);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package one.digitalinnovation.beerstock.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Hands out connections whose statements report every execution, with its SQL and duration, to a
+ * {@link StatementRecorder}. This sits below Hibernate, so statements issued through
+ * {@code JdbcTemplate} are counted as well.
+ */
+public class CountingDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final StatementRecorder recorder;
+
+    public CountingDataSource(DataSource targetDataSource, StatementRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable) {
+            ((Closeable) obtainTargetDataSource()).close();
+        }
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    Statement statement = (Statement) CountingDataSource.invoke(target, method, args);
+                    String sql = method.getName().equals("createStatement") ? null : (String) args[0];
+                    return countingStatement(statement, sql, (Connection) proxy);
+                default:
+                    return CountingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Statement countingStatement(Statement statement, String sql, Connection connection) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql, connection));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+        private String batchSql;
+
+        private StatementHandler(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                default:
+                    break;
+            }
+            if (name.equals("addBatch") && args != null && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return CountingDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                    : preparedSql != null ? preparedSql
+                    : batchSql;
+            long start = System.nanoTime();
+            try {
+                return CountingDataSource.invoke(target, method, args);
+            } finally {
+                recorder.record(sql, System.nanoTime() - start);
+                if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                    batchSql = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package one.digitalinnovation.beerstock.sql;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements executed while the count was active on a thread, by {@link StatementType}. A JDBC batch
+ * counts as one statement, since it is one round trip.
+ */
+public class QueryCount {
+
+    private final Map<StatementType, Integer> counts = new EnumMap<>(StatementType.class);
+    private long elapsedNanos;
+
+    synchronized void add(StatementType type, long nanos) {
+        counts.merge(type, 1, Integer::sum);
+        elapsedNanos += nanos;
+    }
+
+    public synchronized int get(StatementType type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    public synchronized int total() {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public synchronized long elapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d select, %d insert, %d update, %d delete, %d other",
+                get(StatementType.SELECT), get(StatementType.INSERT), get(StatementType.UPDATE),
+                get(StatementType.DELETE), get(StatementType.OTHER));
+    }
+}
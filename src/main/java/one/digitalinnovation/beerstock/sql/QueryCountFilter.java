@@ -0,0 +1,111 @@
+package one.digitalinnovation.beerstock.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Counts the statements each request executes and records them in the
+ * {@code beerstock.sql.request.statements} summary, tagged with the method, the matched route and how the
+ * request ended. An async request is recorded once, when it times out, fails or completes, whichever comes
+ * first; the statements run on its executor thread are counted only if the task
+ * {@linkplain QueryCounter#resume resumes} the request's counts.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String TIMEOUT = "TIMEOUT";
+    private static final String ERROR = "ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCounter.start();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            QueryCounter.stop(count);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnCompletion(request, count));
+            } else {
+                record(request, count, failed ? ERROR : COMPLETED);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount count, String outcome) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : UNKNOWN_ROUTE;
+        DistributionSummary.builder("beerstock.sql.request.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(count.total());
+        log.debug("{} {} ({}): {} in {} ms", request.getMethod(), uri, outcome, count, count.elapsed(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * The container completes a request after it timed out or failed, so only the first of these events
+     * is recorded.
+     */
+    private class RecordOnCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final QueryCount count;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private RecordOnCompletion(HttpServletRequest request, QueryCount count) {
+            this.request = request;
+            this.count = count;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            recordOnce(COMPLETED);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            recordOnce(TIMEOUT);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            recordOnce(ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void recordOnce(String outcome) {
+            if (recorded.compareAndSet(false, true)) {
+                record(request, count, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Binds {@link QueryCount}s to the current thread. Counts nest: a statement is added to every count
+ * active on the thread, so a test can count around a request that the filter also counts.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Deque<QueryCount>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        ACTIVE.get().push(count);
+        return count;
+    }
+
+    public static void stop(QueryCount count) {
+        ACTIVE.get().remove(count);
+    }
+
+    /**
+     * Counts active on this thread, to be {@linkplain #resume resumed} by a task handed to another thread.
+     */
+    public static List<QueryCount> active() {
+        return List.copyOf(ACTIVE.get());
+    }
+
+    public static void resume(List<QueryCount> counts) {
+        counts.forEach(ACTIVE.get()::push);
+    }
+
+    public static void suspend(List<QueryCount> counts) {
+        counts.forEach(ACTIVE.get()::remove);
+    }
+
+    static void record(StatementType type, long nanos) {
+        for (QueryCount count : ACTIVE.get()) {
+            count.add(type, nanos);
+        }
+    }
+}
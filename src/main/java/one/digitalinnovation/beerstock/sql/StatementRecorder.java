@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerstock.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives every statement executed through {@link CountingDataSource}: adds it to the active
+ * {@link QueryCount}s and to the {@code beerstock.sql.statements} timer, and logs it to
+ * {@code beerstock.sql.slow} when it crosses one of the slow-query thresholds.
+ */
+@Slf4j(topic = "beerstock.sql.slow")
+public class StatementRecorder {
+
+    private final long infoThresholdNanos;
+    private final long warnThresholdNanos;
+    private final Map<StatementType, Timer> timers = new EnumMap<>(StatementType.class);
+    private final Map<StatementType, Timer> slowTimers = new EnumMap<>(StatementType.class);
+
+    public StatementRecorder(MeterRegistry meterRegistry, Duration infoThreshold, Duration warnThreshold) {
+        this.infoThresholdNanos = infoThreshold.toNanos();
+        this.warnThresholdNanos = warnThreshold.toNanos();
+        for (StatementType type : StatementType.values()) {
+            String tag = type.name().toLowerCase();
+            timers.put(type, meterRegistry.timer("beerstock.sql.statements", "type", tag));
+            slowTimers.put(type, meterRegistry.timer("beerstock.sql.statements.slow", "type", tag));
+        }
+    }
+
+    void record(String sql, long nanos) {
+        StatementType type = StatementType.of(sql);
+        QueryCounter.record(type, nanos);
+        timers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos < infoThresholdNanos && nanos < warnThresholdNanos) {
+            return;
+        }
+        slowTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (nanos >= warnThresholdNanos) {
+            log.warn("{} ms: {}", millis, sql);
+        } else {
+            log.info("{} ms: {}", millis, sql);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package one.digitalinnovation.beerstock.sql;
+
+/**
+ * Kind of SQL statement, taken from its first keyword. A select from a data change delta table, such as
+ * {@code SELECT ... FROM OLD TABLE (DELETE ...)}, counts as the change it wraps.
+ */
+public enum StatementType {
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE,
+    OTHER;
+
+    private static final String[] DELTA_TABLES = {"old table", "new table", "final table"};
+
+    public static StatementType of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (startsWith(sql, start, "select") || startsWith(sql, start, "with")) {
+            return dataChangeOf(sql);
+        }
+        if (startsWith(sql, start, "insert")) {
+            return INSERT;
+        }
+        if (startsWith(sql, start, "update")) {
+            return UPDATE;
+        }
+        if (startsWith(sql, start, "delete")) {
+            return DELETE;
+        }
+        return OTHER;
+    }
+
+    private static StatementType dataChangeOf(String select) {
+        for (int offset = 0; offset < select.length(); offset++) {
+            for (String deltaTable : DELTA_TABLES) {
+                if (startsWith(select, offset, deltaTable)) {
+                    int change = offset + deltaTable.length();
+                    while (change < select.length() && Character.isWhitespace(select.charAt(change))) {
+                        change++;
+                    }
+                    if (change < select.length() && select.charAt(change) == '(') {
+                        return of(select.substring(change));
+                    }
+                }
+            }
+        }
+        return SELECT;
+    }
+
+    private static boolean startsWith(String sql, int offset, String keyword) {
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+}
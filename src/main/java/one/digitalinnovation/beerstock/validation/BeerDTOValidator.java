@@ -0,0 +1,36 @@
+package one.digitalinnovation.beerstock.validation;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import javax.validation.constraints.Size;
+
+@Component
+public class BeerDTOValidator implements Validator {
+
+    private static final Size NAME_SIZE = ConstraintChecks.sizeOf(BeerDTO.class, "name");
+    private static final Size BRAND_SIZE = ConstraintChecks.sizeOf(BeerDTO.class, "brand");
+    private static final long MAX_MAX = ConstraintChecks.maxOf(BeerDTO.class, "max");
+    private static final long MAX_QUANTITY = ConstraintChecks.maxOf(BeerDTO.class, "quantity");
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return BeerDTO.class == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        BeerDTO beerDTO = (BeerDTO) target;
+        ConstraintChecks.notBlank(errors, "name", beerDTO.getName());
+        ConstraintChecks.size(errors, "name", beerDTO.getName(), NAME_SIZE.min(), NAME_SIZE.max());
+        ConstraintChecks.notBlank(errors, "brand", beerDTO.getBrand());
+        ConstraintChecks.size(errors, "brand", beerDTO.getBrand(), BRAND_SIZE.min(), BRAND_SIZE.max());
+        ConstraintChecks.notNull(errors, "max", beerDTO.getMax());
+        ConstraintChecks.max(errors, "max", beerDTO.getMax(), MAX_MAX);
+        ConstraintChecks.notNull(errors, "quantity", beerDTO.getQuantity());
+        ConstraintChecks.max(errors, "quantity", beerDTO.getQuantity(), MAX_QUANTITY);
+        ConstraintChecks.notNull(errors, "type", beerDTO.getType());
+    }
+}
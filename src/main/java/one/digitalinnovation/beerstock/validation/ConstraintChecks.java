@@ -0,0 +1,106 @@
+package one.digitalinnovation.beerstock.validation;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.Errors;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.util.ResourceBundle;
+
+/**
+ * The few Bean Validation constraints used by the stock DTOs, checked directly. Rejections carry the
+ * error codes, arguments and default messages Spring's adapter around Hibernate Validator would produce,
+ * so clients and message sources cannot tell the two paths apart.
+ */
+final class ConstraintChecks {
+
+    private static final ResourceBundle MESSAGES = ResourceBundle.getBundle("org.hibernate.validator.ValidationMessages");
+    private static final String NOT_NULL_MESSAGE = message("NotNull");
+    private static final String NOT_BLANK_MESSAGE = message("NotBlank");
+    private static final String MIN_MESSAGE = message("Min");
+    private static final String MAX_MESSAGE = message("Max");
+    private static final String SIZE_MESSAGE = message("Size");
+
+    private ConstraintChecks() {
+    }
+
+    static void notNull(Errors errors, String field, Object value) {
+        if (value == null) {
+            errors.rejectValue(field, "NotNull", arguments(errors, field), NOT_NULL_MESSAGE);
+        }
+    }
+
+    static void notBlank(Errors errors, String field, String value) {
+        if (value == null || value.isBlank()) {
+            errors.rejectValue(field, "NotBlank", arguments(errors, field), NOT_BLANK_MESSAGE);
+        }
+    }
+
+    static void min(Errors errors, String field, Integer value, long min) {
+        if (value != null && value < min) {
+            errors.rejectValue(field, "Min", arguments(errors, field, min),
+                    MIN_MESSAGE.replace("{value}", String.valueOf(min)));
+        }
+    }
+
+    static void max(Errors errors, String field, Integer value, long max) {
+        if (value != null && value > max) {
+            errors.rejectValue(field, "Max", arguments(errors, field, max),
+                    MAX_MESSAGE.replace("{value}", String.valueOf(max)));
+        }
+    }
+
+    static void size(Errors errors, String field, String value, int min, int max) {
+        if (value != null && (value.length() < min || value.length() > max)) {
+            errors.rejectValue(field, "Size", arguments(errors, field, max, min),
+                    SIZE_MESSAGE.replace("{min}", String.valueOf(min)).replace("{max}", String.valueOf(max)));
+        }
+    }
+
+    /**
+     * Reads the {@code @Min} bound declared on a field, so the checks never drift from the annotations.
+     */
+    static long minOf(Class<?> type, String field) {
+        return annotation(type, field, Min.class).value();
+    }
+
+    /**
+     * Reads the {@code @Max} bound declared on a field, like {@link #minOf}.
+     */
+    static long maxOf(Class<?> type, String field) {
+        return annotation(type, field, Max.class).value();
+    }
+
+    static Size sizeOf(Class<?> type, String field) {
+        return annotation(type, field, Size.class);
+    }
+
+    private static <A extends Annotation> A annotation(Class<?> type, String field, Class<A> annotationType) {
+        try {
+            A annotation = type.getDeclaredField(field).getAnnotation(annotationType);
+            if (annotation == null) {
+                throw new IllegalStateException(type.getSimpleName() + "." + field + " has no @" + annotationType.getSimpleName());
+            }
+            return annotation;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The field name first, then the constraint attributes in alphabetical order, like
+     * {@code SpringValidatorAdapter#getArgumentsForConstraint}.
+     */
+    private static Object[] arguments(Errors errors, String field, Object... attributes) {
+        Object[] arguments = new Object[attributes.length + 1];
+        arguments[0] = new DefaultMessageSourceResolvable(new String[]{errors.getObjectName() + Errors.NESTED_PATH_SEPARATOR + field, field}, field);
+        System.arraycopy(attributes, 0, arguments, 1, attributes.length);
+        return arguments;
+    }
+
+    private static String message(String constraint) {
+        return MESSAGES.getString("javax.validation.constraints." + constraint + ".message");
+    }
+}
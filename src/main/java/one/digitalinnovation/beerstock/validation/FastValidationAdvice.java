@@ -0,0 +1,35 @@
+package one.digitalinnovation.beerstock.validation;
+
+import lombok.RequiredArgsConstructor;
+import one.digitalinnovation.beerstock.controller.AsyncBeerController;
+import one.digitalinnovation.beerstock.controller.BeerController;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+/**
+ * Validates the bodies of the beer endpoints with the hand-written validators instead of Hibernate
+ * Validator, which walks the constraint metadata reflectively on every request. Other DTOs, such as
+ * the bulk and order payloads, keep the default validator.
+ */
+@ControllerAdvice(assignableTypes = {BeerController.class, AsyncBeerController.class})
+@ConditionalOnProperty(name = "beerstock.validation.mode", havingValue = "fast")
+@RequiredArgsConstructor
+public class FastValidationAdvice {
+
+    private final BeerDTOValidator beerDTOValidator;
+    private final QuantityDTOValidator quantityDTOValidator;
+
+    @InitBinder
+    public void useFastValidators(WebDataBinder binder) {
+        Object target = binder.getTarget();
+        if (target instanceof QuantityDTO) {
+            binder.replaceValidators(quantityDTOValidator);
+        } else if (target instanceof BeerDTO) {
+            binder.replaceValidators(beerDTOValidator);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package one.digitalinnovation.beerstock.validation;
+
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+@Component
+public class QuantityDTOValidator implements Validator {
+
+    public static final long MIN_QUANTITY = ConstraintChecks.minOf(QuantityDTO.class, "quantity");
+    public static final long MAX_QUANTITY = ConstraintChecks.maxOf(QuantityDTO.class, "quantity");
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return QuantityDTO.class == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        QuantityDTO quantityDTO = (QuantityDTO) target;
+        ConstraintChecks.notNull(errors, "quantity", quantityDTO.getQuantity());
+        ConstraintChecks.min(errors, "quantity", quantityDTO.getQuantity(), MIN_QUANTITY);
+        ConstraintChecks.max(errors, "quantity", quantityDTO.getQuantity(), MAX_QUANTITY);
+    }
+}
@@ -0,0 +1,6 @@
+-- Moves beer_seq past every id in use before Hibernate hands out a block of ids. A database created
+-- before beer ids came from the sequence has identity ids but a fresh sequence starting at 1. The
+-- sequence never goes back, so ids of purged beers are not reused, and the block the previous run may
+-- have taken is skipped.
+ALTER SEQUENCE beer_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(b.id), 0) + 1,
+    (SELECT CURRENT_VALUE + INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BEER_SEQ')) FROM beer b);
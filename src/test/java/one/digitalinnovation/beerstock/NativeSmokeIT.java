@@ -0,0 +1,124 @@
+package one.digitalinnovation.beerstock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Starts the native executable built by the {@code native} profile and replays the Postman collection
+ * against it. Delete runs last so the stock requests still find the beer created by the collection.
+ */
+class NativeSmokeIT {
+
+    private static final Map<String, Integer> EXPECTED_STATUS = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_STATUS.put("List Beers", 200);
+        EXPECTED_STATUS.put("Create Beer", 201);
+        EXPECTED_STATUS.put("Get beer by name", 200);
+        EXPECTED_STATUS.put("Increment beer stock", 200);
+        EXPECTED_STATUS.put("Decrement beer stock", 200);
+        EXPECTED_STATUS.put("Delete beer by id", 204);
+    }
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private Process application;
+    private int port;
+
+    @BeforeEach
+    void startNativeBinary() throws IOException, InterruptedException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        long start = System.nanoTime();
+        application = new ProcessBuilder(System.getProperty("native.binary"), "--server.port=" + port)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "beerstock-native.log"))
+                .start();
+        waitUntilHealthy();
+        System.out.printf("native binary ready in %d ms, RSS %s%n",
+                (System.nanoTime() - start) / 1_000_000, residentSetSize(application.pid()));
+    }
+
+    @AfterEach
+    void stopNativeBinary() {
+        application.destroy();
+    }
+
+    @Test
+    void postmanScenariosPassAgainstNativeBinary() throws IOException, InterruptedException {
+        Map<String, JsonNode> requests = loadPostmanRequests();
+
+        for (Map.Entry<String, Integer> scenario : EXPECTED_STATUS.entrySet()) {
+            HttpResponse<String> response = httpClient.send(toHttpRequest(requests.get(scenario.getKey())),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(scenario.getKey() + ": " + response.body(), response.statusCode(), equalTo(scenario.getValue()));
+        }
+    }
+
+    private Map<String, JsonNode> loadPostmanRequests() throws IOException {
+        JsonNode collection = new ObjectMapper().readTree(Path.of(System.getProperty("postman.collection")).toFile());
+        Map<String, JsonNode> requests = new LinkedHashMap<>();
+        for (JsonNode item : collection.get("item")) {
+            requests.put(item.get("name").asText(), item.get("request"));
+        }
+        return requests;
+    }
+
+    private HttpRequest toHttpRequest(JsonNode request) {
+        URI postmanUri = URI.create(request.get("url").asText().replace(" ", "%20"));
+        String body = request.path("body").path("raw").asText("");
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + postmanUri.getRawPath()))
+                .header("Content-Type", "application/json")
+                .method(request.get("method").asText(), body.isBlank()
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void waitUntilHealthy() throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("native binary did not become healthy on port " + port);
+    }
+
+    private static String residentSetSize(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("n/a");
+    }
+}
@@ -0,0 +1,44 @@
+package one.digitalinnovation.beerstock;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Starts the application with the {@code prod} profile in every build, so a bean that only fails with lazy
+ * initialization or without the excluded auto-configurations is caught here. How fast it starts is left to
+ * {@code StartupTimeBenchmark}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-smoke;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("prod")
+@AutoConfigureMockMvc
+class ProdProfileSmokeTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenTheProdProfileStartsThenBeansAreLazy() {
+        assertThat(context.getBeanFactory().getBeanDefinition("beerService").isLazyInit(), is(true));
+    }
+
+    @Test
+    void whenTheProdProfileStartsThenTheBeerListIsServed() throws Exception {
+        mockMvc.perform(get("/api/v1/beers"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,119 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.service.SoftDeleteService;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.QueryCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Retires a brand of N beers three ways: one {@code deleteById} per beer, one bulk delete by brand, and
+ * one bulk soft delete by brand. For each it reports the wall time of the calls, the statements they ran
+ * and the longest single call; for the soft delete it then runs the purge job and reports its batches.
+ * Run with {@code mvn test -Pbenchmark -Dtest=BulkDeleteBenchmark}.
+ */
+public class BulkDeleteBenchmark {
+
+    private static final int BEERS = Integer.getInteger("benchmark.bulk-delete.beers", 5_000);
+
+    @Test
+    void compareWaysToRetireABrand() throws Exception {
+        System.out.printf("%-12s %8s %10s %12s %18s%n", "way", "beers", "time(ms)", "statements", "longest call(ms)");
+
+        try (ConfigurableApplicationContext hard = start("hard", false)) {
+            BeerService beerService = hard.getBean(BeerService.class);
+
+            List<BeerDTO> beers = createBrand(beerService, "one by one");
+            long longest = 0;
+            long start = System.nanoTime();
+            QueryCount count = QueryCounter.start();
+            try {
+                for (BeerDTO beer : beers) {
+                    long deleteStart = System.nanoTime();
+                    beerService.deleteById(beer.getId());
+                    longest = Math.max(longest, System.nanoTime() - deleteStart);
+                }
+            } finally {
+                QueryCounter.stop(count);
+            }
+            report("deleteById", start, count, longest);
+
+            createBrand(beerService, "bulk");
+            start = System.nanoTime();
+            count = QueryCounter.start();
+            try {
+                assertThat(beerService.deleteAll(BulkDeleteDTO.builder().brand("bulk").build()).getDeleted(), equalTo(BEERS));
+            } finally {
+                QueryCounter.stop(count);
+            }
+            report("bulk", start, count, System.nanoTime() - start);
+        }
+
+        try (ConfigurableApplicationContext soft = start("soft", true)) {
+            BeerService beerService = soft.getBean(BeerService.class);
+
+            createBrand(beerService, "soft");
+            long start = System.nanoTime();
+            QueryCount count = QueryCounter.start();
+            try {
+                assertThat(beerService.deleteAll(BulkDeleteDTO.builder().brand("soft").build()).getDeleted(), equalTo(BEERS));
+            } finally {
+                QueryCounter.stop(count);
+            }
+            report("soft", start, count, System.nanoTime() - start);
+
+            long purgeStart = System.nanoTime();
+            assertThat(soft.getBean(SoftDeleteService.class).purge(), equalTo(BEERS));
+            Timer batches = soft.getBean(MeterRegistry.class).get("beerstock.delete.purge.batch").timer();
+            System.out.printf("purge: %d batches in %d ms, longest %.1f ms%n", batches.count(),
+                    (System.nanoTime() - purgeStart) / 1_000_000, batches.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private ConfigurableApplicationContext start(String database, boolean softDelete) {
+        return new SpringApplicationBuilder(BeerstockApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:bulk-delete-" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--server.port=0",
+                "--beerstock.outbox.relay.enabled=false",
+                "--beerstock.snapshot.enabled=false",
+                "--beerstock.delete.soft=" + softDelete,
+                "--beerstock.delete.purge.pause=PT0S",
+                "--beerstock.delete.purge.interval=PT1H");
+    }
+
+    private static List<BeerDTO> createBrand(BeerService beerService, String brand) throws Exception {
+        List<BeerDTO> created = new ArrayList<>();
+        List<BeerDTO> batch = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            batch.add(BeerDTOBuilder.builder().id(null).name(brand + " " + i).brand(brand).build().toBeerDTO());
+            if (batch.size() == 1_000 || i == BEERS - 1) {
+                created.addAll(beerService.createBeers(batch));
+                batch = new ArrayList<>();
+            }
+        }
+        return created;
+    }
+
+    private static void report(String way, long startNanos, QueryCount count, long longestNanos) {
+        System.out.printf("%-12s %8d %10d %12d %18.1f%n", way, BEERS, (System.nanoTime() - startNanos) / 1_000_000,
+                count.total(), longestNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,142 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.WarmCatalog;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.QueryCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Restarts a file backed node twice after it served the whole catalog: once cold and once with the warm
+ * catalog written on shutdown. For each restart it reports how long the first pass over every name takes,
+ * how many statements those reads ran and how many the database saw in total from startup until the node
+ * is warm, background revalidation included. Run with {@code mvn test -Pbenchmark -Dtest=CatalogWarmUpBenchmark}.
+ */
+public class CatalogWarmUpBenchmark {
+
+    private static final int BEERS = Integer.getInteger("benchmark.warm-up.beers", 5_000);
+
+    @Test
+    void compareColdAndWarmRestarts(@TempDir Path dataDir) throws Exception {
+        String fileProfile = "--spring.profiles.active=file";
+        String fileDir = "--beerstock.h2.data-dir=" + dataDir;
+
+        ConfigurableApplicationContext firstRun = start(fileProfile, fileDir);
+        List<String> names = seed(firstRun.getBean(BeerService.class));
+        firstPass(firstRun, names);
+        firstRun.close();
+
+        long coldStart = System.nanoTime();
+        ConfigurableApplicationContext cold = start(fileProfile, fileDir, "--beerstock.cache.warm.enabled=false");
+        long coldStartupMillis = millisSince(coldStart);
+        Pass coldPass = firstPass(cold, names);
+        long coldTotal = statements(cold);
+        cold.close();
+
+        long warmStart = System.nanoTime();
+        ConfigurableApplicationContext warm = start(fileProfile, fileDir);
+        long warmStartupMillis = millisSince(warmStart);
+        Pass warmPass = firstPass(warm, names);
+        awaitRevalidation(warm.getBean(WarmCatalog.class));
+        long warmTotal = statements(warm);
+        double revalidationMillis = warm.getBean(MeterRegistry.class)
+                .get("beerstock.cache.warm.revalidation").timer().totalTime(TimeUnit.MILLISECONDS);
+        warm.close();
+
+        System.out.printf("%-6s %12s %15s %18s %17s %16s%n",
+                "start", "startup(ms)", "first pass(ms)", "pass statements", "total statements", "revalidated(ms)");
+        System.out.printf("%-6s %12d %15d %18d %17d %16s%n",
+                "cold", coldStartupMillis, coldPass.millis, coldPass.statements, coldTotal, "-");
+        System.out.printf("%-6s %12d %15d %18d %17d %16.0f%n",
+                "warm", warmStartupMillis, warmPass.millis, warmPass.statements, warmTotal, revalidationMillis);
+
+        assertThat(coldPass.statements, equalTo(BEERS));
+    }
+
+    private ConfigurableApplicationContext start(String... args) {
+        List<String> all = new ArrayList<>(List.of(args));
+        all.add("--server.port=0");
+        all.add("--beerstock.ratelimit.enabled=false");
+        all.add("--beerstock.snapshot.enabled=false");
+        all.add("--beerstock.cache.ttl=10m");
+        return new SpringApplicationBuilder(BeerstockApplication.class).run(all.toArray(new String[0]));
+    }
+
+    private List<String> seed(BeerService beerService) throws Exception {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            beers.add(BeerDTOBuilder.builder()
+                    .id(null)
+                    .name("warm-up beer " + i)
+                    .build()
+                    .toBeerDTO());
+        }
+        List<String> names = new ArrayList<>();
+        for (BeerDTO beer : beerService.createBeers(beers)) {
+            names.add(beer.getName());
+        }
+        return names;
+    }
+
+    private Pass firstPass(ConfigurableApplicationContext context, List<String> names) throws Exception {
+        BeerService beerService = context.getBean(BeerService.class);
+        long start = System.nanoTime();
+        QueryCount count = QueryCounter.start();
+        try {
+            for (String name : names) {
+                beerService.findByName(name);
+            }
+        } finally {
+            QueryCounter.stop(count);
+        }
+        return new Pass(millisSince(start), count.total());
+    }
+
+    private static void awaitRevalidation(WarmCatalog warmCatalog) throws InterruptedException {
+        while (warmCatalog.isServing()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static long statements(ConfigurableApplicationContext context) {
+        long total = 0;
+        for (Timer timer : context.getBean(MeterRegistry.class).find("beerstock.sql.statements").timers()) {
+            total += timer.count();
+        }
+        return total;
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static class Pass {
+
+        private final long millis;
+        private final int statements;
+
+        private Pass(long millis, int statements) {
+            this.millis = millis;
+            this.statements = statements;
+        }
+    }
+}
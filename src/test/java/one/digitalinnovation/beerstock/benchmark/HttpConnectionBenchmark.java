@@ -0,0 +1,311 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.controller.LeanStockController;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Load harness for the {@code /increment} and {@code /decrement} endpoints over the ways a gateway can
+ * reach the service: a new HTTP/1.1 connection per request, reused HTTP/1.1 keep-alive connections (one
+ * per client) and HTTP/2 over cleartext, with all clients multiplexed on one connection. Each mode runs
+ * against a node with Tomcat's defaults and against one with the {@code prod} profile, which enables h2c
+ * and tunes keep-alive, max connections and accept count. It reports throughput, latency percentiles, the
+ * connections the clients had to open and those the server held open at the end. HTTP/1.1 is spoken over
+ * plain sockets, so connection reuse is exactly what the mode says, except that a keep-alive connection is
+ * reopened whenever the server ends it after {@code max-keep-alive-requests}. The HTTP/2 connection is
+ * opened before the run and not counted. Run with {@code mvn test -Pbenchmark -Dtest=HttpConnectionBenchmark}.
+ */
+public class HttpConnectionBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.http.clients", 8);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.http.requests", 1_000);
+    private static final byte[] QUANTITY_BODY = "{\"quantity\":1}".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void compareConnectionModes() throws Exception {
+        System.out.printf("%-8s %-11s %9s %10s %9s %9s %8s %12s%n",
+                "server", "mode", "requests", "req/s", "p50(us)", "p99(us)", "opened", "server conns");
+        run("default");
+        run("prod", "--spring.profiles.active=prod");
+    }
+
+    private void run(String server, String... args) throws Exception {
+        List<String> all = new ArrayList<>(List.of(args));
+        all.add("--server.port=0");
+        all.add("--beerstock.ratelimit.enabled=false");
+        all.add("--beerstock.snapshot.enabled=false");
+        all.add("--spring.datasource.url=jdbc:h2:mem:http-connection-" + server + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(BeerstockApplication.class).run(all.toArray(new String[0]));
+        try {
+            int port = context.getWebServer().getPort();
+            long[] beerIds = createBeers(context.getBean(BeerService.class));
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            report(server, "close", meterRegistry, measure(beerIds, client -> new SocketClient(port, true)));
+            report(server, "keep-alive", meterRegistry, measure(beerIds, client -> new SocketClient(port, false)));
+            HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+            HttpResponse<Void> upgrade = http2.send(HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + port + "/api/v1/beers/" + beerIds[0] + "/stock")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            String mode = upgrade.version() == HttpClient.Version.HTTP_2 ? "h2c" : "h2c->1.1";
+            report(server, mode, meterRegistry, measure(beerIds, client -> new Http2Client(http2, port)));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long[] createBeers(BeerService beerService) throws Exception {
+        long[] ids = new long[CLIENTS];
+        for (int client = 0; client < CLIENTS; client++) {
+            ids[client] = beerService.createBeer(BeerDTO.builder()
+                    .name("http connection beer " + client)
+                    .brand("Benchmark")
+                    .max(500)
+                    .quantity(50)
+                    .type(BeerType.LAGER)
+                    .build()).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Every client alternates increments and decrements of its own beer, so quantities never leave the
+     * range and no two clients wait on the same row.
+     */
+    private static Run measure(long[] beerIds, ClientFactory clientFactory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Callable<long[]>> clients = new ArrayList<>();
+        LongAdder opened = new LongAdder();
+        for (int client = 0; client < CLIENTS; client++) {
+            long beerId = beerIds[client];
+            int clientNumber = client;
+            clients.add(() -> {
+                long[] latencies = new long[REQUESTS_PER_CLIENT];
+                try (StockClient stockClient = clientFactory.create(clientNumber)) {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        String path = "/api/v1/beers/" + beerId + (i % 2 == 0 ? "/increment" : "/decrement");
+                        long start = System.nanoTime();
+                        assertThat(stockClient.patch(path), equalTo(200));
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    opened.add(stockClient.connectionsOpened());
+                }
+                return latencies;
+            });
+        }
+        long start = System.nanoTime();
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> result : executor.invokeAll(clients)) {
+            results.add(result.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        int next = 0;
+        for (long[] clientLatencies : results) {
+            System.arraycopy(clientLatencies, 0, latencies, next, clientLatencies.length);
+            next += clientLatencies.length;
+        }
+        Arrays.sort(latencies);
+        return new Run(latencies, elapsed, opened.sum());
+    }
+
+    private static void report(String server, String mode, MeterRegistry meterRegistry, Run run) {
+        int requests = run.latencies.length;
+        System.out.printf(Locale.ROOT, "%-8s %-11s %9d %10.0f %9.0f %9.0f %8d %12.0f%n", server, mode, requests,
+                requests / (run.elapsedNanos / 1e9),
+                run.latencies[requests / 2] / 1e3,
+                run.latencies[(int) (requests * 0.99)] / 1e3,
+                run.connectionsOpened,
+                meterRegistry.get("beerstock.http.connections").gauge().value());
+    }
+
+    private static class Run {
+
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final long connectionsOpened;
+
+        private Run(long[] latencies, long elapsedNanos, long connectionsOpened) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.connectionsOpened = connectionsOpened;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ClientFactory {
+
+        StockClient create(int client) throws IOException;
+    }
+
+    private interface StockClient extends AutoCloseable {
+
+        int patch(String path) throws Exception;
+
+        int connectionsOpened();
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * HTTP/1.1 over a plain socket, either reused until the server answers with {@code Connection: close}
+     * or opened for each request and closed by the server after the response.
+     */
+    private static class SocketClient implements StockClient {
+
+        private final int port;
+        private final boolean connectionPerRequest;
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+        private int connectionsOpened;
+
+        private SocketClient(int port, boolean connectionPerRequest) {
+            this.port = port;
+            this.connectionPerRequest = connectionPerRequest;
+        }
+
+        @Override
+        public int patch(String path) throws IOException {
+            if (socket == null) {
+                socket = new Socket("localhost", port);
+                socket.setTcpNoDelay(true);
+                in = new BufferedInputStream(socket.getInputStream());
+                out = socket.getOutputStream();
+                connectionsOpened++;
+            }
+            ByteArrayOutputStream request = new ByteArrayOutputStream(256);
+            request.write(("PATCH " + path + " HTTP/1.1\r\n"
+                    + "Host: localhost:" + port + "\r\n"
+                    + "Accept: " + LeanStockController.STOCK_MEDIA_TYPE + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Content-Length: " + QUANTITY_BODY.length + "\r\n"
+                    + (connectionPerRequest ? "Connection: close\r\n" : "")
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            request.write(QUANTITY_BODY);
+            out.write(request.toByteArray());
+            out.flush();
+            return readResponse();
+        }
+
+        /**
+         * Reads the status line, headers and body, and closes the socket if the server is going to.
+         */
+        private int readResponse() throws IOException {
+            String statusLine = readLine();
+            int contentLength = 0;
+            boolean closing = false;
+            for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                } else if (header.regionMatches(true, 0, "Connection:", 0, 11)) {
+                    closing = header.substring(11).trim().equalsIgnoreCase("close");
+                }
+            }
+            if (in.readNBytes(contentLength).length != contentLength) {
+                throw new IOException("Connection closed inside the response body");
+            }
+            if (closing) {
+                close();
+            }
+            return Integer.parseInt(statusLine.substring(9, 12));
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b < 0) {
+                    throw new IOException("Connection closed inside the response head");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public int connectionsOpened() {
+            return connectionsOpened;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (socket != null) {
+                socket.close();
+                socket = null;
+            }
+        }
+    }
+
+    /**
+     * HTTP/2 over cleartext through one {@link HttpClient} shared by every client, so all requests are
+     * streams of the connection upgraded before the run.
+     */
+    private static class Http2Client implements StockClient {
+
+        private final HttpClient client;
+        private final int port;
+
+        private Http2Client(HttpClient client, int port) {
+            this.client = client;
+            this.port = port;
+        }
+
+        @Override
+        public int patch(String path) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(QUANTITY_BODY))
+                    .header("Accept", LeanStockController.STOCK_MEDIA_TYPE)
+                    .header("Content-Type", "application/json")
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        @Override
+        public int connectionsOpened() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.StatementType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static one.digitalinnovation.beerstock.utils.QueryCountUtils.countQueries;
+
+/**
+ * Single versus bulk insert throughput of {@link BeerService} against H2, which depends on how
+ * {@code Beer.id} is generated. Round trips are counted below Hibernate, where a JDBC batch is one
+ * execution however many rows it carries. Run with {@code mvn test -Pbenchmark -Dtest=IdGenerationBenchmark}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:id-generation-benchmark;DB_CLOSE_DELAY=-1")
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.id-generation.rows", 10_000);
+    private static final int BULK_SIZE = 500;
+    private static final int WARMUP_ROWS = 2_000;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void singleAndBulkInsertThroughput() throws Exception {
+        insertOneByOne("warmup single", WARMUP_ROWS);
+        insertInBulk("warmup bulk", WARMUP_ROWS);
+
+        double[] rowsPerSecond = new double[2];
+        QueryCount single = countQueries(() -> rowsPerSecond[0] = insertOneByOne("single", ROWS));
+        QueryCount bulk = countQueries(() -> rowsPerSecond[1] = insertInBulk("bulk", ROWS));
+
+        System.out.printf("%-8s %14s %18s %25s%n", "insert", "rows/s", "round trips/row", "insert executions/row");
+        print("single", rowsPerSecond[0], single);
+        print("bulk", rowsPerSecond[1], bulk);
+    }
+
+    private static void print(String label, double rowsPerSecond, QueryCount count) {
+        System.out.printf("%-8s %14.1f %18.3f %25.3f%n", label, rowsPerSecond,
+                (double) count.total() / ROWS, (double) count.get(StatementType.INSERT) / ROWS);
+    }
+
+    private double insertOneByOne(String prefix, int rows) throws BeerAlreadyRegisteredException {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            beerService.createBeer(beer(prefix, i));
+        }
+        return rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private double insertInBulk(String prefix, int rows) throws BeerAlreadyRegisteredException {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i += BULK_SIZE) {
+            List<BeerDTO> bulk = new ArrayList<>(BULK_SIZE);
+            for (int j = i; j < Math.min(rows, i + BULK_SIZE); j++) {
+                bulk.add(beer(prefix, j));
+            }
+            beerService.createBeers(bulk);
+        }
+        return rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static BeerDTO beer(String prefix, int index) {
+        return BeerDTOBuilder.builder()
+                .id(null)
+                .name(prefix + " beer " + index)
+                .build()
+                .toBeerDTO();
+    }
+}
@@ -0,0 +1,124 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.controller.LeanStockController;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bytes allocated by the server per stock mutation, on the DTO path of {@code BeerController} and on the
+ * lean path of {@link LeanStockController}. Allocation is read from the Tomcat worker threads, and the
+ * lean run is also recorded to {@code target/lean-stock-path.jfr} for {@code jfr print --events
+ * jdk.ObjectAllocationInNewTLAB}. Run with {@code mvn test -Pbenchmark -Dtest=LeanStockPathBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lean-stock-path-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.ratelimit.enabled=false"
+})
+public class LeanStockPathBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.lean-stock.requests", 20_000);
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final Path RECORDING = Paths.get("target", "lean-stock-path.jfr");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void allocationPerStockMutation() throws Exception {
+        long id = createBeer();
+
+        mutate(id, MediaType.APPLICATION_JSON_VALUE, WARMUP_REQUESTS);
+        mutate(id, LeanStockController.STOCK_MEDIA_TYPE, WARMUP_REQUESTS);
+
+        double dtoBytes = mutate(id, MediaType.APPLICATION_JSON_VALUE, REQUESTS);
+        double leanBytes;
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+            recording.start();
+            leanBytes = mutate(id, LeanStockController.STOCK_MEDIA_TYPE, REQUESTS);
+            recording.stop();
+            recording.dump(RECORDING);
+        }
+
+        System.out.printf("%-6s %18s%n", "path", "bytes/request");
+        System.out.printf("%-6s %18.0f%n", "dto", dtoBytes);
+        System.out.printf("%-6s %18.0f%n", "lean", leanBytes);
+        System.out.printf("allocation profile of the lean path written to %s%n", RECORDING.toAbsolutePath());
+    }
+
+    /**
+     * Alternates increments and decrements of one unit, so the stock stays within bounds, and returns the
+     * bytes the worker threads allocated per request.
+     */
+    private double mutate(long id, String accept, int requests) throws IOException, InterruptedException {
+        HttpRequest increment = request(id, "increment", accept);
+        HttpRequest decrement = request(id, "decrement", accept);
+        long before = serverAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            HttpResponse<Void> response = client.send(i % 2 == 0 ? increment : decrement, HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, response.statusCode());
+        }
+        return (double) (serverAllocatedBytes() - before) / requests;
+    }
+
+    private HttpRequest request(long id, String operation, String accept) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers/" + id + "/" + operation))
+                .header("Accept", accept)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":1}"))
+                .build();
+    }
+
+    private static long serverAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] workerIds = Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds()))
+                .filter(info -> info != null && info.getThreadName().startsWith("http-nio-"))
+                .mapToLong(ThreadInfo::getThreadId)
+                .toArray();
+        return Arrays.stream(threads.getThreadAllocatedBytes(workerIds)).filter(bytes -> bytes > 0).sum();
+    }
+
+    private long createBeer() throws BeerAlreadyRegisteredException {
+        BeerDTO beerDTO = BeerDTO.builder()
+                .name("Lean Path Lager")
+                .brand("Benchmark")
+                .max(500)
+                .quantity(100)
+                .type(BeerType.LAGER)
+                .build();
+        return beerService.createBeer(beerDTO).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Compares the in-memory datasource with the file backed {@code file} profile.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PersistenceModeBenchmark}.
+ */
+public class PersistenceModeBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.persistence.rows", 5_000);
+
+    @Test
+    void compareInMemoryAndFileBackedModes(@TempDir Path dataDir) throws BeerAlreadyRegisteredException {
+        // warm up class loading so the first measured start is not penalized
+        start("--spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1").close();
+
+        long memoryStart = System.nanoTime();
+        ConfigurableApplicationContext memoryContext = start("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        long memoryStartupMillis = millisSince(memoryStart);
+        double memoryWritesPerSecond = seed(memoryContext.getBean(BeerService.class));
+        memoryContext.close();
+
+        String fileProfile = "--spring.profiles.active=file";
+        String fileDir = "--beerstock.h2.data-dir=" + dataDir;
+
+        long coldStart = System.nanoTime();
+        ConfigurableApplicationContext coldContext = start(fileProfile, fileDir);
+        long coldStartupMillis = millisSince(coldStart);
+        double fileWritesPerSecond = seed(coldContext.getBean(BeerService.class));
+        coldContext.close();
+
+        long warmStart = System.nanoTime();
+        ConfigurableApplicationContext warmContext = start(fileProfile, fileDir);
+        long warmStartupMillis = millisSince(warmStart);
+        int rowsAfterRestart = warmContext.getBean(BeerService.class).listAll().size();
+        warmContext.close();
+
+        System.out.printf("%-22s %12s %14s%n", "mode", "startup(ms)", "writes/s");
+        System.out.printf("%-22s %12d %14.1f%n", "in-memory", memoryStartupMillis, memoryWritesPerSecond);
+        System.out.printf("%-22s %12d %14.1f%n", "file (cold)", coldStartupMillis, fileWritesPerSecond);
+        System.out.printf("%-22s %12d %14s%n", "file (warm, " + ROWS + " rows)", warmStartupMillis, "-");
+
+        assertThat(rowsAfterRestart, equalTo(ROWS));
+    }
+
+    private ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(BeerstockApplication.class)
+                .run(concat(args, "--server.port=0"));
+    }
+
+    private double seed(BeerService beerService) throws BeerAlreadyRegisteredException {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            beerService.createBeer(BeerDTOBuilder.builder()
+                    .id(null)
+                    .name("benchmark beer " + i)
+                    .build()
+                    .toBeerDTO());
+        }
+        return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static String[] concat(String[] args, String extra) {
+        String[] all = new String[args.length + 1];
+        System.arraycopy(args, 0, all, 0, args.length);
+        all[args.length] = extra;
+        return all;
+    }
+}
@@ -0,0 +1,119 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.service.ReconciliationService;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Reconciles a generated count file against a seeded catalog. The file is produced line by line while it
+ * is read, so the peak heap reported is what the reconciliation itself holds, not the file.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ReconciliationBenchmark -Dbenchmark.reconciliation.rows=1000000}.
+ */
+public class ReconciliationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.reconciliation.rows", 200_000);
+    private static final int SEED_BATCH = 5_000;
+
+    @Test
+    void reconcileGeneratedCountFile() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:reconciliation-benchmark;DB_CLOSE_DELAY=-1",
+                        "--beerstock.outbox.relay.enabled=false",
+                        "--server.port=0")) {
+            seed(context.getBean(JdbcTemplate.class));
+            ReconciliationService reconciliationService = context.getBean(ReconciliationService.class);
+
+            System.gc();
+            resetPeakHeap();
+            ReconciliationReportDTO report = reconciliationService.reconcile(new CountFileReader(ROWS));
+            long peakHeapMegabytes = peakHeap() / (1024 * 1024);
+
+            System.out.printf("%-10s %12s %12s %14s %14s%n", "rows", "corrected", "time(ms)", "rows/s", "peak heap(MB)");
+            System.out.printf("%-10d %12d %12d %14.0f %14d%n", report.getRowsRead(), report.getCorrected(),
+                    report.getDurationMillis(), report.getRowsRead() * 1000.0 / Math.max(1, report.getDurationMillis()),
+                    peakHeapMegabytes);
+
+            assertThat(report.getMatched(), equalTo((long) ROWS));
+            assertThat(report.getCorrected(), equalTo((long) (ROWS + 9) / 10));
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 1; i <= ROWS; i++) {
+            batch.add(new Object[]{i, "beer " + i, "Ambev", 100, 10, "LAGER"});
+            if (batch.size() == SEED_BATCH || i == ROWS) {
+                jdbcTemplate.batchUpdate("INSERT INTO beer (id, name, brand, max, quantity, type) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Yields {@code name,quantity} lines for beers 1 to {@code rows}; every tenth count differs from the
+     * seeded stock.
+     */
+    private static final class CountFileReader extends Reader {
+
+        private final int rows;
+        private int nextRow = 1;
+        private String line = "";
+        private int position;
+
+        private CountFileReader(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == line.length()) {
+                if (nextRow > rows) {
+                    return -1;
+                }
+                line = "beer " + nextRow + "," + (nextRow % 10 == 1 ? 12 : 10) + "\n";
+                position = 0;
+                nextRow++;
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
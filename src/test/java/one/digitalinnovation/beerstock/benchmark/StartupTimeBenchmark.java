@@ -0,0 +1,43 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Guards the startup time of the {@code prod} profile against the default one. Both start after a warm-up
+ * start, so class loading of the test JVM is not charged to either. The budget can be tightened or relaxed
+ * per machine with {@code -Dbeerstock.startup.budget-millis}.
+ * Run with {@code mvn test -Pbenchmark -Dtest=StartupTimeBenchmark}.
+ */
+public class StartupTimeBenchmark {
+
+    private static final long STARTUP_BUDGET_MILLIS = Long.getLong("beerstock.startup.budget-millis", 3_000L);
+
+    @Test
+    void prodProfileStartsWithinBudget() {
+        startupMillis("warmup");
+
+        long defaultMillis = startupMillis("default-profile");
+        long prodMillis = startupMillis("prod-profile", "prod");
+
+        System.out.printf("%-10s %12s%n", "profile", "startup(ms)");
+        System.out.printf("%-10s %12d%n", "default", defaultMillis);
+        System.out.printf("%-10s %12d%n", "prod", prodMillis);
+        assertThat(prodMillis, lessThan(STARTUP_BUDGET_MILLIS));
+    }
+
+    private static long startupMillis(String database, String... profiles) {
+        long start = System.nanoTime();
+        new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1")
+                .close();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,119 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.cache.OffHeapStockTable;
+import one.digitalinnovation.beerstock.entity.Beer;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Keeps the stock of N beers in a {@code ConcurrentHashMap<Long, Beer>} and in an {@link OffHeapStockTable}
+ * and reports, for each, the heap and direct memory retained, the pause of a full collection while the
+ * store is live and the cost of a random quantity update. Sizes are set with
+ * {@code -Dbenchmark.stock-table.sizes=1000000,10000000}. Run with
+ * {@code mvn test -Pbenchmark -Dtest=StockTableBenchmark}.
+ */
+public class StockTableBenchmark {
+
+    private static final String SIZES = System.getProperty("benchmark.stock-table.sizes", "1000000,10000000");
+    private static final int UPDATES = 5_000_000;
+    private static final int FULL_GCS = 3;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void compareHeapAndOffHeapStores() {
+        System.out.printf("%-9s %11s %10s %14s %14s %12s%n",
+                "store", "entries", "heap(MB)", "off-heap(MB)", "full gc(ms)", "ns/update");
+        for (String size : SIZES.split(",")) {
+            int entries = Integer.parseInt(size.trim());
+            onHeap(entries);
+            offHeap(entries);
+        }
+    }
+
+    private void onHeap(int entries) {
+        long heapBefore = usedHeapAfterGc();
+        Map<Long, Beer> beers = new ConcurrentHashMap<>(entries);
+        for (long id = 1; id <= entries; id++) {
+            beers.put(id, new Beer(id, null, null, 500, 0, null));
+        }
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        double gcMillis = fullGcMillis();
+
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            beers.computeIfPresent(1 + (long) random.nextInt(entries), (id, beer) -> {
+                beer.setQuantity(beer.getQuantity() + 1);
+                return beer;
+            });
+        }
+        double nanosPerUpdate = (double) (System.nanoTime() - start) / UPDATES;
+
+        report("heap", entries, heapBytes, 0, gcMillis, nanosPerUpdate);
+        assertThat(beers.size(), equalTo(entries));
+    }
+
+    private void offHeap(int entries) {
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directBytes();
+        OffHeapStockTable table = new OffHeapStockTable(entries);
+        for (long id = 1; id <= entries; id++) {
+            table.put(id, 0, 500);
+        }
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        long directBytes = directBytes() - directBefore;
+        double gcMillis = fullGcMillis();
+
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            table.addQuantity(1 + random.nextInt(entries), 1);
+        }
+        double nanosPerUpdate = (double) (System.nanoTime() - start) / UPDATES;
+
+        report("off-heap", entries, heapBytes, directBytes, gcMillis, nanosPerUpdate);
+        assertThat(table.size(), equalTo(entries));
+    }
+
+    private void report(String store, int entries, long heapBytes, long directBytes, double gcMillis, double nanosPerUpdate) {
+        System.out.printf("%-9s %11d %10.1f %14.1f %14.1f %12.1f%n", store, entries,
+                heapBytes / 1048576.0, directBytes / 1048576.0, gcMillis, nanosPerUpdate);
+    }
+
+    /**
+     * Average duration of an explicit full collection, which has to trace everything still reachable.
+     */
+    private static double fullGcMillis() {
+        long total = 0;
+        for (int i = 0; i < FULL_GCS; i++) {
+            long start = System.nanoTime();
+            System.gc();
+            total += System.nanoTime() - start;
+        }
+        return total / (FULL_GCS * 1_000_000.0);
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
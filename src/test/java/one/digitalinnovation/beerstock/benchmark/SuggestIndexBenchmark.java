@@ -0,0 +1,75 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.search.BeerPrefixIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Fills a {@link BeerPrefixIndex} with N beers and reports the latency percentiles of top-10 suggestions
+ * for random prefixes of one to six characters of their words. The size is set with
+ * {@code -Dbenchmark.suggest.beers=1000000}. Run with {@code mvn test -Pbenchmark -Dtest=SuggestIndexBenchmark}.
+ */
+public class SuggestIndexBenchmark {
+
+    private static final int BEERS = Integer.getInteger("benchmark.suggest.beers", 1_000_000);
+    private static final int QUERIES = 200_000;
+    private static final List<String> WORDS = List.of("brahma", "chopp", "colorado", "indica", "bohemia",
+            "puro", "malte", "session", "imperial", "stout", "weiss", "lager", "pilsen", "amber", "red", "porter");
+    private static final List<String> BRANDS = List.of("Ambev", "Colorado", "Baden Baden", "Eisenbahn", "Wäls", "Dádiva");
+    private static final BeerType[] TYPES = BeerType.values();
+
+    @Test
+    void measureSuggestionLatency() {
+        SplittableRandom random = new SplittableRandom(42);
+        BeerPrefixIndex index = new BeerPrefixIndex();
+        long start = System.nanoTime();
+        for (long id = 1; id <= BEERS; id++) {
+            String name = word(random) + " " + word(random) + " " + id;
+            index.add(new BeerSuggestionDTO(id, name, BRANDS.get(random.nextInt(BRANDS.size())),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = random.nextInt(4) == 0 ? String.valueOf(1 + random.nextInt(BEERS)) : word(random);
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(6, word.length())));
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            index.suggest(prefixes[i], 10);
+        }
+
+        long[] nanos = new long[QUERIES];
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long queryStart = System.nanoTime();
+            found += index.suggest(prefixes[i], 10).size();
+            nanos[i] = System.nanoTime() - queryStart;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%11s %11s %10s %10s %10s %10s%n", "beers", "terms", "build(ms)", "p50(us)", "p99(us)", "p999(us)");
+        System.out.printf("%11d %11d %10d %10.1f %10.1f %10.1f%n", BEERS, index.terms(), buildMillis,
+                percentile(nanos, 0.50), percentile(nanos, 0.99), percentile(nanos, 0.999));
+
+        assertThat(index.suggest("brahma", 10).size(), equalTo(10));
+        assertThat(found > 0, equalTo(true));
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.round(percentile * sortedNanos.length))] / 1_000.0;
+    }
+}
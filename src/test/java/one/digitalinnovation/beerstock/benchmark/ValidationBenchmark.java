@@ -0,0 +1,112 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.validation.BeerDTOValidator;
+import one.digitalinnovation.beerstock.validation.QuantityDTOValidator;
+
+import org.junit.jupiter.api.Test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Hibernate Validator, as wired by Spring, with the hand-written validators of the fast mode,
+ * on valid bodies and on bodies that fail one constraint.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private LocalValidatorFactoryBean beanValidator;
+    private Validator quantityDTOValidator;
+    private Validator beerDTOValidator;
+    private QuantityDTO validQuantity;
+    private QuantityDTO invalidQuantity;
+    private BeerDTO validBeer;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        quantityDTOValidator = new QuantityDTOValidator();
+        beerDTOValidator = new BeerDTOValidator();
+        validQuantity = new QuantityDTO(10);
+        invalidQuantity = new QuantityDTO(101);
+        validBeer = BeerDTOBuilder.builder().build().toBeerDTO();
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public Errors beanValidationValidQuantity() {
+        return validate(beanValidator, validQuantity, "quantityDTO");
+    }
+
+    @Benchmark
+    public Errors fastValidQuantity() {
+        return validate(quantityDTOValidator, validQuantity, "quantityDTO");
+    }
+
+    @Benchmark
+    public Errors beanValidationInvalidQuantity() {
+        return validate(beanValidator, invalidQuantity, "quantityDTO");
+    }
+
+    @Benchmark
+    public Errors fastInvalidQuantity() {
+        return validate(quantityDTOValidator, invalidQuantity, "quantityDTO");
+    }
+
+    @Benchmark
+    public Errors beanValidationValidBeer() {
+        return validate(beanValidator, validBeer, "beerDTO");
+    }
+
+    @Benchmark
+    public Errors fastValidBeer() {
+        return validate(beerDTOValidator, validBeer, "beerDTO");
+    }
+
+    @Test
+    void compareValidators() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValidationBenchmark.class.getName() + "\\.")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build())
+                .run();
+    }
+
+    private static Errors validate(Validator validator, Object target, String objectName) {
+        Errors errors = new BeanPropertyBindingResult(target, objectName);
+        validator.validate(target, errors);
+        return errors;
+    }
+}
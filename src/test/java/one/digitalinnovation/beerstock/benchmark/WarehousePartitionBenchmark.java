@@ -0,0 +1,149 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.repository.WarehouseStock;
+import one.digitalinnovation.beerstock.repository.WarehouseStockRepository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Runs one writer thread per warehouse, each alternating increments and decrements of random beers in its
+ * own warehouse, against the warehouse stock stored in one table and hash partitioned over several, and
+ * reports the throughput of both. It then compares reading the cross-warehouse total of a beer by summing
+ * the partitions with reading it from {@code warehouse_totals}, which every write keeps up to date. Run with
+ * {@code mvn test -Pbenchmark -Dtest=WarehousePartitionBenchmark}.
+ */
+public class WarehousePartitionBenchmark {
+
+    private static final int WAREHOUSES = Integer.getInteger("benchmark.warehouse.warehouses", 8);
+    private static final int BEERS = Integer.getInteger("benchmark.warehouse.beers", 2_000);
+    private static final int UPDATES_PER_WAREHOUSE = Integer.getInteger("benchmark.warehouse.updates", 20_000);
+    private static final int TOTAL_READS = 20_000;
+
+    /**
+     * Without a Spring context logback logs every statement at debug level, which would dominate the timings.
+     */
+    @BeforeAll
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareOneTableWithPartitions() throws Exception {
+        System.out.printf("%-11s %12s %14s %16s %19s%n", "partitions", "updates", "updates/s", "sum read(us)", "totals read(us)");
+        for (int partitions : new int[]{1, WAREHOUSES}) {
+            run(partitions);
+        }
+    }
+
+    private void run(int partitions) throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:warehouse-partitions-" + partitions);
+            dataSource.setMaximumPoolSize(WAREHOUSES + 1);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE beer (id BIGINT PRIMARY KEY, max INT DEFAULT 0 NOT NULL,"
+                    + " quantity INT DEFAULT 0 NOT NULL, deleted BOOLEAN DEFAULT FALSE NOT NULL)");
+            WarehouseStockRepository repository = new WarehouseStockRepository(jdbcTemplate, partitions);
+            repository.createPartitions();
+            seed(jdbcTemplate, repository);
+
+            ExecutorService writers = Executors.newFixedThreadPool(WAREHOUSES);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int warehouse = 0; warehouse < WAREHOUSES; warehouse++) {
+                long warehouseId = 2 + warehouse;
+                tasks.add(() -> {
+                    write(repository, warehouseId);
+                    return null;
+                });
+            }
+            long start = System.nanoTime();
+            for (Future<Void> task : writers.invokeAll(tasks)) {
+                task.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            writers.shutdown();
+
+            long totalUpdates = (long) WAREHOUSES * UPDATES_PER_WAREHOUSE;
+            System.out.printf("%-11d %12d %14.0f %16.1f %19.1f%n", partitions, totalUpdates, totalUpdates / seconds,
+                    sumReadMicros(jdbcTemplate, partitions), totalsReadMicros(repository));
+            assertThat(jdbcTemplate.queryForObject(sumSql(partitions, ""), Long.class), equalTo((long) WAREHOUSES * BEERS * 50));
+            assertThat(jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM warehouse_totals", Long.class),
+                    equalTo((long) WAREHOUSES * BEERS * 50));
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, WarehouseStockRepository repository) {
+        List<Object[]> beers = new ArrayList<>(BEERS);
+        for (long id = 1; id <= BEERS; id++) {
+            beers.add(new Object[]{id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO beer (id) VALUES (?)", beers);
+        for (int warehouse = 0; warehouse < WAREHOUSES; warehouse++) {
+            for (long id = 1; id <= BEERS; id++) {
+                repository.insert(new WarehouseStock(2 + warehouse, id, 50, 100));
+            }
+        }
+    }
+
+    private static void write(WarehouseStockRepository repository, long warehouseId) {
+        SplittableRandom random = new SplittableRandom(warehouseId);
+        for (int i = 0; i < UPDATES_PER_WAREHOUSE; i += 2) {
+            long beerId = 1 + random.nextInt(BEERS);
+            repository.incrementIfWithinMax(warehouseId, beerId, 1);
+            repository.decrementIfAvailable(warehouseId, beerId, 1);
+        }
+    }
+
+    /**
+     * What the cross-warehouse read would cost without {@code warehouse_totals}: one sum over every partition.
+     */
+    private static double sumReadMicros(JdbcTemplate jdbcTemplate, int partitions) {
+        String sql = sumSql(partitions, " WHERE beer_id = ?");
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < TOTAL_READS; i++) {
+            Object[] beerId = new Object[partitions];
+            Arrays.fill(beerId, 1L + random.nextInt(BEERS));
+            jdbcTemplate.queryForObject(sql, Long.class, beerId);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / TOTAL_READS;
+    }
+
+    private static double totalsReadMicros(WarehouseStockRepository repository) {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] quantity = new long[1];
+        long start = System.nanoTime();
+        for (int i = 0; i < TOTAL_READS; i++) {
+            repository.totalsOfBeer(1L + random.nextInt(BEERS), (beerId, total, max, warehouses) -> quantity[0] += total);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / TOTAL_READS;
+    }
+
+    private static String sumSql(int partitions, String condition) {
+        List<String> sums = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            sums.add("(SELECT COALESCE(SUM(quantity), 0) FROM warehouse_stock_" + partition + condition + ")");
+        }
+        return "SELECT " + String.join(" + ", sums);
+    }
+}
@@ -0,0 +1,84 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BeerReadCacheTest {
+
+    private static final String NAME = "Brahma";
+
+    private final BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+    @Test
+    void whenLoadCompletesWithoutEvictionThenValueIsCached() {
+        BeerReadCache cache = new BeerReadCache(Duration.ofMinutes(1), 100);
+
+        cache.putIfCurrent(NAME, beerDTO, cache.stamp(NAME));
+
+        assertThat(cache.get(NAME), equalTo(Optional.of(beerDTO)));
+    }
+
+    @Test
+    void whenACallerChangesItsBeerThenTheCachedOneIsUnchanged() {
+        BeerReadCache cache = new BeerReadCache(Duration.ofMinutes(1), 100);
+        BeerDTO loaded = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        cache.putIfCurrent(NAME, loaded, cache.stamp(NAME));
+        loaded.setQuantity(0);
+        cache.get(NAME).orElseThrow().setQuantity(0);
+
+        assertThat(cache.get(NAME), equalTo(Optional.of(beerDTO)));
+    }
+
+    @Test
+    void whenEvictionHappensDuringLoadThenLoadedValueIsDiscarded() {
+        BeerReadCache cache = new BeerReadCache(Duration.ofMinutes(1), 100);
+        long stamp = cache.stamp(NAME);
+
+        cache.evict(NAME);
+        cache.putIfCurrent(NAME, beerDTO, stamp);
+
+        assertThat(cache.get(NAME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void whenTtlIsZeroThenNothingIsCached() {
+        BeerReadCache cache = new BeerReadCache(Duration.ZERO, 100);
+
+        cache.putIfCurrent(NAME, beerDTO, cache.stamp(NAME));
+
+        assertThat(cache.get(NAME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void whenCacheIsFullThenTheEntryCachedFirstMakesRoom() {
+        BeerReadCache cache = new BeerReadCache(Duration.ofMinutes(1), 2);
+
+        cache.putIfCurrent("Skol", beerDTO, cache.stamp("Skol"));
+        cache.putIfCurrent("Antarctica", beerDTO, cache.stamp("Antarctica"));
+        cache.putIfCurrent(NAME, beerDTO, cache.stamp(NAME));
+
+        assertThat(cache.get("Skol"), equalTo(Optional.empty()));
+        assertThat(cache.get("Antarctica"), equalTo(Optional.of(beerDTO)));
+        assertThat(cache.get(NAME), equalTo(Optional.of(beerDTO)));
+        assertThat(cache.hotEntries().size(), equalTo(2));
+    }
+
+    @Test
+    void whenACachedNameIsPutAgainInAFullCacheThenNothingIsEvicted() {
+        BeerReadCache cache = new BeerReadCache(Duration.ofMinutes(1), 1);
+
+        cache.putIfCurrent(NAME, beerDTO, cache.stamp(NAME));
+        cache.putIfCurrent(NAME, beerDTO, cache.stamp(NAME));
+
+        assertThat(cache.get(NAME), equalTo(Optional.of(beerDTO)));
+    }
+}
@@ -0,0 +1,111 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Two application contexts sharing one H2 database, each with its own read cache. Writes on one node
+ * must become visible on the other within {@link #MAX_LAG}, which is far below the cache TTL, so only
+ * the invalidation bus can explain it.
+ */
+public class CacheCoherenceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+    private static final String BEER_NAME = "Coherent";
+
+    @Test
+    void whenBeerIsWrittenOnOneNodeThenReadsOnTheOtherConvergeOverLoopbackBus() throws Exception {
+        String database = "coherence-loopback";
+        try (ConfigurableApplicationContext nodeA = startNode(database, true, "--beerstock.cache.bus.loopback.channel=" + database);
+             ConfigurableApplicationContext nodeB = startNode(database, false, "--beerstock.cache.bus.loopback.channel=" + database)) {
+            assertReadsConverge(nodeA.getBean(BeerService.class), nodeB.getBean(BeerService.class));
+        }
+    }
+
+    @Test
+    void whenBeerIsWrittenOnOneNodeThenReadsOnTheOtherConvergeOverUdpBus() throws Exception {
+        String database = "coherence-udp";
+        int portA = freeUdpPort();
+        int portB = freeUdpPort();
+        try (ConfigurableApplicationContext nodeA = startNode(database, true, "--beerstock.cache.bus.type=udp",
+                "--beerstock.cache.bus.udp.port=" + portA, "--beerstock.cache.bus.udp.peers=127.0.0.1:" + portB);
+             ConfigurableApplicationContext nodeB = startNode(database, false, "--beerstock.cache.bus.type=udp",
+                     "--beerstock.cache.bus.udp.port=" + portB, "--beerstock.cache.bus.udp.peers=127.0.0.1:" + portA)) {
+            assertReadsConverge(nodeA.getBean(BeerService.class), nodeB.getBean(BeerService.class));
+        }
+    }
+
+    private void assertReadsConverge(BeerService nodeA, BeerService nodeB) throws Exception {
+        BeerDTO createdBeer = nodeA.createBeer(BeerDTOBuilder.builder()
+                .id(null)
+                .name(BEER_NAME)
+                .max(50)
+                .quantity(10)
+                .build()
+                .toBeerDTO());
+        assertThat(nodeB.findByName(BEER_NAME).getQuantity(), equalTo(10));
+
+        nodeA.increment(createdBeer.getId(), 5);
+        assertThat(lagUntil(() -> nodeB.findByName(BEER_NAME).getQuantity() == 15), lessThanOrEqualTo(MAX_LAG));
+
+        nodeA.deleteById(createdBeer.getId());
+        assertThat(lagUntil(() -> isMissing(nodeB)), lessThanOrEqualTo(MAX_LAG));
+        assertThrows(BeerNotFoundException.class, () -> nodeB.findByName(BEER_NAME));
+    }
+
+    private static Duration lagUntil(Callable<Boolean> converged) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + MAX_LAG.multipliedBy(5).toNanos();
+        while (!converged.call() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static boolean isMissing(BeerService node) {
+        try {
+            node.findByName(BEER_NAME);
+            return false;
+        } catch (BeerNotFoundException e) {
+            return true;
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String database, boolean createsSchema, String... args) {
+        String[] nodeArgs = new String[args.length + 4];
+        nodeArgs[0] = "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+        nodeArgs[1] = "--spring.jpa.hibernate.ddl-auto=" + (createsSchema ? "create-drop" : "none");
+        nodeArgs[2] = "--beerstock.cache.ttl=10m";
+        nodeArgs[3] = "--beerstock.swagger.enabled=false";
+        System.arraycopy(args, 0, nodeArgs, 4, args.length);
+        return new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(nodeArgs);
+    }
+
+    private static int freeUdpPort() throws SocketException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package one.digitalinnovation.beerstock.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapStockTableTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 10_000;
+
+    @Test
+    void whenStockIsPutThenQuantityAndMaxAreReadBack() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(1_000);
+
+        // when
+        for (long id = 1; id <= 1_000; id++) {
+            table.put(id, (int) id % 100, 500);
+        }
+
+        // then
+        assertThat(table.size(), equalTo(1_000));
+        for (long id = 1; id <= 1_000; id++) {
+            long stock = table.get(id);
+            assertThat(OffHeapStockTable.quantity(stock), equalTo((int) id % 100));
+            assertThat(OffHeapStockTable.max(stock), equalTo(500));
+        }
+        assertThat(table.get(1_001), equalTo(OffHeapStockTable.ABSENT));
+    }
+
+    @Test
+    void whenStockIsZeroThenItIsStillPresent() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(10);
+
+        // when
+        table.put(1, 0, 0);
+
+        // then
+        assertThat(table.get(1) == OffHeapStockTable.ABSENT, equalTo(false));
+        assertThat(OffHeapStockTable.quantity(table.get(1)), equalTo(0));
+    }
+
+    @Test
+    void whenExpectedQuantityIsStaleThenCompareAndSetFails() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(10);
+        table.put(1, 10, 50);
+
+        // when
+        boolean first = table.compareAndSetQuantity(1, 10, 12);
+        boolean second = table.compareAndSetQuantity(1, 10, 14);
+
+        // then
+        assertTrue(first);
+        assertFalse(second);
+        assertThat(OffHeapStockTable.quantity(table.get(1)), equalTo(12));
+        assertThat(OffHeapStockTable.max(table.get(1)), equalTo(50));
+    }
+
+    @Test
+    void whenBeerIsRemovedThenItIsAbsentAndDeltasAreIgnored() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(10);
+        table.put(1, 10, 50);
+
+        // when
+        table.remove(1);
+
+        // then
+        assertThat(table.get(1), equalTo(OffHeapStockTable.ABSENT));
+        assertThat(table.addQuantity(1, 5), equalTo(OffHeapStockTable.ABSENT));
+        assertThat(table.size(), equalTo(0));
+    }
+
+    @Test
+    void whenTableIsFullThenPutFails() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(1);
+        table.put(1, 1, 1);
+        table.put(2, 2, 2);
+
+        // when
+        boolean put = table.put(3, 3, 3);
+
+        // then
+        assertFalse(put);
+        assertThat(table.get(3), equalTo(OffHeapStockTable.ABSENT));
+    }
+
+    @Test
+    void whenMoreBeersThanTheCapacityAreCreatedAndDeletedThenTheirSlotsAreReused() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(100);
+
+        // when
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(table.put(id, 1, 10));
+            if (id > 50) {
+                table.remove(id - 50);
+            }
+        }
+
+        // then
+        assertThat(table.size(), equalTo(50));
+        for (long id = 9_951; id <= 10_000; id++) {
+            assertThat(OffHeapStockTable.quantity(table.get(id)), equalTo(1));
+        }
+        for (long id = 1; id <= 9_950; id++) {
+            assertThat(table.get(id), equalTo(OffHeapStockTable.ABSENT));
+        }
+    }
+
+    @Test
+    void whenBeersAreRemovedFromTheMiddleOfProbeChainsThenTheOthersAreStillFound() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(1_000);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (expected.containsKey(id) && random.nextBoolean()) {
+                table.remove(id);
+                expected.remove(id);
+            } else if (table.put(id, i, i)) {
+                expected.put(id, i);
+            } else {
+                assertThat(expected.size(), equalTo(1_000));
+            }
+        }
+
+        // then
+        assertThat(table.size(), equalTo(expected.size()));
+        for (long id = 1; id <= 2_000; id++) {
+            Integer quantity = expected.get(id);
+            if (quantity == null) {
+                assertThat(table.get(id), equalTo(OffHeapStockTable.ABSENT));
+            } else {
+                assertThat(OffHeapStockTable.quantity(table.get(id)), equalTo(quantity));
+            }
+        }
+    }
+
+    @Test
+    void whenTableIsClearedThenEverySlotIsFreeAgain() {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(100);
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, 1, 10);
+        }
+
+        // when
+        table.clear();
+
+        // then
+        assertThat(table.size(), equalTo(0));
+        assertThat(table.get(1), equalTo(OffHeapStockTable.ABSENT));
+        for (long id = 101; id <= 200; id++) {
+            assertTrue(table.put(id, 2, 10));
+        }
+        assertThat(OffHeapStockTable.quantity(table.get(200)), equalTo(2));
+    }
+
+    @Test
+    void whenQuantityIsAddedConcurrentlyThenNoDeltaIsLost() throws Exception {
+        // given
+        OffHeapStockTable table = new OffHeapStockTable(10);
+        table.put(1, 0, Integer.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    table.addQuantity(1, 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(OffHeapStockTable.quantity(table.get(1)), equalTo(THREADS * INCREMENTS_PER_THREAD));
+    }
+}
@@ -0,0 +1,132 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WarmCatalogTest {
+
+    private static final int BEERS = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenCatalogIsWrittenThenEveryBeerIsFoundByNameAfterOpening() throws Exception {
+        // given
+        List<BeerDTO> beers = beers(BEERS);
+        beers.add(beer(BEERS, "Aa"));
+        beers.add(beer(BEERS + 1, "BB"));
+        WarmCatalog written = catalog(Duration.ofMinutes(15));
+        written.write(beers);
+
+        // when
+        WarmCatalog opened = catalog(Duration.ofMinutes(15));
+        opened.open();
+
+        // then
+        assertTrue(opened.isServing());
+        for (BeerDTO beer : beers) {
+            assertThat(opened.get(beer.getName()), equalTo(Optional.of(beer)));
+        }
+        assertThat(opened.get("Ab"), equalTo(Optional.empty()));
+        assertThat(opened.names(), containsInAnyOrder(beers.stream().map(BeerDTO::getName).toArray()));
+    }
+
+    @Test
+    void whenNameIsEvictedThenItIsNoLongerServed() throws Exception {
+        // given
+        List<BeerDTO> beers = beers(2);
+        WarmCatalog catalog = catalog(Duration.ofMinutes(15));
+        catalog.write(beers);
+        catalog.open();
+
+        // when
+        catalog.evict(beers.get(0).getName());
+
+        // then
+        assertThat(catalog.get(beers.get(0).getName()), equalTo(Optional.empty()));
+        assertThat(catalog.get(beers.get(1).getName()), equalTo(Optional.of(beers.get(1))));
+    }
+
+    @Test
+    void whenCatalogIsClosedThenNothingIsServed() throws Exception {
+        // given
+        List<BeerDTO> beers = beers(1);
+        WarmCatalog catalog = catalog(Duration.ofMinutes(15));
+        catalog.write(beers);
+        catalog.open();
+
+        // when
+        catalog.close();
+
+        // then
+        assertFalse(catalog.isServing());
+        assertThat(catalog.get(beers.get(0).getName()), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void whenFileIsOlderThanTheMaxAgeThenItIsIgnored() throws Exception {
+        // given
+        WarmCatalogFile.write(directory.resolve("warm-catalog.bin"), Instant.now().minus(Duration.ofHours(1)), beers(1));
+        WarmCatalog catalog = catalog(Duration.ofMinutes(15));
+
+        // when
+        catalog.open();
+
+        // then
+        assertFalse(catalog.isServing());
+    }
+
+    @Test
+    void whenFileIsNotACatalogThenItIsIgnored() throws Exception {
+        // given
+        Files.write(directory.resolve("warm-catalog.bin"), new byte[64]);
+        WarmCatalog catalog = catalog(Duration.ofMinutes(15));
+
+        // when
+        catalog.open();
+
+        // then
+        assertFalse(catalog.isServing());
+    }
+
+    private WarmCatalog catalog(Duration maxAge) {
+        return new WarmCatalog(new SimpleMeterRegistry(), true, directory.resolve("warm-catalog.bin"), maxAge);
+    }
+
+    private static List<BeerDTO> beers(int count) {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            beers.add(beer(i, "Warm beer " + i));
+        }
+        return beers;
+    }
+
+    private static BeerDTO beer(long id, String name) {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setId(id);
+        beerDTO.setName(name);
+        beerDTO.setQuantity((int) (id % 50));
+        return beerDTO;
+    }
+}
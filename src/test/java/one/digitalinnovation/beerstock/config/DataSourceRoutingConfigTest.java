@@ -0,0 +1,113 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "beerstock.datasource.replica.enabled=true",
+        "beerstock.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "beerstock.datasource.replica.username=sa",
+        "beerstock.datasource.replica.password=",
+        "beerstock.datasource.replica.read-your-writes-window=1h"
+})
+public class DataSourceRoutingConfigTest {
+
+    private static final String REPLICA_ONLY_BEER_NAME = "Replica Only";
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ReplicationRoutingDataSource routingDataSource =
+                (ReplicationRoutingDataSource) dataSource.unwrap(LazyConnectionDataSourceProxy.class).getTargetDataSource();
+        replica = new JdbcTemplate(routingDataSource.getTargetDataSource(DataSourceRoute.REPLICA));
+        replica.execute("CREATE TABLE IF NOT EXISTS beer (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE,"
+                + " brand VARCHAR(255) NOT NULL, max INT NOT NULL, quantity INT NOT NULL, type VARCHAR(255) NOT NULL,"
+                + " deleted BOOLEAN DEFAULT FALSE NOT NULL, name_key VARCHAR(255) AS LOWER(name),"
+                + " brand_key VARCHAR(255) AS LOWER(brand))");
+        replica.update("DELETE FROM beer");
+        replica.update("INSERT INTO beer (name, brand, max, quantity, type) VALUES (?, 'Ambev', 50, 10, 'LAGER')", REPLICA_ONLY_BEER_NAME);
+    }
+
+    @Test
+    void whenReadOnlyLookupIsCalledThenReplicaIsQueried() throws BeerNotFoundException {
+        // when
+        BeerDTO foundBeerDTO = beerService.findByName(REPLICA_ONLY_BEER_NAME);
+
+        // then
+        assertThat(foundBeerDTO.getName(), is(REPLICA_ONLY_BEER_NAME));
+    }
+
+    @Test
+    void whenBeerIsCreatedThenItIsWrittenToPrimary() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Primary Only").build().toBeerDTO();
+
+        // when
+        beerService.createBeer(beerDTO);
+
+        // then
+        List<String> replicaNames = replica.queryForList("SELECT name FROM beer", String.class);
+        assertThat(replicaNames, not(hasItem("Primary Only")));
+    }
+
+    @Test
+    void whenStockWasJustChangedThenReadIsServedByPrimary()
+            throws BeerAlreadyRegisteredException, BeerNotFoundException, BeerStockExceededException {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Just Changed").quantity(10).max(50).build().toBeerDTO();
+        BeerDTO createdBeerDTO = beerService.createBeer(beerDTO);
+        replica.update("INSERT INTO beer (name, brand, max, quantity, type) VALUES ('Just Changed', 'Ambev', 50, 10, 'LAGER')");
+
+        // when
+        beerService.increment(createdBeerDTO.getId(), 5);
+
+        // then
+        assertThat(beerService.findByName("Just Changed").getQuantity(), is(equalTo(15)));
+        assertThat(beerService.findByName(REPLICA_ONLY_BEER_NAME).getName(), is(REPLICA_ONLY_BEER_NAME));
+    }
+
+    @Test
+    void whenAnotherBeerWasJustWrittenThenTheListIsStillServedByReplica() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Listed On Primary").build().toBeerDTO();
+
+        // when
+        beerService.createBeer(beerDTO);
+
+        // then
+        List<String> listedNames = beerService.listAll().stream().map(BeerDTO::getName).collect(Collectors.toList());
+        assertThat(listedNames, hasItem(REPLICA_ONLY_BEER_NAME));
+        assertThat(listedNames, not(hasItem("Listed On Primary")));
+    }
+}
@@ -0,0 +1,92 @@
+package one.digitalinnovation.beerstock.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:http-server-config;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.outbox.relay.enabled=false",
+        "server.http2.enabled=true",
+        "server.tomcat.max-connections=500",
+        "server.tomcat.accept-count=50",
+        "beerstock.http.keep-alive-timeout=90s",
+        "beerstock.http.max-keep-alive-requests=-1",
+        "beerstock.http2.max-concurrent-streams=200"
+})
+public class HttpServerConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void whenHttp2IsEnabledWithoutTlsThenRequestsAreUpgradedToH2c() throws Exception {
+        // given
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        // when
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        // then
+        assertThat(response.statusCode(), is(equalTo(200)));
+        assertThat(response.version(), is(equalTo(HttpClient.Version.HTTP_2)));
+    }
+
+    @Test
+    void whenServerIsStartedThenKeepAliveSettingsAreApplied() {
+        // when
+        Connector connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+
+        // then
+        AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        assertThat(protocol.getKeepAliveTimeout(), is(equalTo(90_000)));
+        assertThat(protocol.getMaxKeepAliveRequests(), is(equalTo(-1)));
+        assertThat(connector.findUpgradeProtocols(), arrayWithSize(1));
+        assertThat(connector.findUpgradeProtocols()[0], is(instanceOf(Http2Protocol.class)));
+        assertThat(((Http2Protocol) connector.findUpgradeProtocols()[0]).getMaxConcurrentStreams(), is(equalTo(200L)));
+    }
+
+    @Test
+    void whenServerIsStartedThenConnectionGaugesAreReported() throws Exception {
+        // given
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        // when
+        double connections = meterRegistry.get("beerstock.http.connections").gauge().value();
+
+        // then
+        assertThat(connections, is(greaterThanOrEqualTo(1.0)));
+        assertThat(meterRegistry.get("beerstock.http.connections.max").gauge().value(), is(equalTo(500.0)));
+        assertThat(meterRegistry.get("beerstock.http.accept-count").gauge().value(), is(equalTo(50.0)));
+    }
+}
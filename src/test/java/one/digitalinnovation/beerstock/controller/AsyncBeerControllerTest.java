@@ -0,0 +1,189 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.service.BeerServiceExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncBeerControllerTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final long VALID_BEER_ID = 1L;
+    private static final Duration TIMEOUT = Duration.ofMillis(300);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private MockMvc mockMvc;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BeerServiceExecutor executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Mock
+    private BeerService beerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new BeerServiceExecutor(meterRegistry, 1, 1, TIMEOUT, REQUEST_TIMEOUT);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AsyncBeerController(beerService, executor))
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenTheBeerIsCreatedOnTheExecutor() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        // when
+        when(beerService.createBeer(beerDTO)).thenReturn(beerDTO);
+        MvcResult started = mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(beerDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name", is(beerDTO.getName())));
+    }
+
+    @Test
+    void whenGETIsCalledWithNotRegisteredNameThenNotFoundStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        // when
+        when(beerService.findByName(beerDTO.getName())).thenThrow(BeerNotFoundException.class);
+        MvcResult started = mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenDELETEIsCalledThenNoContentStatusIsReturned() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(delete(BEER_API_URL_PATH + "/" + VALID_BEER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNoContent());
+        verify(beerService).deleteById(VALID_BEER_ID);
+    }
+
+    @Test
+    void whenThePoolAndQueueAreFullThenServiceUnavailableIsReturnedAtOnce() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        CountDownLatch running = new CountDownLatch(1);
+        when(beerService.findByName(beerDTO.getName())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return beerDTO;
+        });
+
+        // when
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())).andExpect(request().asyncStarted());
+        running.await(5, TimeUnit.SECONDS);
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())).andExpect(request().asyncStarted());
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDTO.builder().quantity(10).build())))
+                .andExpect(status().isServiceUnavailable());
+        verify(beerService, never()).increment(VALID_BEER_ID, 10);
+        assertThat(meterRegistry.get("beerstock.async.rejected").counter().count(), equalTo(1.0));
+        assertThat(meterRegistry.get("executor.queued").tag("name", "beer-service").gauge().value(), equalTo(1.0));
+        assertThat(meterRegistry.get("executor.active").tag("name", "beer-service").gauge().value(), equalTo(1.0));
+    }
+
+    @Test
+    void whenAQueuedCallOutlivesTheTimeoutThenServiceUnavailableIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        CountDownLatch running = new CountDownLatch(1);
+        when(beerService.findByName(beerDTO.getName())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return beerDTO;
+        });
+        MvcResult started = mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        running.await(5, TimeUnit.SECONDS);
+
+        // when
+        MvcResult queued = mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        queued.getAsyncResult(TIMEOUT.multipliedBy(10).toMillis());
+        release.countDown();
+        started.getAsyncResult(TIMEOUT.multipliedBy(10).toMillis());
+
+        // then
+        mockMvc.perform(asyncDispatch(queued))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(beerDTO.getName())));
+        assertThat(meterRegistry.get("beerstock.async.timed-out").counter().count(), equalTo(1.0));
+    }
+}
@@ -0,0 +1,235 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static one.digitalinnovation.beerstock.utils.QueryCountUtils.assertQueryCount;
+import static one.digitalinnovation.beerstock.utils.QueryCountUtils.countQueries;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each beer endpoint executes, so a change that adds a round trip or
+ * an N+1 fails here. The sequences are warmed up first, so the counts do not include id allocation. The
+ * outbox is on, so the counts include its inserts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-count;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.ratelimit.enabled=false",
+        "beerstock.cache.ttl=0s",
+        "beerstock.outbox.enabled=true",
+        "beerstock.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+public class BeerControllerQueryCountTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final String SUGGESTIONS_API_URL_PATH = "/api/v1/suggestions";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BeerDTO savedBeer;
+
+    @BeforeEach
+    void setUp() throws BeerAlreadyRegisteredException {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setId(null);
+        beerDTO.setName("Query Count " + System.nanoTime());
+        savedBeer = beerService.createBeer(beerDTO);
+    }
+
+    @Test
+    void whenPOSTIsCalledThenOneLookupAndTheInsertsAreExecuted() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setId(null);
+        beerDTO.setName("Query Count New " + System.nanoTime());
+
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(beerDTO)))
+                .andExpect(status().isCreated()));
+
+        // then
+        assertQueryCount(count, 1, 2, 0, 0);
+    }
+
+    @Test
+    void whenGETByNameIsCalledThenOneSelectIsExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(get(BEER_API_URL_PATH + "/" + savedBeer.getName()))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 1, 0, 0, 0);
+    }
+
+    @Test
+    void whenGETStockIsCalledThenItIsReadWithOneSelectAsTheStockTableIsOffByDefault() throws Exception {
+        // given
+        beerService.increment(savedBeer.getId(), 1);
+
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(get(BEER_API_URL_PATH + "/" + savedBeer.getId() + "/stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(savedBeer.getQuantity() + 1))));
+
+        // then
+        assertQueryCount(count, 1, 0, 0, 0);
+    }
+
+    @Test
+    void whenGETSuggestionsIsCalledThenItIsReadWithOneSelectPerKeyAsTheIndexIsOffByDefault() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(get(SUGGESTIONS_API_URL_PATH)
+                .param("q", savedBeer.getName()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(savedBeer.getId().intValue()))));
+
+        // then
+        assertQueryCount(count, 2, 0, 0, 0);
+    }
+
+    @Test
+    void whenGETListIsCalledThenOneSelectIsExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 1, 0, 0, 0);
+    }
+
+    @Test
+    void whenPATCHIncrementIsCalledThenOneUpdateAndOneReadBackAreExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(patch(BEER_API_URL_PATH + "/" + savedBeer.getId() + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDTO.builder().quantity(1).build())))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 1, 1, 1, 0);
+    }
+
+    @Test
+    void whenPATCHDecrementIsCalledThenOneLockingSelectOneUpdateAndOneReadBackAreExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(patch(BEER_API_URL_PATH + "/" + savedBeer.getId() + "/decrement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDTO.builder().quantity(1).build())))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 2, 1, 1, 0);
+    }
+
+    @Test
+    void whenLeanPATCHIncrementIsCalledThenOneUpdateAndOneReadBackAreExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(patch(BEER_API_URL_PATH + "/" + savedBeer.getId() + "/increment")
+                .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDTO.builder().quantity(1).build())))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 1, 1, 1, 0);
+    }
+
+    @Test
+    void whenLeanPATCHDecrementIsCalledThenOneLockingSelectOneUpdateAndOneReadBackAreExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(patch(BEER_API_URL_PATH + "/" + savedBeer.getId() + "/decrement")
+                .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(QuantityDTO.builder().quantity(1).build())))
+                .andExpect(status().isOk()));
+
+        // then
+        assertQueryCount(count, 2, 1, 1, 0);
+    }
+
+    @Test
+    void whenDELETEIsCalledThenOneLockingSelectAndOneDeleteAreExecuted() throws Exception {
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(delete(BEER_API_URL_PATH + "/" + savedBeer.getId()))
+                .andExpect(status().isNoContent()));
+
+        // then
+        assertQueryCount(count, 1, 1, 0, 1);
+    }
+
+    @Test
+    void whenBulkDeleteByBrandIsCalledThenOneLockingSelectOneDeleteAndOneOutboxBatchAreExecuted() throws Exception {
+        // given
+        String brand = "Bulk Delete " + System.nanoTime();
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            beers.add(BeerDTOBuilder.builder().id(null).name(brand + " " + i).brand(brand).build().toBeerDTO());
+        }
+        beerService.createBeers(beers);
+        BulkDeleteDTO bulkDeleteDTO = BulkDeleteDTO.builder().brand(brand).build();
+
+        // when
+        QueryCount count = countQueries(() -> mockMvc.perform(post(BEER_API_URL_PATH + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(bulkDeleteDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(3))));
+
+        // then
+        assertQueryCount(count, 1, 1, 0, 1);
+    }
+
+    @Test
+    void whenARequestIsServedThenItsStatementsAreRecordedByRoute() throws Exception {
+        // when
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + savedBeer.getName())).andExpect(status().isOk());
+
+        // then
+        double statements = meterRegistry.get("beerstock.sql.request.statements")
+                .tag("method", "GET")
+                .tag("uri", BEER_API_URL_PATH + "/{name}")
+                .summary()
+                .totalAmount();
+        assertThat(statements, greaterThanOrEqualTo(1.0));
+    }
+}
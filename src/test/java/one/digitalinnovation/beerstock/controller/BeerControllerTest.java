@@ -3,11 +3,18 @@ package one.digitalinnovation.beerstock.controller;
 
 import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkBeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
 import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
 import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.validation.BeerDTOValidator;
+import one.digitalinnovation.beerstock.validation.FastValidationAdvice;
+import one.digitalinnovation.beerstock.validation.QuantityDTOValidator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +31,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.Validator;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 import java.util.List;
@@ -35,6 +43,8 @@ import static org.hamcrest.core.Is.is;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -99,6 +109,70 @@ public class BeerControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPOSTBulkIsCalledThenBeersAreCreated() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BulkBeerDTO bulkBeerDTO = BulkBeerDTO.builder().beers(List.of(beerDTO)).build();
+
+        // when
+        when(beerService.createBeers(List.of(beerDTO))).thenReturn(List.of(beerDTO));
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(bulkBeerDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())));
+    }
+
+    @Test
+    void whenPOSTBulkIsCalledWithInvalidBeerThenAnErrorIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setName(null);
+        BulkBeerDTO bulkBeerDTO = BulkBeerDTO.builder().beers(List.of(beerDTO)).build();
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(bulkBeerDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTBulkDeleteIsCalledWithIdsThenTheDeletedCountIsReturned() throws Exception {
+        // given
+        BulkDeleteDTO bulkDeleteDTO = BulkDeleteDTO.builder().ids(List.of(1L, 2L)).build();
+
+        // when
+        when(beerService.deleteAll(bulkDeleteDTO)).thenReturn(new BulkDeleteResultDTO(2, false));
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(bulkDeleteDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)))
+                .andExpect(jsonPath("$.soft", is(false)));
+    }
+
+    @Test
+    void whenPOSTBulkDeleteIsCalledWithIdsAndBrandThenAnErrorIsReturned() throws Exception {
+        // given
+        BulkDeleteDTO bulkDeleteDTO = BulkDeleteDTO.builder().ids(List.of(1L)).brand("Ambev").build();
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(bulkDeleteDTO)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BEER_API_URL_PATH + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenGETIsCalledWithValidNameThenOkStatusIsReturned() throws Exception {
         // given
@@ -130,6 +204,22 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenGETStockIsCalledWithValidIdThenQuantityAndMaxAreReturned() throws Exception {
+        // given
+        StockDTO stockDTO = new StockDTO(VALID_BEER_ID, 10, 50);
+
+        //when
+        when(beerService.findStockById(VALID_BEER_ID)).thenReturn(stockDTO);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/stock")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(10)))
+                .andExpect(jsonPath("$.max", is(50)));
+    }
+
     @Test
     void whenGETListWithBeersIsCalledThenOkStatusIsReturned() throws Exception {
         // given
@@ -224,6 +314,26 @@ public class BeerControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPATCHIsCalledWithQuantityAboveLimitAndFastValidationThenBadRequestStatusIsReturned() throws Exception {
+        // given: the default validator accepts anything, so only the fast validator can reject the body
+        MockMvc fastValidationMockMvc = MockMvcBuilders.standaloneSetup(beerController)
+                .setValidator(mock(Validator.class))
+                .setControllerAdvice(new FastValidationAdvice(new BeerDTOValidator(), new QuantityDTOValidator()))
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+        QuantityDTO quantityDTOToIncrement = QuantityDTO.builder()
+                .quantity(101)
+                .build();
+
+        // then
+        fastValidationMockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTOToIncrement)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
     @Test
     void whenPATCHIsCalledWithInvalidBeerIdToIncrementThenNotFoundStatusIsReturned() throws Exception {
         QuantityDTO quantityDTOToIncrement = QuantityDTO.builder()
@@ -273,6 +383,21 @@ public class BeerControllerTest {
                 .content(asJsonString(quantityDTOToDecrement))).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPATCHIsCalledToDecrementANegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        // given: decrementing -5 would add stock without the max check of an increment
+        QuantityDTO quantityDTOToDecrement = QuantityDTO.builder()
+                .quantity(-5)
+                .build();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_DECREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTOToDecrement)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
     @Test
     void whenPATCHIsCalledWithInvalidBeerIdToDecrementThenNotFoundStatusIsReturned() throws Exception {
         QuantityDTO quantityDTOToDecrement = QuantityDTO.builder()
@@ -0,0 +1,69 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerSuggestService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class BeerSuggestControllerTest {
+
+    private static final String SUGGEST_API_URL_PATH = "/api/v1/suggestions";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BeerSuggestService beerSuggestService;
+
+    @InjectMocks
+    private BeerSuggestController beerSuggestController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(beerSuggestController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETSuggestIsCalledThenMatchingBeersAreReturned() throws Exception {
+        // given
+        BeerSuggestionDTO suggestion = new BeerSuggestionDTO(1L, "Brahma Chopp", "Ambev", BeerType.LAGER);
+
+        // when
+        when(beerSuggestService.suggest("bra", 10)).thenReturn(List.of(suggestion));
+
+        // then
+        mockMvc.perform(get(SUGGEST_API_URL_PATH).param("q", "bra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Brahma Chopp")))
+                .andExpect(jsonPath("$[0].brand", is("Ambev")));
+    }
+
+    @Test
+    void whenGETSuggestIsCalledWithoutQueryThenBadRequestStatusIsReturned() throws Exception {
+        mockMvc.perform(get(SUGGEST_API_URL_PATH))
+                .andExpect(status().isBadRequest());
+    }
+}
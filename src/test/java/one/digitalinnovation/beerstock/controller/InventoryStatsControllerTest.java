@@ -0,0 +1,71 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.StockTotalsDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.InventoryStatsService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.util.Map;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryStatsControllerTest {
+
+    private static final String STATS_API_URL_PATH = "/api/v1/inventory/stats";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private InventoryStatsService inventoryStatsService;
+
+    @InjectMocks
+    private InventoryStatsController inventoryStatsController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(inventoryStatsController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETStatsIsCalledThenTotalsAreReturned() throws Exception {
+        // given
+        InventoryStatsDTO stats = InventoryStatsDTO.builder()
+                .total(StockTotalsDTO.of(2, 30, 120))
+                .byType(Map.of(BeerType.LAGER, StockTotalsDTO.of(2, 30, 120)))
+                .byBrand(Map.of("Ambev", StockTotalsDTO.of(2, 30, 120)))
+                .build();
+
+        // when
+        when(inventoryStatsService.getStats()).thenReturn(stats);
+
+        // then
+        mockMvc.perform(get(STATS_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.units", is(30)))
+                .andExpect(jsonPath("$.byType.LAGER.capacity", is(120)))
+                .andExpect(jsonPath("$.byBrand.Ambev.fillRatio", is(0.25)));
+    }
+}
@@ -0,0 +1,124 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class LeanStockControllerTest {
+
+    private static final String INCREMENT_URL = "/api/v1/beers/1/increment";
+    private static final String DECREMENT_URL = "/api/v1/beers/1/decrement";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BeerService beerService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new BeerController(beerService), new LeanStockController(beerService))
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPATCHAcceptsStockMediaTypeThenOnlyIdAndQuantityAreWritten() throws Exception {
+        // when
+        when(beerService.incrementInPlace(1L, 5)).thenReturn(15);
+
+        // then
+        mockMvc.perform(patch(INCREMENT_URL)
+                .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"note\": {\"a\": [1, \"}\"]}, \"quantity\" : 5 }"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", LeanStockController.STOCK_MEDIA_TYPE))
+                .andExpect(header().longValue("Content-Length", 22))
+                .andExpect(content().string("{\"id\":1,\"quantity\":15}"));
+    }
+
+    @Test
+    void whenPATCHAcceptsPlainJsonThenTheFullBeerIsReturned() throws Exception {
+        // when
+        when(beerService.decrement(1L, 5)).thenReturn(BeerDTOBuilder.builder().quantity(5).build().toBeerDTO());
+
+        // then
+        mockMvc.perform(patch(DECREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Brahma")))
+                .andExpect(jsonPath("$.quantity", is(5)));
+    }
+
+    @Test
+    void whenPATCHSendsQuantityAboveLimitThenBadRequestStatusIsReturned() throws Exception {
+        mockMvc.perform(patch(INCREMENT_URL)
+                .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 101}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPATCHSendsQuantityBelowOneThenBadRequestStatusIsReturned() throws Exception {
+        for (String body : new String[]{"{\"quantity\": 0}", "{\"quantity\": -5}"}) {
+            mockMvc.perform(patch(INCREMENT_URL)
+                    .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPATCHSendsMalformedOrMissingQuantityThenBadRequestStatusIsReturned() throws Exception {
+        for (String body : new String[]{"", "{}", "{\"quantity\": null}", "{\"quantity\": 1.5}", "{\"quantity\": \"5\"}", "{\"quantity\": 5"}) {
+            mockMvc.perform(patch(INCREMENT_URL)
+                    .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPATCHExceedsMaxThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(beerService.incrementInPlace(1L, 50)).thenThrow(BeerStockExceededException.class);
+
+        // then
+        mockMvc.perform(patch(INCREMENT_URL)
+                .accept(LeanStockController.STOCK_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 50}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,124 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderDTO;
+import one.digitalinnovation.beerstock.dto.OrderItemDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.service.OrderService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderControllerTest {
+
+    private static final String ORDER_API_URL_PATH = "/api/v1/orders";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private OrderController orderController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(orderController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenEveryBeerOfTheOrderIsReturned() throws Exception {
+        // given
+        OrderDTO orderDTO = order(item(1L, 3), item(2L, 4));
+        BeerDTO brahma = BeerDTOBuilder.builder().id(1L).quantity(7).build().toBeerDTO();
+        BeerDTO skol = BeerDTOBuilder.builder().id(2L).name("Skol").quantity(6).build().toBeerDTO();
+
+        // when
+        when(orderService.placeOrder(anyList())).thenReturn(Arrays.asList(brahma, skol));
+
+        // then
+        mockMvc.perform(post(ORDER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(orderDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(7)))
+                .andExpect(jsonPath("$[1].name", is("Skol")));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutItemsThenAnErrorIsReturned() throws Exception {
+        mockMvc.perform(post(ORDER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new OrderDTO(Collections.emptyList()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithInvalidItemThenAnErrorIsReturned() throws Exception {
+        mockMvc.perform(post(ORDER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(order(item(1L, 0)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithMoreThanAvailableThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(orderService.placeOrder(anyList())).thenThrow(BeerStockLessThanZeroException.class);
+
+        // then
+        mockMvc.perform(post(ORDER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(order(item(1L, 50)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithUnregisteredBeerThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(orderService.placeOrder(anyList())).thenThrow(BeerNotFoundException.class);
+
+        // then
+        mockMvc.perform(post(ORDER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(order(item(9L, 1)))))
+                .andExpect(status().isNotFound());
+    }
+
+    private static OrderDTO order(OrderItemDTO... items) {
+        return new OrderDTO(Arrays.asList(items));
+    }
+
+    private static OrderItemDTO item(Long beerId, int quantity) {
+        return new OrderItemDTO(beerId, quantity);
+    }
+}
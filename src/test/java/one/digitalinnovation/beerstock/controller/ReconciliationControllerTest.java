@@ -0,0 +1,94 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.exception.ReconciliationInProgressException;
+import one.digitalinnovation.beerstock.service.ReconciliationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ReconciliationControllerTest {
+
+    private static final String RECONCILIATION_API_URL_PATH = "/api/v1/beers/reconciliation";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @InjectMocks
+    private ReconciliationController reconciliationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reconciliationController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTIsCalledWithACountFileThenTheReportIsReturned() throws Exception {
+        // given
+        ReconciliationReportDTO report = ReconciliationReportDTO.builder()
+                .rowsRead(2)
+                .matched(1)
+                .corrected(1)
+                .unknown(1)
+                .unknownNames(List.of("Colorado"))
+                .build();
+        ArgumentCaptor<Reader> countFile = ArgumentCaptor.forClass(Reader.class);
+
+        // when
+        when(reconciliationService.reconcile(any(Reader.class))).thenReturn(report);
+
+        // then
+        mockMvc.perform(post(RECONCILIATION_API_URL_PATH)
+                .contentType("text/csv")
+                .content("Brahma,12\nColorado,3\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.corrected", is(1)))
+                .andExpect(jsonPath("$.unknownNames[0]", is("Colorado")));
+        verify(reconciliationService).reconcile(countFile.capture());
+        String body = new BufferedReader(countFile.getValue()).lines().collect(Collectors.joining("\n"));
+        assertThat(body, is("Brahma,12\nColorado,3"));
+    }
+
+    @Test
+    void whenPOSTIsCalledDuringAnotherReconciliationThenConflictStatusIsReturned() throws Exception {
+        // when
+        when(reconciliationService.reconcile(any(Reader.class))).thenThrow(ReconciliationInProgressException.class);
+
+        // then
+        mockMvc.perform(post(RECONCILIATION_API_URL_PATH)
+                .contentType("text/csv")
+                .content("Brahma,12\n"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,142 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.service.StockReservationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationControllerTest {
+
+    private static final String RESERVATION_API_URL_PATH = "/api/v1/beers/1/reservations";
+    private static final long VALID_BEER_ID = 1L;
+    private static final String RESERVATION_ID = "6f1c2c1e-7a51-4c5b-9d35-5f0f7d8b8d21";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @InjectMocks
+    private StockReservationController stockReservationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockReservationController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenAReservationIsCreated() throws Exception {
+        // given
+        ReservationDTO requestDTO = ReservationDTO.builder().quantity(3).build();
+        ReservationDTO reservationDTO = ReservationDTO.builder().id(RESERVATION_ID).beerId(VALID_BEER_ID).quantity(3).build();
+
+        // when
+        when(stockReservationService.reserve(eq(VALID_BEER_ID), any(ReservationDTO.class))).thenReturn(reservationDTO);
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(RESERVATION_ID)))
+                .andExpect(jsonPath("$.quantity", is(3)));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutQuantityThenAnErrorIsReturned() throws Exception {
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(ReservationDTO.builder().build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithMoreThanAvailableThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(stockReservationService.reserve(eq(VALID_BEER_ID), any(ReservationDTO.class)))
+                .thenThrow(BeerStockLessThanZeroException.class);
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(ReservationDTO.builder().quantity(50).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenCommitIsCalledThenOkStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(7).build().toBeerDTO();
+
+        // when
+        when(stockReservationService.commit(VALID_BEER_ID, RESERVATION_ID)).thenReturn(beerDTO);
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH + "/" + RESERVATION_ID + "/commit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(7)));
+    }
+
+    @Test
+    void whenCommitIsCalledForExpiredReservationThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(stockReservationService.commit(VALID_BEER_ID, RESERVATION_ID)).thenThrow(ReservationNotFoundException.class);
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH + "/" + RESERVATION_ID + "/commit"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenDELETEIsCalledThenNoContentStatusIsReturned() throws Exception {
+        // when
+        doNothing().when(stockReservationService).release(VALID_BEER_ID, RESERVATION_ID);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(RESERVATION_API_URL_PATH + "/" + RESERVATION_ID))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void whenDELETEIsCalledForUnknownReservationThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        doThrow(ReservationNotFoundException.class).when(stockReservationService).release(VALID_BEER_ID, RESERVATION_ID);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(RESERVATION_API_URL_PATH + "/" + RESERVATION_ID))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,121 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.SnapshotSummaryDTO;
+import one.digitalinnovation.beerstock.dto.StockHistoryPointDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.service.StockSnapshotService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class StockSnapshotControllerTest {
+
+    private static final String SNAPSHOT_API_URL_PATH = "/api/v1/snapshots";
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final long VALID_BEER_ID = 1L;
+    private static final Instant FROM = Instant.parse("2026-10-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-10-08T00:00:00Z");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockSnapshotService stockSnapshotService;
+
+    @Mock
+    private BeerService beerService;
+
+    @InjectMocks
+    private StockSnapshotController stockSnapshotController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockSnapshotController, new BeerController(beerService))
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTSnapshotsIsCalledThenASnapshotIsTaken() throws Exception {
+        // when
+        when(stockSnapshotService.takeSnapshot()).thenReturn(SnapshotSummaryDTO.builder().beers(3).units(30).build());
+
+        // then
+        mockMvc.perform(post(SNAPSHOT_API_URL_PATH))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.beers", is(3)))
+                .andExpect(jsonPath("$.units", is(30)));
+    }
+
+    @Test
+    void whenGETSnapshotsIsCalledWithARangeThenTheRangeIsQueried() throws Exception {
+        // when
+        when(stockSnapshotService.listSnapshots(FROM, TO)).thenReturn(List.of(SnapshotSummaryDTO.builder().beers(3).build()));
+
+        // then
+        mockMvc.perform(get(SNAPSHOT_API_URL_PATH)
+                .param("from", FROM.toString())
+                .param("to", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].beers", is(3)));
+    }
+
+    @Test
+    void whenGETHistoryIsCalledWithoutARangeThenTheLastDayIsQueried() throws Exception {
+        // given
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> to = ArgumentCaptor.forClass(Instant.class);
+
+        // when
+        when(stockSnapshotService.history(eq(VALID_BEER_ID), any(), any()))
+                .thenReturn(List.of(StockHistoryPointDTO.builder().quantity(7).max(50).build()));
+
+        // then
+        mockMvc.perform(get(SNAPSHOT_API_URL_PATH + "/beers/" + VALID_BEER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(7)));
+        verify(stockSnapshotService).history(eq(VALID_BEER_ID), from.capture(), to.capture());
+        assertThat(Duration.between(from.getValue(), to.getValue()), equalTo(Duration.ofDays(1)));
+    }
+
+    @Test
+    void whenGETIsCalledForABeerNamedSnapshotsThenItIsLookedUpByName() throws Exception {
+        // when
+        when(beerService.findByName("snapshots")).thenThrow(BeerNotFoundException.class);
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/snapshots"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(stockSnapshotService);
+    }
+}
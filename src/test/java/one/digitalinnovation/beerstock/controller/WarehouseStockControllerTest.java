@@ -0,0 +1,128 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.DefaultWarehouseUnstockException;
+import one.digitalinnovation.beerstock.service.WarehouseStockService;
+import one.digitalinnovation.beerstock.service.WarehouseTotalsService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.util.Optional;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+
+import static org.hamcrest.core.Is.is;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class WarehouseStockControllerTest {
+
+    private static final String WAREHOUSE_API_URL_PATH = "/api/v1/warehouses";
+    private static final long WAREHOUSE_ID = 2L;
+    private static final long BEER_ID = 1L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private WarehouseStockService warehouseStockService;
+
+    @Mock
+    private WarehouseTotalsService warehouseTotalsService;
+
+    @InjectMocks
+    private WarehouseStockController warehouseStockController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(warehouseStockController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenTheBeerIsStockedInTheWarehouse() throws Exception {
+        // given
+        WarehouseStockDTO warehouseStockDTO = new WarehouseStockDTO(null, BEER_ID, 50, 10);
+        WarehouseStockDTO stockedDTO = new WarehouseStockDTO(WAREHOUSE_ID, BEER_ID, 50, 10);
+
+        // when
+        when(warehouseStockService.stock(WAREHOUSE_ID, warehouseStockDTO)).thenReturn(stockedDTO);
+
+        // then
+        mockMvc.perform(post(WAREHOUSE_API_URL_PATH + "/" + WAREHOUSE_ID + "/beers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(warehouseStockDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.warehouseId", is((int) WAREHOUSE_ID)))
+                .andExpect(jsonPath("$.quantity", is(10)));
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementAboveMaxThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(warehouseStockService.increment(WAREHOUSE_ID, BEER_ID, 10))
+                .thenThrow(new BeerStockExceededException(BEER_ID, 50));
+
+        // then
+        mockMvc.perform(patch(WAREHOUSE_API_URL_PATH + "/" + WAREHOUSE_ID + "/beers/" + BEER_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new QuantityDTO(10))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenDELETEIsCalledOnTheDefaultWarehouseThenConflictStatusIsReturned() throws Exception {
+        // when
+        doThrow(new DefaultWarehouseUnstockException(BEER_ID, WarehouseStockService.DEFAULT_WAREHOUSE))
+                .when(warehouseStockService).unstock(WarehouseStockService.DEFAULT_WAREHOUSE, BEER_ID);
+
+        // then
+        mockMvc.perform(delete(WAREHOUSE_API_URL_PATH + "/" + WarehouseStockService.DEFAULT_WAREHOUSE + "/beers/" + BEER_ID))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void whenGETTotalStockIsCalledThenTheMaintainedTotalsAreReturned() throws Exception {
+        // when
+        when(warehouseTotalsService.find(BEER_ID)).thenReturn(Optional.of(new CrossWarehouseStockDTO(BEER_ID, 25, 150, 3)));
+
+        // then
+        mockMvc.perform(get(WAREHOUSE_API_URL_PATH + "/beers/" + BEER_ID + "/stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(25)))
+                .andExpect(jsonPath("$.warehouses", is(3)));
+    }
+
+    @Test
+    void whenGETTotalStockIsCalledForAnUnknownBeerThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(warehouseTotalsService.find(BEER_ID)).thenReturn(Optional.empty());
+
+        // then
+        mockMvc.perform(get(WAREHOUSE_API_URL_PATH + "/beers/" + BEER_ID + "/stock"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,150 @@
+package one.digitalinnovation.beerstock.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.repository.OutboxEventRepository;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.outbox.enabled=true",
+        "beerstock.outbox.memory.capacity=" + OutboxRelayTest.SINK_CAPACITY,
+        "beerstock.outbox.poll-interval=PT0.05S",
+        "beerstock.outbox.parallelism=2",
+        "beerstock.outbox.batch-size=3"
+})
+public class OutboxRelayTest {
+
+    static final int SINK_CAPACITY = 10;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private InMemoryOutboxSink outboxSink;
+
+    @BeforeEach
+    void setUp() {
+        outboxSink.getQueue().clear();
+    }
+
+    @Test
+    void whenStockChangesOnOneNodeThenCommittedEventsAreRelayedInOrderPerBeer() throws Exception {
+        // given
+        List<BeerDTO> beers = beerService.createBeers(List.of(beer("Outbox Lager", 10), beer("Outbox Stout", 20)));
+        Long lagerId = beers.get(0).getId();
+        Long stoutId = beers.get(1).getId();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            beerService.increment(lagerId, 1);
+        }
+        beerService.decrement(stoutId, 5);
+        beerService.decrement(stoutId, 5);
+        assertThrows(BeerStockLessThanZeroException.class, () -> beerService.decrement(stoutId, 50));
+
+        // then
+        List<OutboxEvent> relayed = awaitRelayed(7);
+        assertThat(quantitiesOf(relayed, lagerId), contains(10, 11, 12, 13));
+        assertThat(quantitiesOf(relayed, stoutId), contains(20, 15, 10));
+        assertThat(outboxEventRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    void whenSinkFailsThenBatchIsRelayedAgainOnNextPoll() throws Exception {
+        // given
+        doThrow(new IllegalStateException("broker down")).doCallRealMethod().when(outboxSink).publish(anyList());
+
+        // when
+        beerService.createBeer(beer("Outbox Retry", 10));
+
+        // then
+        List<OutboxEvent> relayed = awaitRelayed(1);
+        assertThat(relayed, hasSize(1));
+        verify(outboxSink, atLeast(2)).publish(anyList());
+    }
+
+    @Test
+    void whenSinkIsFullThenEventsWaitInTheOutboxInsteadOfBeingDropped() throws Exception {
+        // given
+        List<OutboxEvent> queued = new ArrayList<>();
+        for (int i = 0; i < SINK_CAPACITY; i++) {
+            queued.add(OutboxEvent.builder().id(-1L - i).build());
+        }
+        outboxSink.getQueue().addAll(queued);
+
+        // when
+        beerService.createBeer(beer("Outbox Backlog", 10));
+        verify(outboxSink, timeout(5_000).atLeast(2)).publish(anyList());
+
+        // then
+        assertThat(new ArrayList<>(outboxSink.getQueue()), equalTo(queued));
+        assertThat(outboxEventRepository.count(), greaterThanOrEqualTo(1L));
+        outboxSink.getQueue().clear();
+        assertThat(awaitRelayed(1), hasSize(1));
+    }
+
+    private List<OutboxEvent> awaitRelayed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outboxSink.getQueue().size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return new ArrayList<>(outboxSink.getQueue());
+    }
+
+    private List<Integer> quantitiesOf(List<OutboxEvent> events, Long beerId) throws Exception {
+        List<Integer> quantities = new ArrayList<>();
+        for (OutboxEvent event : events.stream().filter(e -> e.getBeerId().equals(beerId)).collect(Collectors.toList())) {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            quantities.add(payload.get("quantity").asInt());
+        }
+        return quantities;
+    }
+
+    private static BeerDTO beer(String name, int quantity) {
+        return BeerDTOBuilder.builder()
+                .id(null)
+                .name(name)
+                .max(50)
+                .quantity(quantity)
+                .build()
+                .toBeerDTO();
+    }
+}
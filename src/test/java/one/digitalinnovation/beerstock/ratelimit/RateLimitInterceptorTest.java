@@ -0,0 +1,174 @@
+package one.digitalinnovation.beerstock.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.controller.BeerController;
+import one.digitalinnovation.beerstock.controller.WarehouseStockController;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.ratelimit.RateLimitProperties.RouteLimit;
+import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.service.WarehouseStockService;
+import one.digitalinnovation.beerstock.service.WarehouseTotalsService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorTest {
+
+    private static final String INCREMENT_URL_PATH = "/api/v1/beers/1/increment";
+    private static final String INCREMENT_ROUTE = "PATCH /api/v1/beers/{id}/increment";
+    private static final String WAREHOUSE_INCREMENT_URL_PATH = "/api/v1/warehouses/2/beers/1/increment";
+    private static final String GATEWAY_ADDRESS = "10.0.0.1";
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private WarehouseStockService warehouseStockService;
+
+    @Mock
+    private WarehouseTotalsService warehouseTotalsService;
+
+    @InjectMocks
+    private BeerController beerController;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RouteLimit incrementLimit = new RouteLimit();
+        incrementLimit.setMethod("PATCH");
+        incrementLimit.setPattern("/api/v1/beers/{id}/increment");
+        incrementLimit.setPermitsPerSecond(1);
+        incrementLimit.setBurst(2);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("increment", incrementLimit);
+        properties.getDefaults().setBurst(5);
+        properties.setTrustedProxies(Set.of(GATEWAY_ADDRESS));
+
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        lenient().when(beerService.increment(anyLong(), anyInt())).thenReturn(beerDTO);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(beerController, new WarehouseStockController(warehouseStockService, warehouseTotalsService))
+                .addInterceptors(new RateLimitInterceptor(properties, meterRegistry, nanoClock::get))
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenClientExceedsBurstThenTooManyRequestsWithRetryAfterIsReturned() throws Exception {
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isOk());
+
+        increment("client-a")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        assertThat(meterRegistry.counter("beerstock.ratelimit.rejected", "route", INCREMENT_ROUTE, "reason", "rate").count(),
+                equalTo(1.0));
+    }
+
+    @Test
+    void whenAnotherClientCallsThenItHasItsOwnBucket() throws Exception {
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isTooManyRequests());
+
+        increment("client-b").andExpect(status().isOk());
+    }
+
+    @Test
+    void whenClientHeaderComesFromAnUntrustedAddressThenTheAddressIsTheClient() throws Exception {
+        increment("client-a", "192.168.0.7").andExpect(status().isOk());
+        increment("client-b", "192.168.0.7").andExpect(status().isOk());
+
+        increment("client-c", "192.168.0.7").andExpect(status().isTooManyRequests());
+        increment("client-c", "192.168.0.8").andExpect(status().isOk());
+    }
+
+    @Test
+    void whenAnotherControllerHasAHandlerOfTheSameNameThenItIsASeparateRoute() throws Exception {
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(patch(WAREHOUSE_INCREMENT_URL_PATH)
+                .with(remoteAddress(GATEWAY_ADDRESS))
+                .header("X-Client-Id", "client-a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new QuantityDTO(5))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenTokensAreRefilledThenClientIsAdmittedAgain() throws Exception {
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isOk());
+        increment("client-a").andExpect(status().isTooManyRequests());
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        increment("client-a").andExpect(status().isOk());
+    }
+
+    @Test
+    void whenRequestCompletesThenConcurrencyPermitIsReturned() throws Exception {
+        increment("client-a").andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("beerstock.ratelimit.concurrency.in-flight").tag("route", INCREMENT_ROUTE).gauge().value(),
+                equalTo(0.0));
+    }
+
+    private ResultActions increment(String clientId) throws Exception {
+        return increment(clientId, GATEWAY_ADDRESS);
+    }
+
+    private ResultActions increment(String clientId, String address) throws Exception {
+        return mockMvc.perform(patch(INCREMENT_URL_PATH)
+                .with(remoteAddress(address))
+                .header("X-Client-Id", clientId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new QuantityDTO(5))));
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
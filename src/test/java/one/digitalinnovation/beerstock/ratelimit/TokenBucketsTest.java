@@ -0,0 +1,53 @@
+package one.digitalinnovation.beerstock.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TokenBucketsTest {
+
+    private static final long NOW = 0;
+
+    private final TokenBuckets buckets = new TokenBuckets(2);
+
+    @Test
+    void whenTheCapIsReachedThenTheLeastRecentlyUsedBucketIsDropped() {
+        // given
+        TokenBucket first = drained("client-a");
+        TokenBucket second = drained("client-b");
+        buckets.get("client-a", NOW, TokenBucketsTest::newBucket);
+
+        // when
+        drained("client-c");
+
+        // then
+        assertThat(buckets.size(), equalTo(2));
+        assertThat(buckets.get("client-a", NOW, TokenBucketsTest::newBucket), sameInstance(first));
+        assertThat(buckets.get("client-b", NOW, TokenBucketsTest::newBucket), not(sameInstance(second)));
+    }
+
+    @Test
+    void whenIdleBucketsRefilledThenANewBucketDropsThemBelowTheCap() {
+        // given
+        buckets.get("client-a", NOW, TokenBucketsTest::newBucket);
+
+        // when
+        buckets.get("client-b", NOW, TokenBucketsTest::newBucket);
+
+        // then
+        assertThat(buckets.size(), equalTo(1));
+    }
+
+    private TokenBucket drained(String key) {
+        TokenBucket bucket = buckets.get(key, NOW, TokenBucketsTest::newBucket);
+        bucket.tryAcquire(NOW);
+        return bucket;
+    }
+
+    private static TokenBucket newBucket() {
+        return new TokenBucket(1, 1, NOW);
+    }
+}
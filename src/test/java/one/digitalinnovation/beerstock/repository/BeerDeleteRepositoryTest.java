@@ -0,0 +1,113 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+public class BeerDeleteRepositoryTest {
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void whenBeersAreDeletedByIdThenTheDeletedRowsAreReturned() {
+        // given
+        Beer brahma = beerRepository.saveAndFlush(beer("Brahma", "Ambev", BeerType.LAGER));
+        Beer skol = beerRepository.saveAndFlush(beer("Skol", "Ambev", BeerType.LAGER));
+
+        // when
+        List<Beer> deletedBeers = beerRepository.deleteAllByIdReturning(List.of(brahma.getId(), -1L), false);
+
+        // then
+        assertThat(deletedBeers, equalTo(List.of(brahma)));
+        assertThat(rows(), equalTo(1));
+        assertThat(beerRepository.findById(skol.getId()).isPresent(), equalTo(true));
+    }
+
+    @Test
+    void whenBeersAreDeletedByBrandAndTypeThenOnlyMatchingBeersAreDeleted() {
+        // given
+        beerRepository.saveAndFlush(beer("Brahma", "Ambev", BeerType.LAGER));
+        beerRepository.saveAndFlush(beer("Skol", "Ambev", BeerType.LAGER));
+        beerRepository.saveAndFlush(beer("Goose Island IPA", "Ambev", BeerType.IPA));
+        beerRepository.saveAndFlush(beer("Heineken", "Heineken", BeerType.LAGER));
+
+        // when
+        List<Beer> deletedBeers = beerRepository.deleteAllByBrandAndTypeReturning("Ambev", BeerType.LAGER, false);
+
+        // then
+        assertThat(names(deletedBeers), containsInAnyOrder("Brahma", "Skol"));
+        assertThat(names(beerRepository.findAll()), containsInAnyOrder("Goose Island IPA", "Heineken"));
+    }
+
+    @Test
+    void whenBeersAreSoftDeletedThenTheyAreHiddenUntilPurged() {
+        // given
+        Beer brahma = beerRepository.saveAndFlush(beer("Brahma", "Ambev", BeerType.LAGER));
+        beerRepository.saveAndFlush(beer("Heineken", "Heineken", BeerType.LAGER));
+
+        // when
+        List<Beer> deletedBeers = beerRepository.deleteAllByBrandAndTypeReturning("Ambev", null, true);
+        entityManager.clear();
+
+        // then
+        assertThat(names(deletedBeers), containsInAnyOrder("Brahma"));
+        assertThat(beerRepository.findById(brahma.getId()), equalTo(Optional.empty()));
+        assertThat(beerRepository.findByName("Brahma"), equalTo(Optional.empty()));
+        assertThat(beerRepository.incrementIfWithinMax(brahma.getId(), 1), equalTo(Optional.empty()));
+        assertThat(beerRepository.deleteAllByIdReturning(List.of(brahma.getId()), true), empty());
+        assertThat(rows(), equalTo(2));
+        assertThat(beerRepository.purgeSoftDeleted(10), equalTo(1));
+        assertThat(rows(), equalTo(1));
+    }
+
+    @Test
+    void whenASoftDeletedNameIsReclaimedThenItCanBeRegisteredAgain() {
+        // given
+        beerRepository.saveAndFlush(beer("Brahma", "Ambev", BeerType.LAGER));
+        beerRepository.deleteAllByBrandAndTypeReturning("Ambev", null, true);
+        entityManager.clear();
+
+        // when
+        int purged = beerRepository.purgeSoftDeletedByName(List.of("Brahma", "Skol"));
+        beerRepository.saveAndFlush(beer("Brahma", "Ambev", BeerType.LAGER));
+
+        // then
+        assertThat(purged, equalTo(1));
+        assertThat(beerRepository.findByName("Brahma").isPresent(), equalTo(true));
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM beer", Integer.class);
+    }
+
+    private static List<String> names(List<Beer> beers) {
+        return beers.stream().map(Beer::getName).collect(Collectors.toList());
+    }
+
+    private static Beer beer(String name, String brand, BeerType type) {
+        return new Beer(null, name, brand, 50, 10, type);
+    }
+}
@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+public class BeerPrefixSearchRepositoryTest {
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenNamesAreSearchedByLowerCasePrefixThenMatchesOfAnyCaseAreReturnedInNameOrder() {
+        // given
+        beerRepository.saveAndFlush(beer("brahma Extra", "Ambev"));
+        beerRepository.saveAndFlush(beer("Brahma Chopp", "Ambev"));
+        beerRepository.saveAndFlush(beer("Skol", "Ambev"));
+
+        // when
+        List<Beer> beers = beerRepository.findByNameKeyStartingWithOrderByNameKeyAsc("brah", PageRequest.of(0, 10));
+
+        // then
+        assertThat(names(beers), equalTo(List.of("Brahma Chopp", "brahma Extra")));
+    }
+
+    @Test
+    void whenBrandsAreSearchedByLowerCasePrefixThenTheWildcardsInThePrefixAreLiteral() {
+        // given
+        beerRepository.saveAndFlush(beer("Heineken", "Heineken"));
+        beerRepository.saveAndFlush(beer("Skol", "Ambev"));
+
+        // when
+        List<Beer> beers = beerRepository.findByBrandKeyStartingWithOrderByNameKeyAsc("heine", PageRequest.of(0, 10));
+        List<Beer> wildcard = beerRepository.findByBrandKeyStartingWithOrderByNameKeyAsc("%", PageRequest.of(0, 10));
+
+        // then
+        assertThat(names(beers), equalTo(List.of("Heineken")));
+        assertThat(wildcard.size(), equalTo(0));
+    }
+
+    @Test
+    void whenAPrefixIsSearchedThenTheKeyIndexIsUsed() {
+        // when
+        String namePlan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM beer WHERE name_key LIKE 'brah%' ORDER BY name_key", String.class);
+        String brandPlan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM beer WHERE brand_key LIKE 'amb%'", String.class);
+
+        // then
+        assertThat(namePlan.toUpperCase(), containsString("BEER_NAME_KEY"));
+        assertThat(brandPlan.toUpperCase(), containsString("BEER_BRAND_KEY"));
+    }
+
+    private static List<String> names(List<Beer> beers) {
+        return beers.stream().map(Beer::getName).collect(Collectors.toList());
+    }
+
+    private static Beer beer(String name, String brand) {
+        return new Beer(null, name, brand, 50, 10, BeerType.LAGER);
+    }
+}
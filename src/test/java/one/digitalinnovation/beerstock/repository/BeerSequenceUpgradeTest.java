@@ -0,0 +1,62 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.service.BeerService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Opens a file database written before beer ids came from {@code beer_seq} with the {@code file}
+ * profile, and checks that new beers get ids past the identity ids already in it, also after a restart.
+ */
+public class BeerSequenceUpgradeTest {
+
+    private static final long LEGACY_MAX_ID = 130;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void whenADatabaseWithIdentityIdsIsOpenedThenNewBeersGetIdsPastThem() throws Exception {
+        // given
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + dataDir.resolve("beerstock"), "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE beer (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " brand VARCHAR(255) NOT NULL, max INT NOT NULL, name VARCHAR(255) NOT NULL UNIQUE,"
+                    + " quantity INT NOT NULL, type VARCHAR(255) NOT NULL)");
+            statement.execute("INSERT INTO beer (brand, max, name, quantity, type) VALUES ('Ambev', 50, 'Legacy', 10, 'LAGER')");
+            statement.execute("INSERT INTO beer (id, brand, max, name, quantity, type)"
+                    + " VALUES (" + LEGACY_MAX_ID + ", 'Ambev', 50, 'Legacy 130', 10, 'LAGER')");
+        }
+
+        // when
+        long firstId = createBeerInFreshContext("Upgraded");
+        long secondId = createBeerInFreshContext("Upgraded after restart");
+
+        // then
+        assertThat(firstId, greaterThan(LEGACY_MAX_ID));
+        assertThat(secondId, greaterThan(firstId));
+    }
+
+    private long createBeerInFreshContext(String name) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .run("--spring.profiles.active=file", "--beerstock.h2.data-dir=" + dataDir, "--server.port=0")) {
+            return context.getBean(BeerService.class)
+                    .createBeer(BeerDTOBuilder.builder().id(null).name(name).build().toBeerDTO())
+                    .getId();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package one.digitalinnovation.beerstock.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deletes a stock row while threads keep incrementing and decrementing it, each change in its own short
+ * transaction as behind the services. Every change that succeeded has to be in the row the delete
+ * returns, and none may succeed once it committed. The repositories run on a pool of their own, outside
+ * any test transaction.
+ */
+public class DeleteUnderContentionTest {
+
+    private static final int CHANGING_THREADS = 8;
+    private static final int CHANGES_PER_THREAD = 300;
+    private static final int MAX = 30;
+    private static final int INITIAL_QUANTITY = 15;
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:delete-under-contention-" + DATABASES.incrementAndGet() + ";LOCK_TIMEOUT=10000");
+        dataSource.setMaximumPoolSize(CHANGING_THREADS + 1);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE beer (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, brand VARCHAR(255) NOT NULL,"
+                + " max INT NOT NULL, quantity INT NOT NULL, type VARCHAR(255) NOT NULL, deleted BOOLEAN DEFAULT FALSE NOT NULL)");
+        jdbcTemplate.update("INSERT INTO beer (id, name, brand, max, quantity, type) VALUES (1, 'Brahma', 'Ambev', ?, ?, 'LAGER')",
+                MAX, INITIAL_QUANTITY);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void whenBeerIsDeletedWhileItsStockChangesThenTheReturnedRowHoldsEveryChange() throws Exception {
+        // given
+        StockUpdateRepositoryImpl stockUpdates = new StockUpdateRepositoryImpl(jdbcTemplate);
+        BeerDeleteRepositoryImpl deletes = new BeerDeleteRepositoryImpl(jdbcTemplate);
+
+        // when
+        Race race = raceWithDelete(
+                (increment, quantity) -> (increment
+                        ? stockUpdates.incrementIfWithinMax(1, quantity)
+                        : stockUpdates.decrementIfAvailable(1, quantity, 0)).isPresent(),
+                () -> deletes.deleteAllByIdReturning(List.of(1L), false).get(0).getQuantity());
+
+        // then
+        assertThat(race.failures, empty());
+        assertThat(race.deletedQuantity, equalTo(INITIAL_QUANTITY + race.applied.get()));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM beer", Integer.class), equalTo(0));
+    }
+
+    @Test
+    void whenWarehouseStockIsDeletedWhileItChangesThenTheReturnedRowHoldsEveryChange() throws Exception {
+        // given
+        WarehouseStockRepository warehouseStock = new WarehouseStockRepository(jdbcTemplate, 1);
+        warehouseStock.createPartitions();
+        warehouseStock.insert(new WarehouseStock(2, 1, INITIAL_QUANTITY, MAX));
+
+        // when
+        Race race = raceWithDelete(
+                (increment, quantity) -> (increment
+                        ? warehouseStock.incrementIfWithinMax(2, 1, quantity)
+                        : warehouseStock.decrementIfAvailable(2, 1, quantity)).isPresent(),
+                () -> warehouseStock.delete(2, 1).orElseThrow().getQuantity());
+
+        // then
+        assertThat(race.failures, empty());
+        assertThat(race.deletedQuantity, equalTo(INITIAL_QUANTITY + race.applied.get()));
+        assertThat(warehouseStock.findAll(2), empty());
+    }
+
+    /**
+     * Deletes once half of the changes ran. Returns the quantity the delete returned and the net of the
+     * changes that succeeded.
+     */
+    private Race raceWithDelete(StockChange change, IntSupplier delete) throws InterruptedException {
+        Race race = new Race();
+        AtomicInteger changes = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CHANGING_THREADS);
+        for (int t = 0; t < CHANGING_THREADS; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            executor.execute(() -> {
+                for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                    int quantity = 1 + random.nextInt(5);
+                    boolean increment = random.nextBoolean();
+                    try {
+                        if (transaction.execute(status -> change.apply(increment, quantity))) {
+                            race.applied.addAndGet(increment ? quantity : -quantity);
+                        }
+                    } catch (Throwable unexpected) {
+                        race.failures.add(unexpected.toString());
+                    }
+                    changes.incrementAndGet();
+                }
+            });
+        }
+        while (changes.get() < CHANGING_THREADS * CHANGES_PER_THREAD / 2) {
+            Thread.yield();
+        }
+        race.deletedQuantity = transaction.execute(status -> delete.getAsInt());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES), "stock changes did not finish in time");
+        return race;
+    }
+
+    @FunctionalInterface
+    private interface StockChange {
+
+        /**
+         * Applies the change and returns whether it succeeded.
+         */
+        boolean apply(boolean increment, int quantity);
+    }
+
+    private static class Race {
+
+        private final AtomicInteger applied = new AtomicInteger();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private int deletedQuantity;
+    }
+}
@@ -0,0 +1,66 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.OutboxEvent;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+public class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenABatchIsReadThenOnlyTheEventsOfItsBucketsAreReturnedInIdOrder() {
+        // given
+        List<OutboxEvent> saved = outboxEventRepository.saveAll(List.of(
+                event(1), event(2), event(OutboxEvent.BUCKETS + 1), event(3), event(1)));
+
+        // when
+        List<OutboxEvent> batch = outboxEventRepository.findBatchForUpdate(List.of(1, 3), PageRequest.of(0, 10));
+
+        // then
+        assertThat(beerIds(batch), equalTo(List.of(1L, OutboxEvent.BUCKETS + 1L, 3L, 1L)));
+        assertThat(batch.get(0).getId(), equalTo(saved.get(0).getId()));
+    }
+
+    @Test
+    void whenABatchIsReadThenTheBucketIndexIsUsed() {
+        // when
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM outbox_event WHERE bucket IN (1, 3) ORDER BY id", String.class);
+
+        // then
+        assertThat(plan, containsStringIgnoringCase("outbox_event_bucket"));
+    }
+
+    private static OutboxEvent event(long beerId) {
+        return OutboxEvent.builder()
+                .beerId(beerId)
+                .bucket(OutboxEvent.bucketOf(beerId))
+                .type(BeerStockEvent.Type.CREATED)
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static List<Long> beerIds(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getBeerId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest
+public class StockUpdateRepositoryTest {
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Test
+    void whenIncrementFitsUnderMaxThenTheUpdatedRowIsReturned() {
+        // given
+        Beer beer = beerRepository.saveAndFlush(beer(10, 50));
+
+        // when
+        Optional<Beer> incrementedBeer = beerRepository.incrementIfWithinMax(beer.getId(), 40);
+
+        // then
+        assertThat(incrementedBeer.map(Beer::getQuantity), equalTo(Optional.of(50)));
+        assertThat(incrementedBeer.map(Beer::getName), equalTo(Optional.of("Brahma")));
+        assertThat(incrementedBeer.map(Beer::getType), equalTo(Optional.of(BeerType.LAGER)));
+        assertThat(beerRepository.incrementIfWithinMax(beer.getId(), 1), equalTo(Optional.empty()));
+        assertThat(beerRepository.incrementIfWithinMax(-1L, 1), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void whenDecrementWouldConsumeReservedStockThenNothingIsUpdated() {
+        // given
+        Beer beer = beerRepository.saveAndFlush(beer(10, 50));
+
+        // then
+        assertThat(beerRepository.decrementIfAvailable(beer.getId(), 5, 6), equalTo(Optional.empty()));
+        assertThat(beerRepository.decrementIfAvailable(beer.getId(), 4, 6).map(Beer::getQuantity), equalTo(Optional.of(6)));
+    }
+
+    @Test
+    void whenBeerIsLockedThenOnlyExistingBeersAreFound() {
+        // given
+        Beer beer = beerRepository.saveAndFlush(beer(10, 50));
+
+        // then
+        assertThat(beerRepository.lockIfExists(beer.getId()), equalTo(true));
+        assertThat(beerRepository.lockIfExists(-1L), equalTo(false));
+    }
+
+    @Test
+    void whenStockMovedSinceItWasReadThenCompareAndSetSkipsTheBeer() {
+        // given
+        Beer first = beerRepository.saveAndFlush(beer(10, 50));
+        Beer second = beerRepository.saveAndFlush(new Beer(null, "Skol", "Ambev", 50, 20, BeerType.LAGER));
+
+        // when
+        int[] updateCounts = beerRepository.compareAndSetQuantities(List.of(
+                new QuantityCorrection(first.getId(), 10, 12),
+                new QuantityCorrection(second.getId(), 19, 25)));
+
+        // then
+        assertThat(updateCounts[0], equalTo(1));
+        assertThat(updateCounts[1], equalTo(0));
+    }
+
+    private static Beer beer(int quantity, int max) {
+        return new Beer(null, "Brahma", "Ambev", max, quantity, BeerType.LAGER);
+    }
+}
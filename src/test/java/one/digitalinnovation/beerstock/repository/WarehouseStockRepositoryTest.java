@@ -0,0 +1,183 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(WarehouseStockRepository.class)
+public class WarehouseStockRepositoryTest {
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenStockIsChangedThenItStaysWithinZeroAndMax() {
+        // given
+        long beerId = beerRepository.saveAndFlush(beer("Brahma")).getId();
+        warehouseStockRepository.insert(new WarehouseStock(2, beerId, 10, 20));
+
+        // when
+        Optional<WarehouseStock> incremented = warehouseStockRepository.incrementIfWithinMax(2, beerId, 10);
+        Optional<WarehouseStock> exceeded = warehouseStockRepository.incrementIfWithinMax(2, beerId, 1);
+        Optional<WarehouseStock> belowZero = warehouseStockRepository.decrementIfAvailable(2, beerId, 21);
+
+        // then
+        assertThat(incremented, equalTo(Optional.of(new WarehouseStock(2, beerId, 20, 20))));
+        assertThat(exceeded, equalTo(Optional.empty()));
+        assertThat(belowZero, equalTo(Optional.empty()));
+        assertThrows(DuplicateKeyException.class, () -> warehouseStockRepository.insert(new WarehouseStock(2, beerId, 0, 5)));
+    }
+
+    @Test
+    void whenWarehousesHoldTheSameBeerThenEachKeepsItsOwnRowInItsPartition() {
+        // given
+        long beerId = beerRepository.saveAndFlush(beer("Skol")).getId();
+        warehouseStockRepository.insert(new WarehouseStock(2, beerId, 1, 10));
+        warehouseStockRepository.insert(new WarehouseStock(3, beerId, 2, 10));
+        warehouseStockRepository.insert(new WarehouseStock(10, beerId, 3, 10));
+
+        // when
+        warehouseStockRepository.decrementIfAvailable(3, beerId, 2);
+
+        // then
+        assertThat(warehouseStockRepository.find(2, beerId), equalTo(Optional.of(new WarehouseStock(2, beerId, 1, 10))));
+        assertThat(warehouseStockRepository.findAll(3), equalTo(List.of(new WarehouseStock(3, beerId, 0, 10))));
+        assertThat(rows("warehouse_stock_2"), equalTo(2));
+        assertThat(rows("warehouse_stock_3"), equalTo(1));
+    }
+
+    @Test
+    void whenTheBeerIsDeletedThenItsWarehouseStockIsHiddenUntilPurged() {
+        // given
+        long beerId = beerRepository.saveAndFlush(beer("Heineken")).getId();
+        warehouseStockRepository.insert(new WarehouseStock(2, beerId, 5, 10));
+        warehouseStockRepository.insert(new WarehouseStock(3, beerId, 5, 10));
+
+        // when
+        beerRepository.deleteAllByIdReturning(List.of(beerId), false);
+
+        // then
+        assertThat(warehouseStockRepository.find(2, beerId), equalTo(Optional.empty()));
+        assertThat(warehouseStockRepository.incrementIfWithinMax(2, beerId, 1), equalTo(Optional.empty()));
+        assertThat(warehouseStockRepository.delete(3, beerId), equalTo(Optional.empty()));
+        assertThat(warehouseStockRepository.purgeOrphans(10), equalTo(4));
+        assertThat(rows("warehouse_stock_2") + rows("warehouse_stock_3") + rows("warehouse_totals"), equalTo(0));
+    }
+
+    @Test
+    void whenStockChangesThenTheTotalsOfTheBeerFollowInEveryPartition() {
+        // given
+        long beerId = beerRepository.saveAndFlush(beer("Stella Artois")).getId();
+        long otherBeerId = beerRepository.saveAndFlush(beer("Budweiser")).getId();
+        warehouseStockRepository.insert(new WarehouseStock(2, beerId, 1, 10));
+        warehouseStockRepository.insert(new WarehouseStock(10, beerId, 2, 20));
+        warehouseStockRepository.insert(new WarehouseStock(3, beerId, 4, 40));
+        warehouseStockRepository.insert(new WarehouseStock(4, beerId, 8, 80));
+        warehouseStockRepository.insert(new WarehouseStock(2, otherBeerId, 8, 80));
+
+        // when
+        warehouseStockRepository.incrementIfWithinMax(2, beerId, 5);
+        warehouseStockRepository.decrementIfAvailable(3, beerId, 3);
+        warehouseStockRepository.delete(4, beerId);
+
+        // then
+        assertThat(totalsOf(beerId), equalTo(new long[]{10 + 6 + 2 + 1, 50 + 10 + 20 + 40, 4}));
+        assertThat(totalsOf(otherBeerId), equalTo(new long[]{10 + 8, 50 + 80, 2}));
+        assertThat(rows("warehouse_totals"), equalTo(4));
+    }
+
+    @Test
+    void whenTheBeerDoesNotExistThenItHasNoTotals() {
+        // given
+        long beerId = beerRepository.saveAndFlush(beer("Corona")).getId();
+        warehouseStockRepository.insert(new WarehouseStock(2, beerId, 1, 10));
+
+        // when
+        beerRepository.deleteAllByIdReturning(List.of(beerId), false);
+
+        // then
+        assertFalse(warehouseStockRepository.totalsOfBeer(beerId, (id, quantity, max, warehouses) -> {
+            throw new AssertionError("totals of a deleted beer");
+        }));
+        assertThat(warehouseStockRepository.purgeOrphans(10), equalTo(2));
+        assertThat(rows("warehouse_totals"), equalTo(0));
+    }
+
+    /**
+     * Runs against a database of its own: dropping the totals table commits, which would leak the rows of
+     * this test into the shared one.
+     */
+    @Test
+    void whenTheTotalsTableIsCreatedThenItIsFilledFromThePartitions() {
+        // given
+        JdbcTemplate ownDatabase = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:warehouse-totals-fill;DB_CLOSE_DELAY=-1"));
+        ownDatabase.execute("CREATE TABLE beer (id BIGINT PRIMARY KEY, max INT NOT NULL, quantity INT NOT NULL,"
+                + " deleted BOOLEAN DEFAULT FALSE NOT NULL)");
+        ownDatabase.update("INSERT INTO beer (id, max, quantity) VALUES (1, 50, 10)");
+        WarehouseStockRepository repository = new WarehouseStockRepository(ownDatabase, 2);
+        repository.createPartitions();
+        repository.insert(new WarehouseStock(2, 1, 1, 10));
+        repository.insert(new WarehouseStock(4, 1, 2, 20));
+        repository.insert(new WarehouseStock(3, 1, 4, 40));
+        long[] maintained = totalsOf(repository, 1);
+
+        // when
+        ownDatabase.execute("DROP TABLE warehouse_totals");
+        repository.createPartitions();
+
+        // then
+        try {
+            assertThat(totalsOf(repository, 1), equalTo(maintained));
+            assertThat(maintained, equalTo(new long[]{17, 120, 4}));
+        } finally {
+            ownDatabase.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private long[] totalsOf(long beerId) {
+        return totalsOf(warehouseStockRepository, beerId);
+    }
+
+    private static long[] totalsOf(WarehouseStockRepository repository, long beerId) {
+        long[] totals = new long[3];
+        assertTrue(repository.totalsOfBeer(beerId, (id, quantity, max, warehouses) -> {
+            totals[0] = quantity;
+            totals[1] = max;
+            totals[2] = warehouses;
+        }));
+        return totals;
+    }
+
+    private int rows(String partition) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Integer.class);
+    }
+
+    private static Beer beer(String name) {
+        return new Beer(null, name, "Ambev", 50, 10, BeerType.LAGER);
+    }
+}
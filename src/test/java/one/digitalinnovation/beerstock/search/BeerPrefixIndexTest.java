@@ -0,0 +1,89 @@
+package one.digitalinnovation.beerstock.search;
+
+import one.digitalinnovation.beerstock.dto.BeerSuggestionDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+public class BeerPrefixIndexTest {
+
+    private static final BeerSuggestionDTO BRAHMA = new BeerSuggestionDTO(1L, "Brahma Chopp", "Ambev", BeerType.LAGER);
+    private static final BeerSuggestionDTO INDICA = new BeerSuggestionDTO(2L, "Colorado Indica IPA", "Colorado", BeerType.IPA);
+    private static final BeerSuggestionDTO BOHEMIA = new BeerSuggestionDTO(3L, "Bohêmia Puro Malte", "Ambev", BeerType.LAGER);
+
+    @Test
+    void whenPrefixOfNameBrandOrWordIsGivenThenMatchingBeersAreReturned() {
+        // given
+        BeerPrefixIndex index = indexOf(BRAHMA, INDICA, BOHEMIA);
+
+        // then
+        assertThat(index.suggest("brahma ch", 10), contains(BRAHMA));
+        assertThat(index.suggest("ip", 10), contains(INDICA));
+        assertThat(index.suggest("AMB", 10), contains(BRAHMA, BOHEMIA));
+        assertThat(index.suggest("stout", 10), empty());
+    }
+
+    @Test
+    void whenQueryHasNoAccentsThenAccentedNamesMatch() {
+        // given
+        BeerPrefixIndex index = indexOf(BOHEMIA);
+
+        // then
+        assertThat(index.suggest("bohemia", 10), contains(BOHEMIA));
+        assertThat(index.suggest("BOHÊM", 10), contains(BOHEMIA));
+    }
+
+    @Test
+    void whenABeerMatchesSeveralTermsThenItIsReturnedOnce() {
+        // given
+        BeerSuggestionDTO colorado = new BeerSuggestionDTO(4L, "Colorado Appia", "Colorado", BeerType.WITBIER);
+        BeerPrefixIndex index = indexOf(INDICA, colorado);
+
+        // when
+        List<BeerSuggestionDTO> suggestions = index.suggest("colorado", 10);
+
+        // then
+        assertThat(suggestions, hasSize(2));
+    }
+
+    @Test
+    void whenLimitIsReachedThenNoMoreBeersAreReturned() {
+        // given
+        BeerPrefixIndex index = new BeerPrefixIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.add(new BeerSuggestionDTO(id, "Session " + id, "Ambev", BeerType.ALE));
+        }
+
+        // then
+        assertThat(index.suggest("session", 5), hasSize(5));
+        assertThat(index.suggest("", 5), empty());
+    }
+
+    @Test
+    void whenBeerIsRemovedThenNoTermOfItRemains() {
+        // given
+        BeerPrefixIndex index = indexOf(BRAHMA, BOHEMIA);
+
+        // when
+        index.remove(BRAHMA.getId(), BRAHMA.getName(), BRAHMA.getBrand());
+
+        // then
+        assertThat(index.suggest("brahma", 10), empty());
+        assertThat(index.suggest("ambev", 10), contains(BOHEMIA));
+    }
+
+    private static BeerPrefixIndex indexOf(BeerSuggestionDTO... beers) {
+        BeerPrefixIndex index = new BeerPrefixIndex();
+        for (BeerSuggestionDTO beer : beers) {
+            index.add(beer);
+        }
+        return index;
+    }
+}
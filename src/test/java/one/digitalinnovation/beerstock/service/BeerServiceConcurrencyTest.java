@@ -0,0 +1,341 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress and history checks of the stock operations of {@link BeerService} against a real H2 database, in
+ * the spirit of Lincheck: threads run seeded random increments and decrements on a few beers while a
+ * sampler reads their rows, and afterwards every quantity the operations returned must be explained by one
+ * sequential order of the successful ones. The checks are that {@code 0 <= quantity <= max} holds in every
+ * row read and every result returned, that the final quantity is the initial one plus every successful
+ * delta, so no update was lost, and that nothing succeeds on a beer once its delete has returned. Both the
+ * entity path and the in-place path of the lean endpoints are covered; any throughput work on the stock
+ * path has to keep this suite green. The seeds fix what each thread does, not how the threads interleave,
+ * so a longer soak with {@code -Dstress.stock.threads} and {@code -Dstress.stock.operations} explores more
+ * schedules.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-concurrency;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "beerstock.outbox.relay.enabled=false"
+})
+public class BeerServiceConcurrencyTest {
+
+    private static final int BEERS = 2;
+    private static final int MAX = 30;
+    private static final int INITIAL_QUANTITY = 15;
+    private static final int MAX_DELTA = 5;
+    private static final int THREADS = Integer.getInteger("stress.stock.threads", 8);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("stress.stock.operations", 150);
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DeletedStockRecorder deletedStockRecorder;
+
+    enum StockPath {
+        ENTITY {
+            @Override
+            int apply(BeerService beerService, long id, int delta) throws Exception {
+                return delta > 0 ? beerService.increment(id, delta).getQuantity() : beerService.decrement(id, -delta).getQuantity();
+            }
+        },
+        IN_PLACE {
+            @Override
+            int apply(BeerService beerService, long id, int delta) throws Exception {
+                return delta > 0 ? beerService.incrementInPlace(id, delta) : beerService.decrementInPlace(id, -delta);
+            }
+        };
+
+        /**
+         * Applies the signed delta and returns the quantity after it.
+         */
+        abstract int apply(BeerService beerService, long id, int delta) throws Exception;
+    }
+
+    @ParameterizedTest
+    @EnumSource(StockPath.class)
+    void whenStockChangesRaceThenNoDeltaIsLostAndEveryResultFitsOneSequentialHistory(StockPath path) throws Exception {
+        // given
+        long[] beerIds = createBeers(path);
+
+        // when
+        Run run = hammer(path, beerIds, null);
+
+        // then
+        assertThat(run.unexpectedFailures, empty());
+        assertThat(run.boundViolations, empty());
+        for (int beer = 0; beer < BEERS; beer++) {
+            List<Operation> succeeded = run.succeeded(beer);
+            int finalQuantity = jdbcTemplate.queryForObject("SELECT quantity FROM beer WHERE id = ?", Integer.class, beerIds[beer]);
+            assertThat(succeeded.size(), greaterThan(0));
+            assertThat(finalQuantity, equalTo(INITIAL_QUANTITY + netDelta(succeeded)));
+            assertThat(explainBySequentialHistory(succeeded, finalQuantity), nullValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StockPath.class)
+    void whenBeerIsDeletedWhileItsStockChangesThenNothingSucceedsAfterTheDelete(StockPath path) throws Exception {
+        // given
+        long[] beerIds = createBeers(path);
+        long[] deletedAt = new long[BEERS];
+
+        // when
+        Run run = hammer(path, beerIds, deletedAt);
+
+        // then
+        assertThat(run.unexpectedFailures, empty());
+        assertThat(run.boundViolations, empty());
+        for (int beer = 0; beer < BEERS; beer++) {
+            int deletedQuantity = deletedStockRecorder.deletedQuantities.get(beerIds[beer]);
+            List<Operation> succeeded = run.succeeded(beer);
+            assertThat(deletedQuantity, equalTo(INITIAL_QUANTITY + netDelta(succeeded)));
+            assertThat(explainBySequentialHistory(succeeded, deletedQuantity), nullValue());
+            for (Operation operation : succeeded) {
+                assertTrue(operation.startNanos < deletedAt[beer], "an operation started after the delete succeeded");
+            }
+        }
+    }
+
+    /**
+     * Runs every thread's operations to the end, with a sampler checking the bounds of the rows meanwhile.
+     * When {@code deletedAt} is given, each beer is deleted once half of the operations have completed, and
+     * the time its delete returned is stored.
+     */
+    private Run hammer(StockPath path, long[] beerIds, long[] deletedAt) throws InterruptedException {
+        Run run = new Run();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 2);
+
+        for (int t = 0; t < THREADS; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int beer = random.nextInt(BEERS);
+                    int delta = (random.nextBoolean() ? 1 : -1) * (1 + random.nextInt(MAX_DELTA));
+                    run.operations.add(apply(path, beer, beerIds[beer], delta, run));
+                    completed.incrementAndGet();
+                }
+                finished.countDown();
+            });
+        }
+        String sample = "SELECT id, quantity, max FROM beer WHERE id IN ("
+                + String.join(", ", Collections.nCopies(BEERS, "?")) + ")";
+        Object[] sampledIds = Arrays.stream(beerIds).boxed().toArray();
+        executor.execute(() -> {
+            awaitQuietly(start);
+            while (!done.get()) {
+                jdbcTemplate.query(sample, resultSet -> {
+                    if (resultSet.getInt(2) < 0 || resultSet.getInt(2) > resultSet.getInt(3)) {
+                        run.boundViolations.add("beer " + resultSet.getLong(1) + " read with quantity " + resultSet.getInt(2));
+                    }
+                }, sampledIds);
+            }
+        });
+        if (deletedAt != null) {
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int beer = 0; beer < BEERS; beer++) {
+                    int threshold = THREADS * OPERATIONS_PER_THREAD * (beer + 1) / (BEERS + 1);
+                    while (completed.get() < threshold) {
+                        Thread.yield();
+                    }
+                    try {
+                        beerService.deleteById(beerIds[beer]);
+                    } catch (Throwable unexpected) {
+                        run.unexpectedFailures.add(unexpected.toString());
+                    }
+                    deletedAt[beer] = System.nanoTime();
+                }
+            });
+        }
+        start.countDown();
+        boolean finishedInTime = finished.await(2, TimeUnit.MINUTES);
+        done.set(true);
+        executor.shutdown();
+        assertTrue(finishedInTime && executor.awaitTermination(1, TimeUnit.MINUTES), "stock operations did not finish in time");
+        return run;
+    }
+
+    private Operation apply(StockPath path, int beer, long id, int delta, Run run) {
+        long startNanos = System.nanoTime();
+        try {
+            int quantityAfter = path.apply(beerService, id, delta);
+            if (quantityAfter < 0 || quantityAfter > MAX) {
+                run.boundViolations.add("beer " + id + " returned quantity " + quantityAfter);
+            }
+            return new Operation(beer, delta, quantityAfter, startNanos, true);
+        } catch (BeerStockExceededException | BeerStockLessThanZeroException | BeerNotFoundException expected) {
+            // rejected, nothing was applied
+        } catch (Throwable unexpected) {
+            run.unexpectedFailures.add(unexpected.toString());
+        }
+        return new Operation(beer, delta, -1, startNanos, false);
+    }
+
+    private long[] createBeers(StockPath path) throws Exception {
+        int run = RUNS.incrementAndGet();
+        long[] ids = new long[BEERS];
+        for (int beer = 0; beer < BEERS; beer++) {
+            BeerDTO beerDTO = BeerDTOBuilder.builder()
+                    .id(null)
+                    .name("Stock concurrency beer " + path + " " + run + "-" + beer)
+                    .max(MAX)
+                    .quantity(INITIAL_QUANTITY)
+                    .build()
+                    .toBeerDTO();
+            ids[beer] = beerService.createBeer(beerDTO).getId();
+        }
+        return ids;
+    }
+
+    private static int netDelta(List<Operation> operations) {
+        return operations.stream().mapToInt(operation -> operation.delta).sum();
+    }
+
+    /**
+     * Every successful operation moved the quantity from {@code quantityAfter - delta} to
+     * {@code quantityAfter}. The results fit one sequential history exactly when these moves, as edges
+     * between quantities, form a path from the initial to the final quantity that uses each edge once: an
+     * Eulerian trail. It exists when both ends stay in bounds, every quantity is entered as often as it is
+     * left except the two ends, and all moves are connected. Returns what breaks the history, or
+     * {@code null}.
+     */
+    static String explainBySequentialHistory(List<Operation> succeeded, int finalQuantity) {
+        int[] balance = new int[MAX + 1];
+        int[] component = new int[MAX + 1];
+        for (int quantity = 0; quantity <= MAX; quantity++) {
+            component[quantity] = quantity;
+        }
+        for (Operation operation : succeeded) {
+            int quantityBefore = operation.quantityAfter - operation.delta;
+            if (quantityBefore < 0 || quantityBefore > MAX || operation.quantityAfter < 0 || operation.quantityAfter > MAX) {
+                return "a change of " + operation.delta + " to " + operation.quantityAfter + " left the bounds";
+            }
+            balance[quantityBefore]++;
+            balance[operation.quantityAfter]--;
+            component[root(component, quantityBefore)] = root(component, operation.quantityAfter);
+        }
+        for (int quantity = 0; quantity <= MAX; quantity++) {
+            int expected = (quantity == INITIAL_QUANTITY ? 1 : 0) - (quantity == finalQuantity ? 1 : 0);
+            if (balance[quantity] != expected) {
+                return "quantity " + quantity + " is left " + balance[quantity] + " more times than it is reached";
+            }
+        }
+        for (Operation operation : succeeded) {
+            if (root(component, operation.quantityAfter) != root(component, INITIAL_QUANTITY)) {
+                return "a change to " + operation.quantityAfter + " cannot be reached from " + INITIAL_QUANTITY;
+            }
+        }
+        return null;
+    }
+
+    private static int root(int[] component, int quantity) {
+        while (component[quantity] != quantity) {
+            quantity = component[quantity];
+        }
+        return quantity;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class Operation {
+
+        private final int beer;
+        private final int delta;
+        private final int quantityAfter;
+        private final long startNanos;
+        private final boolean succeeded;
+
+        Operation(int beer, int delta, int quantityAfter, long startNanos, boolean succeeded) {
+            this.beer = beer;
+            this.delta = delta;
+            this.quantityAfter = quantityAfter;
+            this.startNanos = startNanos;
+            this.succeeded = succeeded;
+        }
+    }
+
+    private static class Run {
+
+        private final Queue<Operation> operations = new ConcurrentLinkedQueue<>();
+        private final Queue<String> unexpectedFailures = new ConcurrentLinkedQueue<>();
+        private final Queue<String> boundViolations = new ConcurrentLinkedQueue<>();
+
+        private List<Operation> succeeded(int beer) {
+            return operations.stream()
+                    .filter(operation -> operation.succeeded && operation.beer == beer)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Keeps the quantity each beer had when its delete committed.
+     */
+    @TestConfiguration
+    static class DeletedStockRecorder {
+
+        private final Map<Long, Integer> deletedQuantities = new ConcurrentHashMap<>();
+
+        @TransactionalEventListener
+        public void onBeerStockEvent(BeerStockEvent event) {
+            if (event.getType() == BeerStockEvent.Type.DELETED) {
+                deletedQuantities.put(event.getBeerId(), event.getQuantity());
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeerServiceExecutorTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMillis(800);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BeerServiceExecutor executor = new BeerServiceExecutor(meterRegistry, 1, 1, TIMEOUT, REQUEST_TIMEOUT);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void whenTheCallFailsThenTheFutureFailsWithTheSameException() throws Exception {
+        // when
+        CompletableFuture<Object> result = executor.submit(() -> {
+            throw new BeerNotFoundException(1L);
+        });
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(BeerNotFoundException.class));
+    }
+
+    @Test
+    void whenACallTimesOutWhileQueuedThenItNeverRuns() throws Exception {
+        // given
+        AtomicBoolean queuedCallRan = new AtomicBoolean();
+        CompletableFuture<Boolean> blocking = executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = executor.submit(() -> queuedCallRan.getAndSet(true));
+
+        // when
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        // then
+        assertThat(exception.getCause(), instanceOf(ServiceUnavailableException.class));
+        assertThat(blocking.get(5, TimeUnit.SECONDS), equalTo(true));
+        assertThat(executor.submit(() -> "next").get(5, TimeUnit.SECONDS), equalTo("next"));
+        assertFalse(queuedCallRan.get());
+        assertThat(meterRegistry.counter("beerstock.async.timed-out").count(), equalTo(1.0));
+    }
+
+    @Test
+    void whenAStartedCallOutlivesTheTimeoutThenItCompletesWithItsOwnResult() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> result = executor.submit(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "committed";
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        Thread.sleep(TIMEOUT.toMillis() * 2);
+        release.countDown();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS), equalTo("committed"));
+        assertThat(meterRegistry.counter("beerstock.async.timed-out").count(), equalTo(0.0));
+    }
+
+    @Test
+    void whenAStartedCallOutlivesTheRequestTimeoutThenTheFutureFailsAndTheCallKeepsRunning() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        CompletableFuture<String> result = executor.submit(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            finished.countDown();
+            return "committed";
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        // then
+        assertThat(exception.getCause(), instanceOf(ServiceUnavailableException.class));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertThat(meterRegistry.counter("beerstock.async.abandoned").count(), equalTo(1.0));
+        assertThat(meterRegistry.counter("beerstock.async.timed-out").count(), equalTo(0.0));
+        assertThat(executor.submit(() -> "next").get(5, TimeUnit.SECONDS), equalTo("next"));
+    }
+
+    @Test
+    void whenAStartedWriteOutlivesTheRequestTimeoutThenItCompletesWithItsOwnResult() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> result = executor.submitWrite(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "committed";
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        Thread.sleep(REQUEST_TIMEOUT.toMillis() * 2);
+        release.countDown();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS), equalTo("committed"));
+        assertThat(meterRegistry.counter("beerstock.async.abandoned").count(), equalTo(0.0));
+        assertThat(meterRegistry.counter("beerstock.async.timed-out").count(), equalTo(0.0));
+    }
+
+    @Test
+    void whenAWriteTimesOutWhileQueuedThenItNeverRuns() throws Exception {
+        // given
+        AtomicBoolean queuedWriteRan = new AtomicBoolean();
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = executor.submitWrite(() -> queuedWriteRan.getAndSet(true));
+
+        // when
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        // then
+        assertThat(exception.getCause(), instanceOf(ServiceUnavailableException.class));
+        assertFalse(queuedWriteRan.get());
+    }
+}
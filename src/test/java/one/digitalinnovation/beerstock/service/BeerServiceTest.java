@@ -1,8 +1,16 @@
 package one.digitalinnovation.beerstock.service;
 
 import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.BeerReadCache;
+import one.digitalinnovation.beerstock.cache.CacheInvalidationBus;
+import one.digitalinnovation.beerstock.cache.WarmCatalog;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
+import one.digitalinnovation.beerstock.dto.StockDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
@@ -14,13 +22,24 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
@@ -34,20 +53,53 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
 public class BeerServiceTest {
 
+    private static final long VALID_BEER_ID = 1L;
     private static final long INVALID_BEER_ID = -1L;
+    private static final int CONCURRENT_CALLERS = 16;
 
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private StockHolds stockHolds;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BeerReadCache beerReadCache;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private WarmCatalog warmCatalog;
+
+    @Mock
+    private StockTableService stockTableService;
+
+    @Mock
+    private SoftDeleteService softDeleteService;
+
     private BeerMapper beerMapper = BeerMapper.INSTANCE;
 
     @InjectMocks
@@ -106,6 +158,33 @@ public class BeerServiceTest {
     }
 
 
+    @Test
+    void whenBeersInformedInBulkThenTheyShouldBeCreated() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO beerDTO1 = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerDTO beerDTO2 = BeerDTOBuilder.builder().id(2L).name("skol").build().toBeerDTO();
+        List<BeerDTO> expectedBeerDTOs = List.of(beerDTO1, beerDTO2);
+        List<Beer> expectedSavedBeers = expectedBeerDTOs.stream().map(beerMapper::toModel).collect(Collectors.toList());
+
+        // when
+        when(beerRepository.findByNameIn(Set.of(beerDTO1.getName(), beerDTO2.getName()))).thenReturn(List.of());
+        when(beerRepository.saveAll(anyList())).thenReturn(expectedSavedBeers);
+
+        // then
+        List<BeerDTO> createdBeerDTOs = beerService.createBeers(expectedBeerDTOs);
+
+        assertEquals(expectedBeerDTOs, createdBeerDTOs);
+    }
+
+    @Test
+    void whenBulkContainsRepeatedNameThenAnExceptionShouldBeThrown() {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        // assert
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(List.of(beerDTO, beerDTO)));
+    }
+
     @Test
     void whenValidBeerNameIsGivenThenReturnABeer() throws BeerNotFoundException {
         //given
@@ -176,6 +255,117 @@ public class BeerServiceTest {
 
     }
 
+    @Test
+    void whenBeerIsCachedThenRepositoryIsNotQueried() throws BeerNotFoundException {
+        //given
+        BeerDTO cachedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        //when
+        when(beerReadCache.get(cachedBeerDTO.getName())).thenReturn(Optional.of(cachedBeerDTO));
+
+        //then
+        BeerDTO foundBeerDTO = beerService.findByName(cachedBeerDTO.getName());
+
+        //assert
+        assertEquals(cachedBeerDTO, foundBeerDTO);
+        verify(beerRepository, never()).findByName(cachedBeerDTO.getName());
+    }
+
+    @Test
+    void whenBeerIsInTheWarmCatalogThenRepositoryIsNotQueried() throws BeerNotFoundException {
+        //given
+        BeerDTO warmBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        //when
+        when(beerReadCache.get(warmBeerDTO.getName())).thenReturn(Optional.empty());
+        when(warmCatalog.get(warmBeerDTO.getName())).thenReturn(Optional.of(warmBeerDTO));
+
+        //then
+        BeerDTO foundBeerDTO = beerService.findByName(warmBeerDTO.getName());
+
+        //assert
+        assertEquals(warmBeerDTO, foundBeerDTO);
+        verify(beerRepository, never()).findByName(warmBeerDTO.getName());
+    }
+
+    @Test
+    void whenStockIsInTheStockTableThenRepositoryIsNotQueried() throws BeerNotFoundException {
+        //given
+        StockDTO expectedStockDTO = new StockDTO(VALID_BEER_ID, 10, 50);
+
+        //when
+        when(stockTableService.find(VALID_BEER_ID)).thenReturn(Optional.of(expectedStockDTO));
+
+        //then
+        StockDTO stockDTO = beerService.findStockById(VALID_BEER_ID);
+
+        //assert
+        assertEquals(expectedStockDTO, stockDTO);
+        verify(beerRepository, never()).findById(VALID_BEER_ID);
+    }
+
+    @Test
+    void whenStockIsNotInTheStockTableThenItIsReadFromTheRepository() throws BeerNotFoundException {
+        //given
+        BeerDTO expectedFoundBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+
+        //when
+        when(beerRepository.findById(expectedFoundBeer.getId())).thenReturn(Optional.of(expectedFoundBeer));
+
+        //then
+        StockDTO stockDTO = beerService.findStockById(expectedFoundBeer.getId());
+
+        //assert
+        assertEquals(new StockDTO(expectedFoundBeer.getId(), expectedFoundBeer.getQuantity(), expectedFoundBeer.getMax()), stockDTO);
+    }
+
+    @Test
+    void whenSameNameIsLookedUpConcurrentlyThenOnlyOneQueryIsRun() throws Exception {
+        //given
+        BeerDTO expectedFoundBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+        CountDownLatch queryMayReturn = new CountDownLatch(1);
+
+        //when
+        when(beerRepository.findByName(expectedFoundBeer.getName())).thenAnswer(invocation -> {
+            queryMayReturn.await();
+            return Optional.of(expectedFoundBeer);
+        });
+
+        //then
+        List<BeerDTO> foundBeerDTOs = callConcurrently(queryMayReturn,
+                () -> beerService.findByName(expectedFoundBeerDTO.getName()));
+
+        //assert
+        verify(beerRepository, times(1)).findByName(expectedFoundBeer.getName());
+        assertThat(foundBeerDTOs, hasSize(CONCURRENT_CALLERS));
+        assertThat(foundBeerDTOs, everyItem(equalTo(expectedFoundBeerDTO)));
+        assertThat(distinctInstances(foundBeerDTOs), equalTo(CONCURRENT_CALLERS));
+    }
+
+    @Test
+    void whenBeersAreListedConcurrentlyThenOnlyOneQueryIsRun() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        CountDownLatch queryMayReturn = new CountDownLatch(1);
+
+        //when
+        when(beerRepository.findAll()).thenAnswer(invocation -> {
+            queryMayReturn.await();
+            return List.of(beerMapper.toModel(beerDTO));
+        });
+
+        //then
+        List<List<BeerDTO>> foundBeerLists = callConcurrently(queryMayReturn, () -> beerService.listAll());
+
+        //assert
+        verify(beerRepository, times(1)).findAll();
+        assertThat(foundBeerLists, everyItem(equalTo(List.of(beerDTO))));
+        assertThat(distinctInstances(foundBeerLists.stream().map(beers -> beers.get(0)).collect(Collectors.toList())),
+                equalTo(CONCURRENT_CALLERS));
+    }
+
     @Test
     void whenExclusionIsCalledWithValidIdThenABeerShouldBeDeleted() throws BeerNotFoundException {
         // given
@@ -183,18 +373,16 @@ public class BeerServiceTest {
         Beer expectedDeletedBeer = beerMapper.toModel(expectedDeletedBeerDTO);
 
         // when
-        when(beerRepository.findById(expectedDeletedBeer.getId()))
-                .thenReturn(Optional.of(expectedDeletedBeer));
-
-        doNothing().when(beerRepository).deleteById(expectedDeletedBeer.getId());
+        when(beerRepository.deleteAllByIdReturning(List.of(expectedDeletedBeer.getId()), false))
+                .thenReturn(List.of(expectedDeletedBeer));
 
         //then
         beerService.deleteById(expectedDeletedBeer.getId());
 
         //assert
-        verify(beerRepository, times(1)).findById(expectedDeletedBeer.getId());
-        verify(beerRepository, times(1)).deleteById(expectedDeletedBeer.getId());
-
+        verify(beerRepository, never()).findById(expectedDeletedBeer.getId());
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.DELETED,
+                expectedDeletedBeer, -expectedDeletedBeer.getQuantity()));
     }
 
     @Test
@@ -204,52 +392,95 @@ public class BeerServiceTest {
         Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
 
         //when
-        when(beerRepository.findById(expectedFoundBeer.getId()))
-                .thenReturn(Optional.empty());
+        when(beerRepository.deleteAllByIdReturning(List.of(expectedFoundBeer.getId()), false))
+                .thenReturn(List.of());
 
         //assert
         assertThrows(BeerNotFoundException.class, () -> beerService.deleteById(expectedFoundBeer.getId()));
+        verifyNoInteractions(eventPublisher);
+    }
 
+    @Test
+    void whenSoftDeleteIsEnabledThenExclusionOnlyFlagsTheBeer() throws BeerNotFoundException {
+        // given
+        Beer expectedDeletedBeer = beerMapper.toModel(BeerDTOBuilder.builder().build().toBeerDTO());
+
+        // when
+        when(softDeleteService.isEnabled()).thenReturn(true);
+        when(beerRepository.deleteAllByIdReturning(List.of(expectedDeletedBeer.getId()), true))
+                .thenReturn(List.of(expectedDeletedBeer));
+
+        // then
+        beerService.deleteById(expectedDeletedBeer.getId());
+        verify(beerRepository, never()).deleteAllByIdReturning(anyList(), eq(false));
+    }
+
+    @Test
+    void whenBulkExclusionByBrandIsCalledThenEveryDeletedBeerIsPublished() {
+        // given
+        Beer brahma = new Beer(1L, "Brahma", "Ambev", 50, 10, BeerType.LAGER);
+        Beer skol = new Beer(2L, "Skol", "Ambev", 50, 20, BeerType.LAGER);
+        BulkDeleteDTO bulkDeleteDTO = BulkDeleteDTO.builder().brand("Ambev").build();
+
+        // when
+        when(beerRepository.deleteAllByBrandAndTypeReturning("Ambev", null, false)).thenReturn(List.of(brahma, skol));
+
+        // then
+        BulkDeleteResultDTO result = beerService.deleteAll(bulkDeleteDTO);
+        assertThat(result, equalTo(new BulkDeleteResultDTO(2, false)));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.DELETED, brahma, -10));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.DELETED, skol, -20));
     }
 
     @Test
     void whenIncrementIsCalledThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
         //given
-        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(50).max(100).build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(60).max(100).build().toBeerDTO();
+        Beer incrementedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToIncrement = 10;
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+        when(beerRepository.incrementIfWithinMax(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.of(incrementedBeer));
 
-        int quantityToIncrement = 10;
-        int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
-
-        // then
+        //then
         BeerDTO incrementedBeerDTO = beerService.increment(expectedBeerDTO.getId(), quantityToIncrement);
 
-        assertThat(expectedQuantityAfterIncrement, equalTo(incrementedBeerDTO.getQuantity()));
-        assertThat(expectedQuantityAfterIncrement, lessThanOrEqualTo(expectedBeerDTO.getMax()));
+        assertThat(incrementedBeerDTO, is(equalTo(expectedBeerDTO)));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, incrementedBeer, quantityToIncrement));
     }
 
     @Test
-    void whenIncrementIsEqualToMaxThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
+    void whenStockChangesThroughTheDTOPathThenNoEarlierReadIsSavedBack() throws BeerNotFoundException, BeerStockExceededException, BeerStockLessThanZeroException {
         //given
-        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(50).max(100).build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        Beer changedBeer = beerMapper.toModel(BeerDTOBuilder.builder().build().toBeerDTO());
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+        when(beerRepository.incrementIfWithinMax(VALID_BEER_ID, 5)).thenReturn(Optional.of(changedBeer));
+        when(beerRepository.lockIfExists(VALID_BEER_ID)).thenReturn(true);
+        when(beerRepository.decrementIfAvailable(VALID_BEER_ID, 5, 0)).thenReturn(Optional.of(changedBeer));
+        beerService.increment(VALID_BEER_ID, 5);
+        beerService.decrement(VALID_BEER_ID, 5);
+
+        //then
+        verify(beerRepository, never()).findById(VALID_BEER_ID);
+        verify(beerRepository, never()).findByIdForUpdate(VALID_BEER_ID);
+        verify(beerRepository, never()).save(changedBeer);
+    }
 
+    @Test
+    void whenIncrementIsEqualToMaxThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(100).max(100).build().toBeerDTO();
+        Beer incrementedBeer = beerMapper.toModel(expectedBeerDTO);
         int quantityToIncrement = 50;
-        int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
 
-        // then
+        //when
+        when(beerRepository.incrementIfWithinMax(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.of(incrementedBeer));
+
+        //then
         BeerDTO incrementedBeerDTO = beerService.increment(expectedBeerDTO.getId(), quantityToIncrement);
 
-        assertThat(expectedQuantityAfterIncrement, equalTo(incrementedBeerDTO.getQuantity()));
-        assertThat(expectedQuantityAfterIncrement, lessThanOrEqualTo(expectedBeerDTO.getMax()));
+        assertThat(incrementedBeerDTO.getQuantity(), equalTo(expectedBeerDTO.getMax()));
     }
 
     @Test
@@ -259,11 +490,13 @@ public class BeerServiceTest {
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         int quantityToIncrement = 51;
+        when(beerRepository.incrementIfWithinMax(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.empty());
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
 
         //then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -273,8 +506,9 @@ public class BeerServiceTest {
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         int quantityToIncrement = 51;
+        when(beerRepository.incrementIfWithinMax(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.empty());
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
 
         //then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
@@ -282,10 +516,10 @@ public class BeerServiceTest {
 
     @Test
     void whenIncrementIsCalledWithInvalidIdThenThrowException() {
-
         //when
-        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
         int quantityToIncrement = 10;
+        when(beerRepository.incrementIfWithinMax(INVALID_BEER_ID, quantityToIncrement)).thenReturn(Optional.empty());
+        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
 
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.increment(INVALID_BEER_ID, quantityToIncrement));
@@ -294,52 +528,63 @@ public class BeerServiceTest {
     @Test
     void whenDecrementIsCalledThenDecrementBeerStock() throws BeerNotFoundException, BeerStockLessThanZeroException {
         //given
-        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(50).build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(45).build().toBeerDTO();
+        Beer decrementedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToDecrement = 5;
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
-
-        int quantityToDecrement = 5;
-        int expectedQuantityAfterDecrement = expectedBeerDTO.getQuantity() - quantityToDecrement;
+        when(beerRepository.lockIfExists(expectedBeerDTO.getId())).thenReturn(true);
+        when(beerRepository.decrementIfAvailable(expectedBeerDTO.getId(), quantityToDecrement, 0)).thenReturn(Optional.of(decrementedBeer));
 
         //then
         BeerDTO decrementedBeerDTO = beerService.decrement(expectedBeerDTO.getId(), quantityToDecrement);
 
-        assertThat(expectedQuantityAfterDecrement, equalTo(decrementedBeerDTO.getQuantity()));
-        assertThat(expectedQuantityAfterDecrement, greaterThan(0));
+        assertThat(decrementedBeerDTO, is(equalTo(expectedBeerDTO)));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, decrementedBeer, -quantityToDecrement));
     }
 
     @Test
     void whenDecrementIsCalledToEmptyStockThenEmptyBeerStock() throws BeerNotFoundException, BeerStockLessThanZeroException {
         //given
-        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(0).build().toBeerDTO();
+        Beer decrementedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToDecrement = 10;
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
-
-        int quantityToDecrement = expectedBeer.getQuantity();
-        int expectedQuantityAfterDecrement = expectedBeer.getQuantity() - quantityToDecrement;
+        when(beerRepository.lockIfExists(expectedBeerDTO.getId())).thenReturn(true);
+        when(beerRepository.decrementIfAvailable(expectedBeerDTO.getId(), quantityToDecrement, 0)).thenReturn(Optional.of(decrementedBeer));
 
         //then
         BeerDTO decrementedBeerDTO = beerService.decrement(expectedBeerDTO.getId(), quantityToDecrement);
 
-        assertThat(expectedQuantityAfterDecrement, equalTo(0));
-        assertThat(expectedQuantityAfterDecrement, equalTo(decrementedBeerDTO.getQuantity()));
+        assertThat(decrementedBeerDTO.getQuantity(), equalTo(0));
     }
 
     @Test
     void whenDecrementIsLowerThanZeroThenThrowException() {
         //given
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(10).build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
 
         //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         int quantityToDecrement = 80;
+        when(beerRepository.lockIfExists(expectedBeerDTO.getId())).thenReturn(true);
+        when(beerRepository.decrementIfAvailable(expectedBeerDTO.getId(), quantityToDecrement, 0)).thenReturn(Optional.empty());
+
+        //then
+        assertThrows(BeerStockLessThanZeroException.class, () -> beerService.decrement(expectedBeerDTO.getId(), quantityToDecrement));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementWouldConsumeReservedStockThenThrowException() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(10).build().toBeerDTO();
+
+        //when
+        int quantityToDecrement = 5;
+        when(beerRepository.lockIfExists(expectedBeerDTO.getId())).thenReturn(true);
+        when(stockHolds.reservedQuantity(expectedBeerDTO.getId())).thenReturn(6);
+        when(beerRepository.decrementIfAvailable(expectedBeerDTO.getId(), quantityToDecrement, 6)).thenReturn(Optional.empty());
 
         //then
         assertThrows(BeerStockLessThanZeroException.class, () -> beerService.decrement(expectedBeerDTO.getId(), quantityToDecrement));
@@ -349,9 +594,126 @@ public class BeerServiceTest {
     void whenDecrementIsCalledWithInvalidIdThenThrowException() {
         //when
         int quantityToDecrement = 10;
-        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
+        when(beerRepository.lockIfExists(INVALID_BEER_ID)).thenReturn(false);
 
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.decrement(INVALID_BEER_ID, quantityToDecrement));
     }
+
+    @Test
+    void whenIncrementInPlaceIsCalledThenTheUpdatedQuantityIsReturned() throws BeerNotFoundException, BeerStockExceededException {
+        //given
+        Beer incrementedBeer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(15).build().toBeerDTO());
+
+        //when
+        when(beerRepository.incrementIfWithinMax(VALID_BEER_ID, 5)).thenReturn(Optional.of(incrementedBeer));
+
+        //then
+        assertThat(beerService.incrementInPlace(VALID_BEER_ID, 5), equalTo(15));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, incrementedBeer, 5));
+    }
+
+    @Test
+    void whenIncrementInPlaceIsAboveMaxThenThrowException() {
+        //given
+        Beer expectedBeer = beerMapper.toModel(BeerDTOBuilder.builder().build().toBeerDTO());
+
+        //when
+        when(beerRepository.incrementIfWithinMax(VALID_BEER_ID, 60)).thenReturn(Optional.empty());
+        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(expectedBeer));
+
+        //then
+        assertThrows(BeerStockExceededException.class, () -> beerService.incrementInPlace(VALID_BEER_ID, 60));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementInPlaceIsCalledThenTheRowIsLockedBeforeTheHoldsAreRead() throws BeerNotFoundException, BeerStockLessThanZeroException {
+        //given
+        Beer decrementedBeer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(5).build().toBeerDTO());
+
+        //when
+        when(beerRepository.lockIfExists(VALID_BEER_ID)).thenReturn(true);
+        when(stockHolds.reservedQuantity(VALID_BEER_ID)).thenReturn(2);
+        when(beerRepository.decrementIfAvailable(VALID_BEER_ID, 5, 2)).thenReturn(Optional.of(decrementedBeer));
+
+        //then
+        assertThat(beerService.decrementInPlace(VALID_BEER_ID, 5), equalTo(5));
+        InOrder inOrder = inOrder(beerRepository, stockHolds);
+        inOrder.verify(beerRepository).lockIfExists(VALID_BEER_ID);
+        inOrder.verify(stockHolds).reservedQuantity(VALID_BEER_ID);
+        inOrder.verify(beerRepository).decrementIfAvailable(VALID_BEER_ID, 5, 2);
+    }
+
+    @Test
+    void whenHeldStockIsDecrementedThenOnlyTheOtherHoldsAreReserved() throws BeerNotFoundException, BeerStockLessThanZeroException {
+        //given
+        Beer decrementedBeer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(6).build().toBeerDTO());
+
+        //when
+        when(beerRepository.lockIfExists(VALID_BEER_ID)).thenReturn(true);
+        when(stockHolds.reservedQuantity(VALID_BEER_ID)).thenReturn(7);
+        when(beerRepository.decrementIfAvailable(VALID_BEER_ID, 4, 3)).thenReturn(Optional.of(decrementedBeer));
+
+        //then
+        BeerDTO decrementedBeerDTO = beerService.decrementHeld(VALID_BEER_ID, 4);
+
+        assertThat(decrementedBeerDTO.getQuantity(), equalTo(6));
+        verify(eventPublisher).publishEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, decrementedBeer, -4));
+    }
+
+    @Test
+    void whenDecrementInPlaceWouldConsumeReservedStockThenThrowException() {
+        //when
+        when(beerRepository.lockIfExists(VALID_BEER_ID)).thenReturn(true);
+        when(stockHolds.reservedQuantity(VALID_BEER_ID)).thenReturn(6);
+        when(beerRepository.decrementIfAvailable(VALID_BEER_ID, 5, 6)).thenReturn(Optional.empty());
+
+        //then
+        assertThrows(BeerStockLessThanZeroException.class, () -> beerService.decrementInPlace(VALID_BEER_ID, 5));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementInPlaceIsCalledWithInvalidIdThenThrowException() {
+        //when
+        when(beerRepository.lockIfExists(INVALID_BEER_ID)).thenReturn(false);
+
+        //then
+        assertThrows(BeerNotFoundException.class, () -> beerService.decrementInPlace(INVALID_BEER_ID, 5));
+        verifyNoInteractions(stockHolds);
+    }
+
+    /**
+     * Starts {@link #CONCURRENT_CALLERS} threads running {@code call} and lets the stubbed query return
+     * only once every one of them is parked, either inside the query or waiting for its result.
+     */
+    private static <T> List<T> callConcurrently(CountDownLatch queryMayReturn, Callable<T> call) throws Exception {
+        List<FutureTask<T>> tasks = new ArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+            FutureTask<T> task = new FutureTask<>(call);
+            Thread caller = new Thread(task, "beer-service-caller-" + i);
+            tasks.add(task);
+            callers.add(caller);
+            caller.start();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!callers.stream().allMatch(caller -> caller.getState() == Thread.State.WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        queryMayReturn.countDown();
+        List<T> results = new ArrayList<>();
+        for (FutureTask<T> task : tasks) {
+            results.add(task.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static int distinctInstances(List<?> results) {
+        Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(results);
+        return instances.size();
+    }
 }
@@ -0,0 +1,135 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.WarmCatalog;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.sql.QueryCount;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static one.digitalinnovation.beerstock.utils.QueryCountUtils.assertQueryCount;
+import static one.digitalinnovation.beerstock.utils.QueryCountUtils.countQueries;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Simulates a restart by writing a catalog and opening it again on the running node. Runs with a page
+ * size smaller than the catalog, so revalidation has to read several pages.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-warm-up;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.cache.ttl=30s",
+        "beerstock.cache.warm.enabled=true",
+        "beerstock.cache.warm.file=target/catalog-warm-up-test/warm-catalog.bin",
+        "beerstock.cache.warm.page-size=7",
+        "beerstock.outbox.relay.enabled=false"
+})
+public class CatalogWarmUpServiceTest {
+
+    private static final Path DIRECTORY = Paths.get("target", "catalog-warm-up-test");
+    private static final int BEERS = 20;
+
+    @Autowired
+    private CatalogWarmUpService catalogWarmUpService;
+
+    @Autowired
+    private WarmCatalog warmCatalog;
+
+    @Autowired
+    private BeerService beerService;
+
+    @BeforeAll
+    static void deletePreviousCatalog() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        warmCatalog.close();
+    }
+
+    @Test
+    void whenRestartedWithACatalogThenReadsAreServedWithoutQueriesUntilRevalidated() throws Exception {
+        // given
+        List<BeerDTO> beers = createBeers(BEERS);
+        warmCatalog.write(beers);
+        warmCatalog.open();
+
+        // when
+        QueryCount servedFromCatalog = countQueries(() -> findAll(beers));
+        QueryCount revalidation = countQueries(() -> catalogWarmUpService.revalidate());
+        QueryCount servedFromCache = countQueries(() -> findAll(beers));
+
+        // then
+        assertQueryCount(servedFromCatalog, 0, 0, 0, 0);
+        assertQueryCount(revalidation, 3, 0, 0, 0);
+        assertQueryCount(servedFromCache, 0, 0, 0, 0);
+        assertFalse(warmCatalog.isServing());
+    }
+
+    @Test
+    void whenBeerChangesWhileServedFromTheCatalogThenTheNewValueIsRead() throws Exception {
+        // given
+        BeerDTO beer = createBeers(1).get(0);
+        warmCatalog.write(List.of(beer));
+        warmCatalog.open();
+
+        // when
+        beerService.increment(beer.getId(), 5);
+
+        // then
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(beer.getQuantity() + 5));
+    }
+
+    @Test
+    void whenCatalogIsWrittenThenItHoldsTheBeersServedRecently() throws Exception {
+        // given
+        BeerDTO beer = createBeers(1).get(0);
+        beerService.findByName(beer.getName());
+
+        // when
+        catalogWarmUpService.writeScheduledCatalog();
+
+        // then
+        WarmCatalog restarted = new WarmCatalog(new SimpleMeterRegistry(), true,
+                DIRECTORY.resolve("warm-catalog.bin"), Duration.ofMinutes(15));
+        restarted.open();
+        assertThat(restarted.get(beer.getName()), equalTo(Optional.of(beer)));
+    }
+
+    private List<BeerDTO> createBeers(int count) throws Exception {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+            beerDTO.setId(null);
+            beerDTO.setName("Warm-up beer " + System.nanoTime() + " " + i);
+            beers.add(beerDTO);
+        }
+        return beerService.createBeers(beers);
+    }
+
+    private void findAll(List<BeerDTO> beers) throws Exception {
+        for (BeerDTO beer : beers) {
+            assertThat(beerService.findByName(beer.getName()), equalTo(beer));
+        }
+    }
+}
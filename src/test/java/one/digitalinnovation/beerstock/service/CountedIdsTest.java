@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerstock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CountedIdsTest {
+
+    private final CountedIds countedIds = new CountedIds();
+
+    @Test
+    void whenAnIdIsCountedTwiceThenTheSecondTimeIsReported() {
+        // when
+        boolean first = countedIds.add(7);
+        boolean second = countedIds.add(7);
+
+        // then
+        assertThat(first, equalTo(true));
+        assertThat(second, equalTo(false));
+        assertThat(countedIds.size(), equalTo(1));
+    }
+
+    @Test
+    void whenIdsExceedTheIntRangeThenTheyAreCounted() {
+        // given
+        long id = Integer.MAX_VALUE + 10L;
+
+        // when
+        countedIds.add(id);
+
+        // then
+        assertThat(countedIds.contains(id), equalTo(true));
+        assertThat(countedIds.contains(id + 1), equalTo(false));
+        assertThat(countedIds.contains((int) id), equalTo(false));
+    }
+
+    @Test
+    void whenTheSetGrowsThenEveryCountedIdIsKept() {
+        // when
+        LongStream.rangeClosed(1, 10_000).forEach(id -> countedIds.add(id * 3));
+
+        // then
+        assertThat(countedIds.size(), equalTo(10_000));
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(id -> countedIds.contains(id * 3)), equalTo(true));
+        assertThat(LongStream.rangeClosed(1, 10_000).anyMatch(id -> countedIds.contains(id * 3 + 1)), equalTo(false));
+    }
+}
@@ -0,0 +1,136 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.StockTotalsDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockTotals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryStatsServiceTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryStatsService inventoryStatsService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryStatsService = new InventoryStatsService(beerRepository, transactionManager, true);
+    }
+
+    @Test
+    void whenRebuiltThenTotalsComeFromTheDatabase() {
+        // when
+        when(beerRepository.sumStockByTypeAndBrand()).thenReturn(List.of(
+                totals(BeerType.LAGER, "Ambev", 2, 30, 100),
+                totals(BeerType.IPA, "Ambev", 1, 10, 50),
+                totals(BeerType.LAGER, "Heineken", 1, 20, 40)));
+        inventoryStatsService.rebuild();
+
+        // then
+        InventoryStatsDTO stats = inventoryStatsService.getStats();
+        assertThat(stats.getTotal(), equalTo(StockTotalsDTO.of(4, 60, 190)));
+        assertThat(stats.getByType().get(BeerType.LAGER), equalTo(StockTotalsDTO.of(3, 50, 140)));
+        assertThat(stats.getByType().get(BeerType.STOUT), equalTo(StockTotalsDTO.of(0, 0, 0)));
+        assertThat(stats.getByBrand().get("Ambev"), equalTo(StockTotalsDTO.of(3, 40, 150)));
+        assertThat(stats.getByBrand().get("Heineken").getFillRatio(), equalTo(0.5));
+    }
+
+    @Test
+    void whenStockEventsArriveThenTotalsAreUpdatedIncrementally() {
+        // given
+        BeerDTO lager = BeerDTOBuilder.builder().id(1L).brand("Ambev").type(BeerType.LAGER).max(50).quantity(10).build().toBeerDTO();
+        BeerDTO stout = BeerDTOBuilder.builder().id(2L).brand("Guinness").type(BeerType.STOUT).max(20).quantity(5).build().toBeerDTO();
+
+        // when
+        inventoryStatsService.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.CREATED, lager, 10));
+        inventoryStatsService.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.CREATED, stout, 5));
+        inventoryStatsService.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, lager, 15));
+        inventoryStatsService.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.STOCK_CHANGED, lager, -5));
+        inventoryStatsService.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.DELETED, stout, -5));
+
+        // then
+        InventoryStatsDTO stats = inventoryStatsService.getStats();
+        assertThat(stats.getTotal(), equalTo(StockTotalsDTO.of(1, 20, 50)));
+        assertThat(stats.getByType().get(BeerType.LAGER), equalTo(StockTotalsDTO.of(1, 20, 50)));
+        assertThat(stats.getByType().get(BeerType.STOUT), equalTo(StockTotalsDTO.of(0, 0, 0)));
+        assertThat(stats.getByBrand(), not(hasKey("Guinness")));
+    }
+
+    @Test
+    void whenCountersAreOffThenTotalsAreAggregatedInTheDatabaseOnEveryRequest() {
+        // given
+        InventoryStatsService fromDatabase = new InventoryStatsService(beerRepository, transactionManager, false);
+        BeerDTO lager = BeerDTOBuilder.builder().id(1L).brand("Ambev").type(BeerType.LAGER).max(50).quantity(10).build().toBeerDTO();
+        when(beerRepository.sumStockByTypeAndBrand())
+                .thenReturn(List.of(totals(BeerType.LAGER, "Ambev", 1, 10, 50)))
+                .thenReturn(List.of(totals(BeerType.LAGER, "Ambev", 1, 25, 50)));
+
+        // when
+        fromDatabase.rebuild();
+        fromDatabase.onBeerStockEvent(BeerStockEvent.of(BeerStockEvent.Type.CREATED, lager, 10));
+        InventoryStatsDTO first = fromDatabase.getStats();
+        InventoryStatsDTO second = fromDatabase.getStats();
+
+        // then
+        assertThat(first.getTotal(), equalTo(StockTotalsDTO.of(1, 10, 50)));
+        assertThat(second.getTotal(), equalTo(StockTotalsDTO.of(1, 25, 50)));
+        verify(beerRepository, times(2)).sumStockByTypeAndBrand();
+    }
+
+    private static StockTotals totals(BeerType type, String brand, long beers, long units, long capacity) {
+        return new StockTotals() {
+            @Override
+            public BeerType getType() {
+                return type;
+            }
+
+            @Override
+            public String getBrand() {
+                return brand;
+            }
+
+            @Override
+            public long getBeers() {
+                return beers;
+            }
+
+            @Override
+            public long getUnits() {
+                return units;
+            }
+
+            @Override
+            public long getCapacity() {
+                return capacity;
+            }
+        };
+    }
+}
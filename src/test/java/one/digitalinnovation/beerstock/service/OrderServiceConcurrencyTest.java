@@ -0,0 +1,188 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderItemDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many overlapping orders against a real H2 database, each listing its beers in a random order. The
+ * lock timeout is far above the time an order needs, so a lock-order deadlock shows up as a failed
+ * order instead of being hidden by H2 giving up early.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+public class OrderServiceConcurrencyTest {
+
+    private static final int BEERS = 6;
+    private static final int INITIAL_QUANTITY = 100;
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 40;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Test
+    void whenOverlappingOrdersRunConcurrentlyThenNoneDeadlocksAndStockIsNeverOversold() throws Exception {
+        // given
+        List<Long> beerIds = createBeers("Order concurrency beer ");
+        AtomicIntegerArray sold = new AtomicIntegerArray(BEERS);
+        AtomicInteger placedOrders = new AtomicInteger();
+        Queue<Throwable> unexpectedFailures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // when
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int o = 0; o < ORDERS_PER_THREAD; o++) {
+                    List<Integer> indexes = randomDistinctIndexes(random);
+                    int[] quantities = new int[LINES_PER_ORDER];
+                    List<OrderItemDTO> items = new ArrayList<>();
+                    for (int line = 0; line < LINES_PER_ORDER; line++) {
+                        quantities[line] = 1 + random.nextInt(5);
+                        items.add(new OrderItemDTO(beerIds.get(indexes.get(line)), quantities[line]));
+                    }
+                    try {
+                        orderService.placeOrder(items);
+                        for (int line = 0; line < LINES_PER_ORDER; line++) {
+                            sold.addAndGet(indexes.get(line), quantities[line]);
+                        }
+                        placedOrders.incrementAndGet();
+                    } catch (BeerStockLessThanZeroException expected) {
+                        // sold out, nothing of the order was applied
+                    } catch (Throwable unexpected) {
+                        unexpectedFailures.add(unexpected);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "orders did not finish in time");
+
+        // then
+        assertThat(unexpectedFailures.stream().map(Throwable::toString).collect(Collectors.toList()), empty());
+        assertThat(placedOrders.get(), greaterThan(0));
+        for (int i = 0; i < BEERS; i++) {
+            Beer beer = beerRepository.findById(beerIds.get(i)).orElseThrow();
+            assertThat(beer.getQuantity(), equalTo(INITIAL_QUANTITY - sold.get(i)));
+            assertTrue(beer.getQuantity() >= 0);
+        }
+    }
+
+    @Test
+    void whenRejectedOrdersRaceWithDecrementsThenNoDecrementIsLost() throws Exception {
+        // given
+        List<Long> beerIds = createBeers("Rejected order beer ");
+        long beerId = beerIds.get(0);
+        List<OrderItemDTO> oversizedOrder = List.of(new OrderItemDTO(beerId, 1), new OrderItemDTO(beerIds.get(1), INITIAL_QUANTITY + 1));
+        AtomicInteger decremented = new AtomicInteger();
+        Queue<Throwable> unexpectedFailures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // when
+        for (int t = 0; t < THREADS; t++) {
+            boolean orders = t % 2 == 0;
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int o = 0; o < INITIAL_QUANTITY / THREADS; o++) {
+                    try {
+                        if (orders) {
+                            orderService.placeOrder(oversizedOrder);
+                            unexpectedFailures.add(new AssertionError("an oversized order was placed"));
+                        } else {
+                            beerService.decrement(beerId, 1);
+                            decremented.incrementAndGet();
+                        }
+                    } catch (BeerStockLessThanZeroException expected) {
+                        // the oversized order is always rejected
+                    } catch (Throwable unexpected) {
+                        unexpectedFailures.add(unexpected);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "orders did not finish in time");
+
+        // then
+        assertThat(unexpectedFailures.stream().map(Throwable::toString).collect(Collectors.toList()), empty());
+        assertThat(decremented.get(), equalTo(THREADS / 2 * (INITIAL_QUANTITY / THREADS)));
+        assertThat(beerRepository.findById(beerId).orElseThrow().getQuantity(), equalTo(INITIAL_QUANTITY - decremented.get()));
+        assertThat(beerRepository.findById(beerIds.get(1)).orElseThrow().getQuantity(), equalTo(INITIAL_QUANTITY));
+    }
+
+    private List<Long> createBeers(String namePrefix) throws Exception {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            beers.add(BeerDTOBuilder.builder()
+                    .id(null)
+                    .name(namePrefix + i)
+                    .max(500)
+                    .quantity(INITIAL_QUANTITY)
+                    .build()
+                    .toBeerDTO());
+        }
+        return beerService.createBeers(beers).stream()
+                .map(BeerDTO::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> randomDistinctIndexes(Random random) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            indexes.add(i);
+        }
+        Collections.shuffle(indexes, random);
+        return indexes.subList(0, LINES_PER_ORDER);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.OrderItemDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerStockEvent;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockHolds stockHolds;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Test
+    void whenOrderIsPlacedThenEveryBeerIsDecrementedInIdOrder() throws BeerNotFoundException, BeerStockLessThanZeroException {
+        // given
+        Beer brahma = beerMapper.toModel(BeerDTOBuilder.builder().id(1L).name("Brahma").quantity(10).build().toBeerDTO());
+        Beer skol = beerMapper.toModel(BeerDTOBuilder.builder().id(2L).name("Skol").quantity(20).build().toBeerDTO());
+        List<OrderItemDTO> items = Arrays.asList(item(2L, 5), item(1L, 3), item(2L, 1));
+        SortedMap<Long, Integer> expectedQuantities = new TreeMap<>(Map.of(1L, 3, 2L, 6));
+
+        // when
+        when(beerRepository.findAllByIdForUpdate(expectedQuantities.keySet())).thenReturn(Arrays.asList(brahma, skol));
+        when(beerRepository.decrementAllIfAvailable(eq(expectedQuantities), anyMap())).thenReturn(new int[]{1, 1});
+
+        // then
+        List<BeerDTO> decrementedBeers = orderService.placeOrder(items);
+
+        assertThat(decrementedBeers.get(0).getQuantity(), equalTo(7));
+        assertThat(decrementedBeers.get(1).getQuantity(), equalTo(14));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        BeerStockEvent skolEvent = (BeerStockEvent) events.getAllValues().get(1);
+        assertThat(skolEvent.getName(), equalTo("Skol"));
+        assertThat(skolEvent.getQuantity(), equalTo(14));
+        assertThat(skolEvent.getQuantityDelta(), equalTo(-6));
+    }
+
+    @Test
+    void whenOrderHasUnregisteredBeerThenAnExceptionShouldBeThrown() {
+        // given
+        Beer brahma = beerMapper.toModel(BeerDTOBuilder.builder().id(1L).build().toBeerDTO());
+        List<OrderItemDTO> items = Arrays.asList(item(1L, 1), item(3L, 1));
+
+        // when
+        when(beerRepository.findAllByIdForUpdate(any())).thenReturn(Collections.singletonList(brahma));
+
+        // then
+        BeerNotFoundException exception = assertThrows(BeerNotFoundException.class, () -> orderService.placeOrder(items));
+        assertThat(exception.getMessage(), equalTo(new BeerNotFoundException(3L).getMessage()));
+        verify(beerRepository, never()).decrementAllIfAvailable(any(), any());
+    }
+
+    @Test
+    void whenOrderExceedsUnreservedStockThenAnExceptionShouldBeThrown() {
+        // given
+        Beer brahma = beerMapper.toModel(BeerDTOBuilder.builder().id(1L).quantity(10).build().toBeerDTO());
+        List<OrderItemDTO> items = Collections.singletonList(item(1L, 8));
+
+        // when
+        when(beerRepository.findAllByIdForUpdate(any())).thenReturn(Collections.singletonList(brahma));
+        when(stockHolds.reservedQuantity(1L)).thenReturn(3);
+
+        // then
+        assertThrows(BeerStockLessThanZeroException.class, () -> orderService.placeOrder(items));
+        verify(beerRepository, never()).decrementAllIfAvailable(any(), any());
+    }
+
+    @Test
+    void whenConditionalUpdateMissesALockedRowThenAnExceptionShouldBeThrown() {
+        // given
+        Beer brahma = beerMapper.toModel(BeerDTOBuilder.builder().id(1L).quantity(10).build().toBeerDTO());
+        Beer skol = beerMapper.toModel(BeerDTOBuilder.builder().id(2L).quantity(10).build().toBeerDTO());
+        List<OrderItemDTO> items = Arrays.asList(item(1L, 1), item(2L, 1));
+
+        // when
+        when(beerRepository.findAllByIdForUpdate(any())).thenReturn(Arrays.asList(brahma, skol));
+        when(beerRepository.decrementAllIfAvailable(any(), any())).thenReturn(new int[]{1, 0});
+
+        // then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> orderService.placeOrder(items));
+        assertThat(exception.getMessage(), equalTo("Stock of locked beer 2 changed before its decrement"));
+    }
+
+    private static OrderItemDTO item(Long beerId, int quantity) {
+        return OrderItemDTO.builder()
+                .beerId(beerId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package one.digitalinnovation.beerstock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ReadYourWritesTrackerTest {
+
+    private static final int NAMES = 5_000;
+
+    @Test
+    void whenManyNamesAreWrittenThenTheyAreKeptUntilThePruneJobRuns() throws Exception {
+        // given
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(1));
+
+        // when
+        for (int name = 0; name < NAMES; name++) {
+            tracker.markWritten("Beer " + name);
+        }
+        int beforePrune = tracker.size();
+        Thread.sleep(5);
+        tracker.pruneExpired();
+
+        // then
+        assertThat(beforePrune, equalTo(NAMES));
+        assertThat(tracker.size(), equalTo(0));
+    }
+
+    @Test
+    void whenNamesAreStillWithinTheWindowThenThePruneJobKeepsThem() {
+        // given
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofHours(1));
+        tracker.markWritten("Brahma");
+        tracker.markWritten("Skol");
+
+        // when
+        tracker.pruneExpired();
+
+        // then
+        assertThat(tracker.size(), equalTo(2));
+    }
+}
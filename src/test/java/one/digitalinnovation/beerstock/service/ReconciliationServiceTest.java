@@ -0,0 +1,230 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.ReconciliationReportDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs count files against a real H2 database with small chunks, so that a file of a few thousand
+ * lines is already diffed by several workers at once.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.reconciliation.chunk-size=100",
+        "beerstock.reconciliation.parallelism=4",
+        "beerstock.stats.enabled=true"
+})
+public class ReconciliationServiceTest {
+
+    private static final int CATALOG_SIZE = 3_000;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private InventoryStatsService inventoryStatsService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void whenCountFileIsReconciledThenEveryDiscrepancyIsCorrectedOrReported() throws Exception {
+        // given
+        beerRepository.saveAll(List.of(
+                beer("Brahma", 10, 50),
+                beer("Skol", 20, 50),
+                beer("Heineken", 30, 50),
+                beer("Guinness", 5, 10)));
+        inventoryStatsService.rebuild();
+        String countFile = "name,quantity\n"
+                + "Brahma,12\n"
+                + "Skol,20\n"
+                + "\"Colorado, Appia\",8\n"
+                + "Guinness,11\n"
+                + "Skol,25\n"
+                + "Brahma,not-a-number\n";
+
+        // when
+        ReconciliationReportDTO report = reconciliationService.reconcile(new StringReader(countFile));
+
+        // then
+        assertThat(report.getRowsRead(), equalTo(6L));
+        assertThat(report.getMatched(), equalTo(3L));
+        assertThat(report.getCorrected(), equalTo(1L));
+        assertThat(report.getNetQuantityDelta(), equalTo(2L));
+        assertThat(report.getUnchanged(), equalTo(1L));
+        assertThat(report.getDuplicates(), equalTo(1L));
+        assertThat(report.getUnknownNames(), contains("Colorado, Appia"));
+        assertThat(report.getMissingNames(), contains("Heineken"));
+        assertThat(report.getInvalid(), equalTo(2L));
+        assertThat(report.getInvalidRows(), hasSize(2));
+
+        Map<String, Beer> beersByName = beersByName();
+        assertThat(beersByName.get("Brahma").getQuantity(), equalTo(12));
+        assertThat(beersByName.get("Skol").getQuantity(), equalTo(20));
+        assertThat(beersByName.get("Guinness").getQuantity(), equalTo(5));
+        assertThat(inventoryStatsService.getStats().getTotal().getUnits(), equalTo(67L));
+    }
+
+    @Test
+    void whenCountFileSpansManyChunksThenEveryBeerIsReconciledExactlyOnce() throws Exception {
+        // given
+        List<Beer> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(beer(String.format("Beer %05d", i), 10, 100));
+        }
+        beerRepository.saveAll(catalog);
+        inventoryStatsService.rebuild();
+        StringBuilder countFile = new StringBuilder();
+        for (int i = CATALOG_SIZE - 1; i >= 100; i--) {
+            countFile.append(String.format("Beer %05d", i)).append(',').append(i % 3 == 0 ? 15 : 10).append('\n');
+        }
+
+        // when
+        ReconciliationReportDTO report = reconciliationService.reconcile(new StringReader(countFile.toString()));
+
+        // then
+        long expectedCorrections = (CATALOG_SIZE - 1) / 3 - 33;
+        assertThat(report.getMatched(), equalTo(CATALOG_SIZE - 100L));
+        assertThat(report.getCorrected(), equalTo(expectedCorrections));
+        assertThat(report.getNetQuantityDelta(), equalTo(expectedCorrections * 5));
+        assertThat(report.getMissingFromCount(), equalTo(100L));
+        assertThat(report.getMissingNames(), hasSize(ReconciliationTally.SAMPLE_SIZE));
+        assertThat(report.getConflicts(), equalTo(0L));
+
+        long unitsInDatabase = beerRepository.findAll().stream().mapToLong(Beer::getQuantity).sum();
+        assertThat(unitsInDatabase, equalTo(CATALOG_SIZE * 10L + expectedCorrections * 5));
+        assertThat(inventoryStatsService.getStats().getTotal().getUnits(), equalTo(unitsInDatabase));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenChunkIsDoneThenItsRowsAreNotKeptUntilTheEndOfTheRun() throws Exception {
+        // given
+        // a plain proxy rather than a Mockito mock, whose per-thread stubbing state would pin the last chunk of an idle worker
+        AtomicLong ids = new AtomicLong();
+        AtomicReference<WeakReference<String>> firstChunkName = new AtomicReference<>();
+        BeerRepository repository = (BeerRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BeerRepository.class}, (proxy, method, args) -> {
+                    List<Beer> beers = new ArrayList<>();
+                    if (method.getName().equals("findByNameIn")) {
+                        for (String name : (Collection<String>) args[0]) {
+                            firstChunkName.compareAndSet(null, new WeakReference<>(name));
+                            beers.add(new Beer(ids.incrementAndGet(), name, "Ambev", 100, 10, BeerType.LAGER));
+                        }
+                    }
+                    return beers;
+                });
+        ReconciliationService service = new ReconciliationService(repository, mock(ApplicationEventPublisher.class),
+                mock(PlatformTransactionManager.class), 10, 2);
+        AtomicBoolean collectedWhileReading = new AtomicBoolean();
+        Reader countFile = new CountFileReader(1_000, 500, () -> collectedWhileReading.set(isCollected(firstChunkName.get())));
+
+        // when
+        try {
+            service.reconcile(countFile);
+        } finally {
+            service.shutdown();
+        }
+
+        // then
+        assertThat(collectedWhileReading.get(), equalTo(true));
+    }
+
+    private static boolean isCollected(WeakReference<String> reference) {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return reference.get() == null;
+    }
+
+    private Map<String, Beer> beersByName() {
+        return beerRepository.findAll().stream().collect(Collectors.toMap(Beer::getName, Function.identity()));
+    }
+
+    private static Beer beer(String name, int quantity, int max) {
+        return new Beer(null, name, "Ambev", max, quantity, BeerType.LAGER);
+    }
+
+    /**
+     * Produces {@code Beer N,10} lines one at a time, and runs {@code probe} once {@code probeAtLine} lines
+     * have been handed out, while the service is still reading.
+     */
+    private static final class CountFileReader extends Reader {
+
+        private final int lines;
+        private final int probeAtLine;
+        private final Runnable probe;
+        private int linesRead;
+        private String current = "";
+        private int position;
+
+        private CountFileReader(int lines, int probeAtLine, Runnable probe) {
+            this.lines = lines;
+            this.probeAtLine = probeAtLine;
+            this.probe = probe;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (linesRead == lines) {
+                    return -1;
+                }
+                if (linesRead == probeAtLine) {
+                    probe.run();
+                }
+                current = "Beer " + linesRead++ + ",10\n";
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteDTO;
+import one.digitalinnovation.beerstock.dto.BulkDeleteResultDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs with soft deletes on and a purge batch smaller than what is deleted, so the purge takes several
+ * transactions.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:soft-delete;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.delete.soft=true",
+        "beerstock.delete.purge.batch-size=2",
+        "beerstock.delete.purge.pause=PT0S",
+        "beerstock.stock-table.enabled=true",
+        "beerstock.outbox.relay.enabled=false"
+})
+public class SoftDeleteServiceTest {
+
+    private static final int BEERS = 5;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private SoftDeleteService softDeleteService;
+
+    @Autowired
+    private StockTableService stockTableService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenBeersAreSoftDeletedThenTheyAreGoneForReadersAndPurgedInBatches() throws Exception {
+        // given
+        String brand = "Soft Delete " + System.nanoTime();
+        List<BeerDTO> beers = createBeers(brand);
+
+        // when
+        BulkDeleteResultDTO result = beerService.deleteAll(BulkDeleteDTO.builder().brand(brand).build());
+
+        // then
+        assertThat(result, equalTo(new BulkDeleteResultDTO(BEERS, true)));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(beers.get(0).getName()));
+        assertThat(stockTableService.find(beers.get(0).getId()), equalTo(Optional.empty()));
+        assertThat(rowsOf(brand), equalTo(BEERS));
+        assertThat(softDeleteService.purge(), equalTo(BEERS));
+        assertThat(rowsOf(brand), equalTo(0));
+    }
+
+    @Test
+    void whenASoftDeletedNameIsCreatedAgainThenTheOldRowIsPurgedFirst() throws Exception {
+        // given
+        String brand = "Reclaimed " + System.nanoTime();
+        BeerDTO beer = createBeers(brand).get(0);
+        beerService.deleteById(beer.getId());
+        beer.setId(null);
+
+        // when
+        BeerDTO createdBeer = beerService.createBeer(beer);
+
+        // then
+        assertThat(beerService.findByName(beer.getName()).getId(), equalTo(createdBeer.getId()));
+        assertThat(rowsOf(brand), equalTo(BEERS));
+    }
+
+    private List<BeerDTO> createBeers(String brand) throws Exception {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            beers.add(BeerDTOBuilder.builder().id(null).name(brand + " " + i).brand(brand).build().toBeerDTO());
+        }
+        return beerService.createBeers(beers);
+    }
+
+    private int rowsOf(String brand) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM beer WHERE brand = ?", Integer.class, brand);
+    }
+}
@@ -0,0 +1,234 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationServiceTest {
+
+    private static final long INVALID_BEER_ID = -1L;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BeerService beerService;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    private StockHolds stockHolds;
+
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        stockHolds = new StockHolds();
+        stockReservationService = new StockReservationService(beerRepository, beerService, stockHolds, DEFAULT_TTL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockHolds.shutdown();
+    }
+
+    @Test
+    void whenAvailableQuantityIsReservedThenAHoldIsCreated() throws BeerNotFoundException, BeerStockLessThanZeroException {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+
+        // then
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+
+        assertThat(reservationDTO.getId(), notNullValue());
+        assertThat(reservationDTO.getQuantity(), equalTo(4));
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(4));
+    }
+
+    @Test
+    void whenReservationExceedsUnreservedStockThenAnExceptionShouldBeThrown()
+            throws BeerNotFoundException, BeerStockLessThanZeroException {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        stockReservationService.reserve(beer.getId(), reservation(8));
+
+        // then
+        assertThrows(BeerStockLessThanZeroException.class, () -> stockReservationService.reserve(beer.getId(), reservation(3)));
+    }
+
+    @Test
+    void whenReservationIsForInvalidBeerIdThenAnExceptionShouldBeThrown() {
+        // when
+        when(beerRepository.findByIdForUpdate(INVALID_BEER_ID)).thenReturn(Optional.empty());
+
+        // then
+        assertThrows(BeerNotFoundException.class, () -> stockReservationService.reserve(INVALID_BEER_ID, reservation(1)));
+    }
+
+    @Test
+    void whenReservationIsCommittedThenStockIsDecremented() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+        BeerDTO decrementedBeerDTO = BeerDTOBuilder.builder().quantity(6).build().toBeerDTO();
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        when(beerService.decrementHeld(beer.getId(), 4)).thenReturn(decrementedBeerDTO);
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+
+        // then
+        BeerDTO committedBeerDTO = stockReservationService.commit(beer.getId(), reservationDTO.getId());
+
+        assertThat(committedBeerDTO.getQuantity(), equalTo(6));
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(0));
+    }
+
+    @Test
+    void whenReservationIsCommittedThenTheHoldIsOnlyDroppedOnceTheTransactionCommits() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockReservationService.commit(beer.getId(), reservationDTO.getId());
+
+            // then
+            assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(4));
+            assertThrows(ReservationNotFoundException.class, () -> stockReservationService.commit(beer.getId(), reservationDTO.getId()));
+            assertThrows(ReservationNotFoundException.class, () -> stockReservationService.release(beer.getId(), reservationDTO.getId()));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(0));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenCommitRollsBackThenTheHoldIsGivenBack() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockReservationService.commit(beer.getId(), reservationDTO.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(4));
+        stockReservationService.release(beer.getId(), reservationDTO.getId());
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(0));
+    }
+
+    @Test
+    void whenCommitFailsThenTheHoldIsGivenBack() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        when(beerService.decrementHeld(beer.getId(), 4)).thenThrow(BeerStockLessThanZeroException.class);
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+
+        // then
+        assertThrows(BeerStockLessThanZeroException.class, () -> stockReservationService.commit(beer.getId(), reservationDTO.getId()));
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(4));
+        stockReservationService.release(beer.getId(), reservationDTO.getId());
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(0));
+    }
+
+    @Test
+    void whenUnknownReservationIsCommittedThenAnExceptionShouldBeThrown() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().build().toBeerDTO());
+
+        // then
+        assertThrows(ReservationNotFoundException.class, () -> stockReservationService.commit(beer.getId(), "unknown"));
+        verify(beerService, never()).decrementHeld(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenReservationIsReleasedThenStockIsNotTouched() throws Exception {
+        // given
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(10).build().toBeerDTO());
+
+        // when
+        when(beerRepository.findByIdForUpdate(beer.getId())).thenReturn(Optional.of(beer));
+        ReservationDTO reservationDTO = stockReservationService.reserve(beer.getId(), reservation(4));
+        stockReservationService.release(beer.getId(), reservationDTO.getId());
+
+        // then
+        assertThat(stockHolds.reservedQuantity(beer.getId()), equalTo(0));
+        assertThrows(ReservationNotFoundException.class, () -> stockReservationService.release(beer.getId(), reservationDTO.getId()));
+        verify(beerService, never()).decrementHeld(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenHoldExpiresThenReservedStockIsFreed() throws InterruptedException {
+        // given
+        stockHolds.hold(1L, 5, Duration.ofMillis(20));
+
+        // when
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (stockHolds.reservedQuantity(1L) != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // then
+        assertThat(stockHolds.reservedQuantity(1L), equalTo(0));
+    }
+
+    private static ReservationDTO reservation(int quantity) {
+        return ReservationDTO.builder()
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.SnapshotSummaryDTO;
+import one.digitalinnovation.beerstock.dto.StockHistoryPointDTO;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Runs with a page size smaller than the catalog, so a snapshot has to walk several keyset pages.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-snapshot;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.snapshot.directory=target/stock-snapshot-test",
+        "beerstock.snapshot.page-size=7"
+})
+public class StockSnapshotServiceTest {
+
+    private static final Path DIRECTORY = Paths.get("target", "stock-snapshot-test");
+    private static final int BEERS = 30;
+
+    @Autowired
+    private StockSnapshotService stockSnapshotService;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private List<BeerDTO> savedBeers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+        beerRepository.deleteAllInBatch();
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+            beerDTO.setId(null);
+            beerDTO.setName("Snapshot beer " + i);
+            beerDTO.setQuantity(i);
+            beers.add(beerDTO);
+        }
+        savedBeers = beerService.createBeers(beers);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @Test
+    void whenASnapshotIsTakenThenEveryPageOfTheCatalogIsIncluded() throws Exception {
+        // when
+        SnapshotSummaryDTO summary = stockSnapshotService.takeSnapshot();
+
+        // then
+        assertThat(summary.getBeers(), equalTo(BEERS));
+        assertThat(summary.getUnits(), equalTo((long) BEERS * (BEERS - 1) / 2));
+        assertThat(stockSnapshotService.listSnapshots(Instant.EPOCH, Instant.now()), contains(summary));
+    }
+
+    @Test
+    void whenStockChangesBetweenSnapshotsThenTheHistoryShowsEachQuantity() throws Exception {
+        // given
+        BeerDTO beer = savedBeers.get(3);
+        stockSnapshotService.takeSnapshot();
+        Thread.sleep(2);
+        beerService.increment(beer.getId(), 5);
+        stockSnapshotService.takeSnapshot();
+
+        // when
+        List<StockHistoryPointDTO> history = stockSnapshotService.history(beer.getId(), Instant.EPOCH, Instant.now());
+
+        // then
+        assertThat(history, hasSize(2));
+        assertThat(history.get(0).getQuantity(), equalTo(beer.getQuantity()));
+        assertThat(history.get(1).getQuantity(), equalTo(beer.getQuantity() + 5));
+        assertThat(history.get(1).getMax(), equalTo(beer.getMax()));
+    }
+}
@@ -0,0 +1,123 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyStockedException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.BeerStockLessThanZeroException;
+import one.digitalinnovation.beerstock.exception.DefaultWarehouseUnstockException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warehouse-stock;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "beerstock.outbox.relay.enabled=false"
+})
+public class WarehouseStockServiceTest {
+
+    @Autowired
+    private WarehouseStockService warehouseStockService;
+
+    @Autowired
+    private WarehouseTotalsService warehouseTotalsService;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void whenStockChangesInAnyWarehouseThenTheCrossWarehouseTotalsFollow() throws Exception {
+        // given
+        BeerDTO beer = createBeer();
+        long id = beer.getId();
+
+        // when
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 30, 10));
+        warehouseStockService.stock(3, new WarehouseStockDTO(null, id, 40, 20));
+        warehouseStockService.increment(2, id, 5);
+        warehouseStockService.decrement(3, id, 20);
+        warehouseStockService.increment(WarehouseStockService.DEFAULT_WAREHOUSE, id, 1);
+
+        // then
+        assertThat(warehouseStockService.findStock(2, id), equalTo(new WarehouseStockDTO(2L, id, 30, 15)));
+        assertThat(warehouseStockService.findStock(3, id), equalTo(new WarehouseStockDTO(3L, id, 40, 0)));
+        assertThat(warehouseStockService.findStock(1, id), equalTo(new WarehouseStockDTO(1L, id, beer.getMax(), beer.getQuantity() + 1)));
+        assertThat(warehouseTotalsService.find(id), equalTo(Optional.of(
+                new CrossWarehouseStockDTO(id, beer.getQuantity() + 1 + 15, beer.getMax() + 30 + 40, 3))));
+    }
+
+    @Test
+    void whenWarehouseStockWouldLeaveItsBoundsThenAnExceptionIsThrown() throws Exception {
+        // given
+        long id = createBeer().getId();
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 10, 10));
+
+        // then
+        assertThrows(BeerStockExceededException.class, () -> warehouseStockService.increment(2, id, 1));
+        assertThrows(BeerStockLessThanZeroException.class, () -> warehouseStockService.decrement(2, id, 11));
+        assertThrows(BeerNotFoundException.class, () -> warehouseStockService.increment(4, id, 1));
+        assertThrows(BeerAlreadyStockedException.class, () -> warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 10, 0)));
+        assertThrows(BeerAlreadyStockedException.class, () -> warehouseStockService.stock(1, new WarehouseStockDTO(null, id, 10, 0)));
+    }
+
+    @Test
+    void whenBeerIsRemovedFromAWarehouseThenOnlyThatWarehouseLosesIt() throws Exception {
+        // given
+        BeerDTO beer = createBeer();
+        long id = beer.getId();
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 10, 4));
+        warehouseStockService.stock(3, new WarehouseStockDTO(null, id, 10, 6));
+
+        // when
+        warehouseStockService.unstock(2, id);
+
+        // then
+        assertThrows(BeerNotFoundException.class, () -> warehouseStockService.findStock(2, id));
+        assertThat(warehouseStockService.listAll(3), equalTo(List.of(new WarehouseStockDTO(3L, id, 10, 6))));
+        assertThat(warehouseTotalsService.find(id), equalTo(Optional.of(
+                new CrossWarehouseStockDTO(id, beer.getQuantity() + 6, beer.getMax() + 10, 2))));
+    }
+
+    @Test
+    void whenBeerIsRemovedFromTheDefaultWarehouseThenItIsRejectedAndTheBeerIsKept() throws Exception {
+        // given
+        BeerDTO beer = createBeer();
+
+        // then
+        assertThrows(DefaultWarehouseUnstockException.class,
+                () -> warehouseStockService.unstock(WarehouseStockService.DEFAULT_WAREHOUSE, beer.getId()));
+        assertThat(beerService.findByName(beer.getName()), equalTo(beer));
+    }
+
+    @Test
+    void whenBeerIsDeletedThenItIsGoneFromEveryWarehouse() throws Exception {
+        // given
+        long id = createBeer().getId();
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 10, 4));
+
+        // when
+        beerService.deleteById(id);
+
+        // then
+        assertThrows(BeerNotFoundException.class, () -> warehouseStockService.findStock(2, id));
+        assertThat(warehouseTotalsService.find(id), equalTo(Optional.empty()));
+    }
+
+    private BeerDTO createBeer() throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Warehouse beer " + System.nanoTime()).build().toBeerDTO();
+        return beerService.createBeer(beerDTO);
+    }
+}
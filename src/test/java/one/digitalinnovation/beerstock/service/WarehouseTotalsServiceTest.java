@@ -0,0 +1,116 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.CrossWarehouseStockDTO;
+import one.digitalinnovation.beerstock.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warehouse-totals;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+        "beerstock.outbox.relay.enabled=false"
+})
+public class WarehouseTotalsServiceTest {
+
+    private static final int WAREHOUSES = 6;
+
+    @Autowired
+    private WarehouseTotalsService warehouseTotalsService;
+
+    @Autowired
+    private WarehouseStockService warehouseStockService;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Test
+    void whenStockChangesThenTheTotalsFollowInTheSameTransaction() throws Exception {
+        // given
+        BeerDTO beer = createBeer();
+        long id = beer.getId();
+
+        // when
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 30, 10));
+        warehouseStockService.stock(3, new WarehouseStockDTO(null, id, 40, 20));
+        warehouseStockService.decrement(3, id, 20);
+        warehouseStockService.unstock(2, id);
+        beerService.increment(id, 1);
+
+        // then
+        assertThat(warehouseTotalsService.find(id), equalTo(Optional.of(
+                new CrossWarehouseStockDTO(id, beer.getQuantity() + 1, beer.getMax() + 40, 2))));
+    }
+
+    @Test
+    void whenABeerIsFirstStockedConcurrentlyInOnePartitionThenEveryWarehouseIsCounted() throws Exception {
+        // given
+        long id = createBeer().getId();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WAREHOUSES);
+
+        // when
+        for (int w = 0; w < WAREHOUSES; w++) {
+            long warehouseId = 2 + 8L * w;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    warehouseStockService.stock(warehouseId, new WarehouseStockDTO(null, id, 10, 3));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertThat(failures, empty());
+        assertThat(warehouseTotalsService.find(id), equalTo(Optional.of(
+                new CrossWarehouseStockDTO(id, 10 + 3 * WAREHOUSES, 50 + 10 * WAREHOUSES, 1 + WAREHOUSES))));
+    }
+
+    @Test
+    void whenABeerIsSavedWithoutTheServiceThenItsTotalsStillCountIt() throws Exception {
+        // given
+        Beer beer = beerRepository.saveAndFlush(new Beer(null, "Unannounced beer " + System.nanoTime(), "Ambev", 50, 10, BeerType.LAGER));
+        long id = beer.getId();
+        warehouseStockService.stock(2, new WarehouseStockDTO(null, id, 20, 5));
+
+        // when
+        Optional<CrossWarehouseStockDTO> totals = warehouseTotalsService.find(id);
+
+        // then
+        assertThat(totals, equalTo(Optional.of(new CrossWarehouseStockDTO(id, 15, 70, 2))));
+    }
+
+    private BeerDTO createBeer() throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Totals beer " + System.nanoTime()).build().toBeerDTO();
+        return beerService.createBeer(beerDTO);
+    }
+}
@@ -0,0 +1,200 @@
+package one.digitalinnovation.beerstock.snapshot;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class SnapshotStoreTest {
+
+    private static final Instant TAKEN_AT = Instant.parse("2026-10-01T12:00:00Z");
+    private static final int ROWS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenASnapshotIsWrittenThenItIsReadBackColumnForColumn() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        StockSnapshot snapshot = snapshot(TAKEN_AT);
+
+        // when
+        Path file = store.write(snapshot);
+        StockSnapshot read = store.read(file);
+
+        // then
+        assertThat(read.getTakenAt(), equalTo(TAKEN_AT));
+        assertThat(read.size(), equalTo(ROWS));
+        for (int row = 0; row < ROWS; row++) {
+            assertThat(read.id(row), equalTo(snapshot.id(row)));
+            assertThat(read.quantity(row), equalTo(snapshot.quantity(row)));
+            assertThat(read.max(row), equalTo(snapshot.max(row)));
+            assertThat(read.type(row), equalTo(snapshot.type(row)));
+        }
+    }
+
+    @Test
+    void whenASnapshotIsWrittenThenItIsSmallerThanItsRawColumns() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+
+        // when
+        Path file = store.write(snapshot(TAKEN_AT));
+
+        // then
+        long rawColumnBytes = ROWS * (8L + 4 + 4 + 1);
+        assertThat(Files.size(file), lessThan(rawColumnBytes / 4));
+    }
+
+    @Test
+    void whenTheHeaderIsReadThenItCarriesTheTotals() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        StockSnapshot snapshot = snapshot(TAKEN_AT);
+
+        // when
+        SnapshotHeader header = store.readHeader(store.write(snapshot));
+
+        // then
+        assertThat(header.getTakenAt(), equalTo(TAKEN_AT));
+        assertThat(header.getBeers(), equalTo(ROWS));
+        assertThat(header.getTotalQuantity(), equalTo(snapshot.totalQuantity()));
+        assertThat(header.getTotalMax(), equalTo(snapshot.totalMax()));
+    }
+
+    @Test
+    void whenARowIsReadByIdThenOnlyThatBeerIsReturned() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        StockSnapshot snapshot = snapshot(TAKEN_AT);
+        Path file = store.write(snapshot);
+        int row = ROWS / 2;
+        int beforeGap = row;
+        while (snapshot.id(beforeGap + 1) - snapshot.id(beforeGap) == 1) {
+            beforeGap++;
+        }
+
+        // then
+        int[] found = store.readRow(file, snapshot.id(row));
+        assertThat(found[0], equalTo(snapshot.quantity(row)));
+        assertThat(found[1], equalTo(snapshot.max(row)));
+        assertThat(store.readRow(file, snapshot.id(beforeGap) + 1), nullValue());
+        assertThat(store.readRow(file, snapshot.id(ROWS - 1) + 100), nullValue());
+    }
+
+    @Test
+    void whenARowIsReadWithItsHeaderThenBothComeFromTheSameSnapshot() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        StockSnapshot snapshot = snapshot(TAKEN_AT);
+        Path file = store.write(snapshot);
+        int row = ROWS / 3;
+
+        // when
+        SnapshotRow found = store.readRowWithHeader(file, snapshot.id(row));
+
+        // then
+        assertThat(found, equalTo(new SnapshotRow(store.readHeader(file), snapshot.quantity(row), snapshot.max(row))));
+        assertThat(store.readRowWithHeader(file, snapshot.id(ROWS - 1) + 100), nullValue());
+    }
+
+    @Test
+    void whenSnapshotsAreListedThenOnlyTheRangeIsReturnedAndOldOnesCanBeDeleted() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        Path first = store.write(snapshot(TAKEN_AT));
+        Path second = store.write(snapshot(TAKEN_AT.plusSeconds(300)));
+        Path third = store.write(snapshot(TAKEN_AT.plusSeconds(600)));
+
+        // then
+        assertThat(store.list(TAKEN_AT.plusSeconds(1), TAKEN_AT.plusSeconds(600)), contains(second, third));
+        assertThat(store.deleteBefore(TAKEN_AT.plusSeconds(300)), equalTo(1));
+        assertThat(store.list(Instant.EPOCH, TAKEN_AT), empty());
+        assertThat(store.list(Instant.EPOCH, TAKEN_AT.plusSeconds(600)), contains(second, third));
+        assertThat(Files.exists(first), equalTo(false));
+    }
+
+    @Test
+    void whenAFileMatchesThePatternWithoutATimeThenItIsSkipped() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        Path snapshot = store.write(snapshot(TAKEN_AT));
+        Files.copy(snapshot, directory.resolve("stock-copy.snap"));
+        Files.copy(snapshot, directory.resolve("stock-.snap"));
+
+        // then
+        assertThat(store.list(Instant.EPOCH, TAKEN_AT), contains(snapshot));
+        assertThat(store.deleteBefore(TAKEN_AT.plusSeconds(1)), equalTo(1));
+    }
+
+    @Test
+    void whenAColumnIsCutShortThenReadingFailsInsteadOfHanging() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        Path file = store.write(snapshot(TAKEN_AT));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer idsCompressedLength = ByteBuffer.allocate(4).putInt(0, 16);
+            channel.write(idsCompressedLength, 40);
+        }
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(IllegalArgumentException.class, () -> store.read(file));
+            assertThrows(IllegalArgumentException.class, () -> store.readRow(file, 1));
+        });
+    }
+
+    @Test
+    void whenTheFileIsTruncatedThenReadingFails() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory);
+        Path file = store.write(snapshot(TAKEN_AT));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+
+        // then
+        assertThrows(IllegalArgumentException.class, () -> store.read(file));
+    }
+
+    @Test
+    void whenTheDirectoryDoesNotExistThenNoSnapshotIsListed() throws Exception {
+        // given
+        SnapshotStore store = new SnapshotStore(directory.resolve("missing"));
+
+        // then
+        List<Path> files = store.list(Instant.EPOCH, TAKEN_AT);
+        assertThat(files, empty());
+    }
+
+    private static StockSnapshot snapshot(Instant takenAt) {
+        StockSnapshot.Builder builder = StockSnapshot.builder(takenAt);
+        BeerType[] types = BeerType.values();
+        long id = 0;
+        for (int row = 0; row < ROWS; row++) {
+            id += 1 + row % 3;
+            builder.add(id, row % 101, 100 + row % 400, types[row % types.length]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,103 @@
+package one.digitalinnovation.beerstock.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CountingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:counting-data-source;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void whenStatementsAreExecutedThenEachRoundTripIsCountedByType() throws Exception {
+        // given
+        CountingDataSource dataSource = new CountingDataSource(h2,
+                new StatementRecorder(meterRegistry, Duration.ofHours(1), Duration.ofHours(1)));
+        QueryCount count = QueryCounter.start();
+
+        // when
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS counted (id INT)");
+                statement.executeUpdate("DELETE FROM counted");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO counted VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                assertThat(insert.getConnection(), sameInstance(connection));
+            }
+            try (PreparedStatement select = connection.prepareStatement("  SELECT count(*) FROM counted")) {
+                select.executeQuery().close();
+            }
+        } finally {
+            QueryCounter.stop(count);
+        }
+
+        // then
+        assertThat(count.toString(), equalTo("1 select, 1 insert, 0 update, 1 delete, 1 other"));
+        assertThat(meterRegistry.get("beerstock.sql.statements").tag("type", "insert").timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void whenASelectReadsADataChangeDeltaTableThenItIsCountedAsTheChange() {
+        assertThat(StatementType.of("SELECT id FROM OLD TABLE (DELETE FROM beer WHERE id = ?)"), equalTo(StatementType.DELETE));
+        assertThat(StatementType.of("select id from final table(update beer set deleted = true)"), equalTo(StatementType.UPDATE));
+        assertThat(StatementType.of("SELECT id FROM beer WHERE name = 'old table'"), equalTo(StatementType.SELECT));
+    }
+
+    @Test
+    void whenAStatementCrossesTheThresholdThenItIsRecordedAsSlow() throws Exception {
+        // given
+        CountingDataSource dataSource = new CountingDataSource(h2,
+                new StatementRecorder(meterRegistry, Duration.ZERO, Duration.ofHours(1)));
+
+        // when
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+
+        // then
+        assertThat(meterRegistry.get("beerstock.sql.statements.slow").tag("type", "select").timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void whenNoCountIsActiveThenStatementsAreOnlyTimed() throws Exception {
+        // given
+        CountingDataSource dataSource = new CountingDataSource(h2,
+                new StatementRecorder(meterRegistry, Duration.ofHours(1), Duration.ofHours(1)));
+
+        // when
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+
+        // then
+        assertThat(meterRegistry.get("beerstock.sql.statements").tag("type", "select").timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get("beerstock.sql.statements.slow").tag("type", "select").timer().count(), equalTo(0L));
+    }
+}
@@ -0,0 +1,87 @@
+package one.digitalinnovation.beerstock.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QueryCountFilter filter = new QueryCountFilter(meterRegistry);
+
+    @Test
+    void whenAnAsyncRequestTimesOutThenItIsRecordedOnceAsATimeout() throws Exception {
+        // given
+        MockHttpServletRequest request = asyncRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        // when
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        // then
+        assertThat(recorded("TIMEOUT"), equalTo(1L));
+        assertThat(meterRegistry.find("beerstock.sql.request.statements").tag("outcome", "COMPLETED").summary(), nullValue());
+    }
+
+    @Test
+    void whenAnAsyncRequestFailsThenItIsRecordedOnceAsAnError() throws Exception {
+        // given
+        MockHttpServletRequest request = asyncRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        // when
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IllegalStateException("executor rejected the call")));
+        }
+        asyncContext.complete();
+
+        // then
+        assertThat(recorded("ERROR"), equalTo(1L));
+    }
+
+    @Test
+    void whenAnAsyncRequestCompletesThenItIsRecordedAsCompleted() throws Exception {
+        // given
+        MockHttpServletRequest request = asyncRequest();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // when
+        request.getAsyncContext().complete();
+
+        // then
+        assertThat(recorded("COMPLETED"), equalTo(1L));
+    }
+
+    private long recorded(String outcome) {
+        return meterRegistry.get("beerstock.sql.request.statements")
+                .tag("method", "PATCH")
+                .tag("outcome", outcome)
+                .summary()
+                .count();
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/beers/1/increment");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
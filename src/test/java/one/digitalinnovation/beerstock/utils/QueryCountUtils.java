@@ -0,0 +1,35 @@
+package one.digitalinnovation.beerstock.utils;
+
+import one.digitalinnovation.beerstock.sql.QueryCount;
+import one.digitalinnovation.beerstock.sql.QueryCounter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements an action executes on the calling thread, so a test can pin the number of
+ * round trips of an endpoint and fail on an N+1 or an extra query.
+ */
+public class QueryCountUtils {
+
+    public static QueryCount countQueries(CountedAction action) throws Exception {
+        QueryCount count = QueryCounter.start();
+        try {
+            action.run();
+        } finally {
+            QueryCounter.stop(count);
+        }
+        return count;
+    }
+
+    public static void assertQueryCount(QueryCount count, int selects, int inserts, int updates, int deletes) {
+        String expected = String.format("%d select, %d insert, %d update, %d delete, %d other",
+                selects, inserts, updates, deletes, 0);
+        assertEquals(expected, count.toString());
+    }
+
+    @FunctionalInterface
+    public interface CountedAction {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,89 @@
+package one.digitalinnovation.beerstock.validation;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Runs every sample through both Hibernate Validator and the hand-written validator, and expects the
+ * exact same field errors: codes, arguments, rejected value and message.
+ */
+public class FastValidatorsTest {
+
+    private static LocalValidatorFactoryBean beanValidator;
+
+    @BeforeAll
+    static void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        beanValidator.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("quantities")
+    void whenQuantityIsValidatedThenErrorsMatchBeanValidation(QuantityDTO quantityDTO) {
+        assertSameErrors(quantityDTO, "quantityDTO", new QuantityDTOValidator());
+    }
+
+    @ParameterizedTest
+    @MethodSource("beers")
+    void whenBeerIsValidatedThenErrorsMatchBeanValidation(BeerDTO beerDTO) {
+        assertSameErrors(beerDTO, "beerDTO", new BeerDTOValidator());
+    }
+
+    static Stream<QuantityDTO> quantities() {
+        return Stream.of(new QuantityDTO(10), new QuantityDTO(100), new QuantityDTO(101), new QuantityDTO(0), new QuantityDTO(-5), new QuantityDTO(null));
+    }
+
+    static Stream<BeerDTO> beers() {
+        return Stream.of(
+                BeerDTOBuilder.builder().build().toBeerDTO(),
+                BeerDTOBuilder.builder().name(null).build().toBeerDTO(),
+                BeerDTOBuilder.builder().name("   ").build().toBeerDTO(),
+                BeerDTOBuilder.builder().name("").brand("x".repeat(201)).build().toBeerDTO(),
+                BeerDTOBuilder.builder().max(501).quantity(101).build().toBeerDTO(),
+                BeerDTO.builder().name("Brahma").brand("Ambev").build());
+    }
+
+    private static void assertSameErrors(Object target, String objectName, Validator fastValidator) {
+        assertThat(describe(validate(target, objectName, fastValidator)), equalTo(describe(validate(target, objectName, beanValidator))));
+    }
+
+    private static Errors validate(Object target, String objectName, Validator validator) {
+        Errors errors = new BeanPropertyBindingResult(target, objectName);
+        validator.validate(target, errors);
+        return errors;
+    }
+
+    private static List<String> describe(Errors errors) {
+        return errors.getFieldErrors().stream()
+                .sorted(Comparator.comparing(FieldError::getField).thenComparing(FieldError::getCode))
+                .map(error -> error.getField() + " " + Arrays.toString(error.getCodes()) + " " + Arrays.toString(error.getArguments())
+                        + " " + error.getRejectedValue() + " " + error.getDefaultMessage())
+                .collect(Collectors.toList());
+    }
+}